@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryIndex;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 
 /**
@@ -83,6 +84,8 @@ public class JUnitCorePlugin extends Plugin {
 
 	private final JUnitModel fJUnitModel= new JUnitModel();
 
+	private final TestDiscoveryIndex fTestDiscoveryIndex= new TestDiscoveryIndex();
+
 
 	/**
 	 * List storing the registered test run listeners
@@ -130,6 +133,7 @@ public class JUnitCorePlugin extends Plugin {
 		super.start(context);
 		fBundleContext= context;
 		fJUnitModel.start();
+		fTestDiscoveryIndex.start();
 	}
 
 	/**
@@ -141,6 +145,7 @@ public class JUnitCorePlugin extends Plugin {
 		try {
 			InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).flush();
 			fJUnitModel.stop();
+			fTestDiscoveryIndex.stop();
 		} finally {
 			super.stop(context);
 		}
@@ -165,6 +170,10 @@ public class JUnitCorePlugin extends Plugin {
 		return getDefault().fJUnitModel;
 	}
 
+	public static TestDiscoveryIndex getTestDiscoveryIndex() {
+		return getDefault().fTestDiscoveryIndex;
+	}
+
 	/**
 	 * Initializes TestRun Listener extensions
 	 * @deprecated to avoid deprecation warning
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -49,6 +49,8 @@ public final class JUnitMessages extends NLS {
 
 	public static String JUnitLaunchConfigurationDelegate_error_no_socket;
 
+	public static String JUnitLaunchConfigurationDelegate_error_no_affected_tests;
+
 	public static String JUnitLaunchConfigurationDelegate_error_notests_kind;
 
 	public static String JUnitLaunchConfigurationDelegate_error_wrong_input;
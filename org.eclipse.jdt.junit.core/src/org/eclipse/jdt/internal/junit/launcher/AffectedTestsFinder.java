@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.JUnitMessages;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
+
+/**
+ * Finds the tests that are affected by the changes since the last successful run of a launch
+ * configuration. A test is affected if its compilation unit changed, or if it transitively
+ * references a type declared in a changed compilation unit.
+ */
+public class AffectedTestsFinder {
+
+	private AffectedTestsFinder() {
+	}
+
+	/**
+	 * Returns the start time of the youngest completed test run with the given name that had
+	 * neither failures nor errors.
+	 *
+	 * @param testRunName the name of the test run, i.e. the name of the launch configuration
+	 * @return the start time in milliseconds, or -1 if there is no such test run
+	 */
+	public static long getLastSuccessfulRunTime(String testRunName) {
+		for (TestRunSession session : JUnitCorePlugin.getModel().getTestRunSessions()) {
+			if (!testRunName.equals(session.getTestRunName()) || session.getLaunch() == null)
+				continue;
+			if (session.isStarting() || session.isRunning() || session.isStopped())
+				continue;
+			if (session.getErrorCount() + session.getFailureCount() == 0)
+				return session.getStartTime();
+		}
+		return -1;
+	}
+
+	/**
+	 * Restricts the given test elements to the ones affected by the changes since the last
+	 * successful test run. All elements are kept if there is no successful run, or if the
+	 * elements are not all types.
+	 *
+	 * @param project the project containing the tests
+	 * @param testElements the test elements to run
+	 * @param since the start time of the last successful run in milliseconds, or -1 if there is
+	 *            none, see {@link #getLastSuccessfulRunTime(String)}
+	 * @param pm the progress monitor, or <code>null</code>
+	 * @return the affected test elements
+	 * @throws CoreException if the search failed, or if no test is affected
+	 */
+	public static IJavaElement[] filterAffectedTests(IJavaProject project, IJavaElement[] testElements, long since, IProgressMonitor pm) throws CoreException {
+		if (pm == null)
+			pm= new NullProgressMonitor();
+
+		if (since == -1) {
+			pm.done();
+			return testElements;
+		}
+		IType[] tests= new IType[testElements.length];
+		for (int i= 0; i < testElements.length; i++) {
+			if (!(testElements[i] instanceof IType)) {
+				pm.done();
+				return testElements;
+			}
+			tests[i]= (IType) testElements[i];
+		}
+		IType[] affected= findAffectedTests(project, tests, since, pm);
+		if (affected.length == 0) {
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IJavaLaunchConfigurationConstants.ERR_UNSPECIFIED_MAIN_TYPE,
+					JUnitMessages.JUnitLaunchConfigurationDelegate_error_no_affected_tests, null));
+		}
+		return affected;
+	}
+
+	/**
+	 * Returns the tests that are affected by the compilation units of the given project and its
+	 * required projects that changed since the given time.
+	 *
+	 * @param project the project containing the tests
+	 * @param tests the test types
+	 * @param since the time in milliseconds
+	 * @param pm the progress monitor, or <code>null</code>
+	 * @return the affected tests, in the order of <code>tests</code>
+	 * @throws CoreException if the search failed
+	 */
+	public static IType[] findAffectedTests(IJavaProject project, IType[] tests, long since, IProgressMonitor pm) throws CoreException {
+		if (pm == null)
+			pm= new NullProgressMonitor();
+
+		pm.beginTask("", 10); //$NON-NLS-1$
+		try {
+			Set<ICompilationUnit> affected= new HashSet<>();
+			List<ICompilationUnit> worklist= collectChangedCompilationUnits(project, since);
+			affected.addAll(worklist);
+			pm.worked(1);
+
+			IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project }, IJavaSearchScope.SOURCES | IJavaSearchScope.REFERENCED_PROJECTS);
+			while (!worklist.isEmpty() && !allAffected(tests, affected)) {
+				if (pm.isCanceled())
+					throw new OperationCanceledException();
+				worklist= findReferencingCompilationUnits(worklist, scope, affected, new SubProgressMonitor(pm, 1));
+			}
+
+			List<IType> result= new ArrayList<>();
+			for (IType test : tests) {
+				ICompilationUnit cu= test.getCompilationUnit();
+				if (cu == null || affected.contains(cu))
+					result.add(test);
+			}
+			return result.toArray(new IType[result.size()]);
+		} finally {
+			pm.done();
+		}
+	}
+
+	private static List<ICompilationUnit> collectChangedCompilationUnits(IJavaProject project, long since) throws CoreException {
+		List<ICompilationUnit> changed= new ArrayList<>();
+		for (IPackageFragmentRoot root : project.getAllPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE)
+				continue;
+			for (IJavaElement child : root.getChildren()) {
+				for (ICompilationUnit cu : ((IPackageFragment) child).getCompilationUnits()) {
+					IResource resource= cu.getResource();
+					if (resource != null && resource.getLocalTimeStamp() >= since)
+						changed.add(cu);
+				}
+			}
+		}
+		return changed;
+	}
+
+	private static boolean allAffected(IType[] tests, Set<ICompilationUnit> affected) {
+		for (IType test : tests) {
+			ICompilationUnit cu= test.getCompilationUnit();
+			if (cu != null && !affected.contains(cu))
+				return false;
+		}
+		return true;
+	}
+
+	/*
+	 * Finds the compilation units that reference a type declared in one of the given compilation
+	 * units, adds the ones that are not yet affected to the affected set, and returns them.
+	 */
+	private static List<ICompilationUnit> findReferencingCompilationUnits(List<ICompilationUnit> cus, IJavaSearchScope scope, final Set<ICompilationUnit> affected, IProgressMonitor pm) throws CoreException {
+		final List<ICompilationUnit> found= new ArrayList<>();
+		SearchPattern pattern= null;
+		for (ICompilationUnit cu : cus) {
+			for (IType type : cu.getAllTypes()) {
+				SearchPattern typePattern= SearchPattern.createPattern(type, IJavaSearchConstants.REFERENCES);
+				pattern= pattern == null ? typePattern : SearchPattern.createOrPattern(pattern, typePattern);
+			}
+		}
+		if (pattern == null) {
+			pm.done();
+			return found;
+		}
+
+		SearchRequestor requestor= new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				Object element= match.getElement();
+				if (element instanceof IJavaElement) {
+					ICompilationUnit cu= (ICompilationUnit) ((IJavaElement) element).getAncestor(IJavaElement.COMPILATION_UNIT);
+					if (cu != null && affected.add(cu))
+						found.add(cu);
+				}
+			}
+		};
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, requestor, pm);
+		return found;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -58,15 +58,27 @@ public class JUnit3TestFinder implements ITestFinder {
 					}
 				}
 			} else {
-				findTestCases(element, result, new SubProgressMonitor(pm, 7));
-				if (pm.isCanceled()) {
-					return;
-				}
-				CoreTestSearchEngine.findSuiteMethods(element, result, new SubProgressMonitor(pm, 3));
+				JUnitCorePlugin.getTestDiscoveryIndex().findTests(getClass().getName(), element, result, new SubProgressMonitor(pm, 10), JUnit3TestFinder::searchTestsInContainer);
+			}
+			if (pm.isCanceled()) {
+				return;
 			}
+		} finally {
+			pm.done();
+		}
+	}
+
+	private static void searchTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
+		if (pm == null)
+			pm= new NullProgressMonitor();
+
+		pm.beginTask(JUnitMessages.TestSearchEngine_message_searching, 10);
+		try {
+			findTestCases(element, result, new SubProgressMonitor(pm, 7));
 			if (pm.isCanceled()) {
 				return;
 			}
+			CoreTestSearchEngine.findSuiteMethods(element, result, new SubProgressMonitor(pm, 3));
 		} finally {
 			pm.done();
 		}
@@ -119,6 +119,10 @@ public class JUnit4TestFinder implements ITestFinder {
 			}
 		}
 
+		JUnitCorePlugin.getTestDiscoveryIndex().findTests(getClass().getName(), element, result, pm, this::searchTestsInContainer);
+	}
+
+	private void searchTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		if (pm == null)
 			pm= new NullProgressMonitor();
 
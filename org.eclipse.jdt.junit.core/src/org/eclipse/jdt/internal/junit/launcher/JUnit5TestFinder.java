@@ -205,6 +205,10 @@ public class JUnit5TestFinder implements ITestFinder {
 			}
 		}
 
+		JUnitCorePlugin.getTestDiscoveryIndex().findTests(getClass().getName(), element, result, pm, this::searchTestsInContainer);
+	}
+
+	private void searchTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		if (pm == null)
 			pm= new NullProgressMonitor();
 
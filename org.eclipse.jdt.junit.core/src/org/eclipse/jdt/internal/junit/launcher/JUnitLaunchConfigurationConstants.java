@@ -73,6 +73,32 @@ public class JUnitLaunchConfigurationConstants {
 	 */
 	public static final String ATTR_TEST_UNIQUE_ID= JUnitCorePlugin.PLUGIN_ID + ".TEST_UNIQUE_ID"; //$NON-NLS-1$
 
+	/**
+	 * The number of test VMs the tests of a test container are distributed over, or 1 (the
+	 * default) to run all tests in a single VM.
+	 */
+	public static final String ATTR_SHARD_COUNT= JUnitCorePlugin.PLUGIN_ID + ".SHARD_COUNT"; //$NON-NLS-1$
+
+	/**
+	 * Launch attribute holding the comma-separated ports of all test VMs of a sharded launch. Set
+	 * before {@link #ATTR_PORT}, which holds the port of the first VM.
+	 */
+	public static final String ATTR_SHARD_PORTS= JUnitCorePlugin.PLUGIN_ID + ".SHARD_PORTS"; //$NON-NLS-1$
+
+	/**
+	 * Whether tests that failed in the last run of the launch configuration are run first,
+	 * followed by the other tests in order of their last duration. Default is <code>false</code>.
+	 */
+	public static final String ATTR_PRIORITIZE_BY_HISTORY= JUnitCorePlugin.PLUGIN_ID + ".PRIORITIZE_BY_HISTORY"; //$NON-NLS-1$
+
+	/**
+	 * Whether only the test types that are affected by the changes since the last successful run
+	 * of the launch configuration are run. A test type is affected if its compilation unit changed,
+	 * or if it transitively references a type of a changed compilation unit. All tests are run if
+	 * there is no successful run in the test run history. Default is <code>false</code>.
+	 */
+	public static final String ATTR_AFFECTED_TESTS_ONLY= JUnitCorePlugin.PLUGIN_ID + ".AFFECTED_TESTS_ONLY"; //$NON-NLS-1$
+
 	public static ITestKind getTestRunnerKind(ILaunchConfiguration launchConfiguration) {
 		try {
 			String loaderId = launchConfiguration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_RUNNER_KIND, (String) null);
@@ -0,0 +1,479 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ISavedState;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Remembers the tests found by the {@link ITestFinder}s in each source
+ * {@link IPackageFragmentRoot}, such that repeated searches for tests in a project, source folder
+ * or package do not have to build type hierarchies and search for annotations again.
+ * <p>
+ * Entries are dropped when a Java element delta shows a change that can affect which types are
+ * tests: added or removed elements, changed modifiers, super types, annotations or imports, and
+ * changes of the classpath. Method body changes keep the entries. Since the tests in a project
+ * can depend on types of the projects it requires, a change drops the entries of the changed
+ * project and of all projects that require it.
+ * </p>
+ * <p>
+ * The index is saved with the workspace. On startup, the entries of projects whose Java files
+ * or libraries changed since the last save are dropped.
+ * </p>
+ */
+public class TestDiscoveryIndex {
+
+	/**
+	 * Searches for tests in a container without using the index.
+	 */
+	public interface ITestSearch {
+		/**
+		 * @param element the container to search
+		 * @param result the set to add the found test types to
+		 * @param pm the progress monitor, or <code>null</code>
+		 * @throws CoreException if the search failed
+		 */
+		void search(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException;
+	}
+
+	private static final String INDEX_FILE_NAME= "testDiscoveryIndex.dat"; //$NON-NLS-1$
+	private static final int INDEX_FILE_VERSION= 1;
+
+	/**
+	 * Map from finder key to a map from package fragment root handle identifier to the handle
+	 * identifiers of the tests in that root.
+	 */
+	private final Map<String, Map<String, String[]>> fEntries= new HashMap<>();
+
+	/**
+	 * Incremented whenever entries are dropped. A search that overlapped with a change does not
+	 * store its result.
+	 */
+	private int fGeneration;
+
+	private final IElementChangedListener fElementChangedListener= new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			Set<String> projects= new HashSet<>();
+			collectAffectedProjects(event.getDelta(), projects);
+			if (!projects.isEmpty()) {
+				invalidate(projects);
+			}
+		}
+	};
+
+	private final ISaveParticipant fSaveParticipant= new ISaveParticipant() {
+		@Override
+		public void prepareToSave(ISaveContext context) throws CoreException {
+		}
+
+		@Override
+		public void saving(ISaveContext context) throws CoreException {
+			if (context.getKind() == ISaveContext.PROJECT_SAVE)
+				return;
+			save();
+			context.needDelta();
+		}
+
+		@Override
+		public void doneSaving(ISaveContext context) {
+		}
+
+		@Override
+		public void rollback(ISaveContext context) {
+		}
+	};
+
+	public void start() {
+		JavaCore.addElementChangedListener(fElementChangedListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		try {
+			ISavedState lastState= ResourcesPlugin.getWorkspace().addSaveParticipant(JUnitCorePlugin.CORE_PLUGIN_ID, fSaveParticipant);
+			if (lastState != null) {
+				load();
+				lastState.processResourceChangeEvents(new IResourceChangeListener() {
+					@Override
+					public void resourceChanged(IResourceChangeEvent event) {
+						invalidateChangedResources(event.getDelta());
+					}
+				});
+			}
+		} catch (CoreException e) {
+			JUnitCorePlugin.log(e);
+		}
+	}
+
+	public void stop() {
+		JavaCore.removeElementChangedListener(fElementChangedListener);
+		ResourcesPlugin.getWorkspace().removeSaveParticipant(JUnitCorePlugin.CORE_PLUGIN_ID);
+	}
+
+	/**
+	 * Finds the tests in the given container. Tests in projects, source folders and packages are
+	 * taken from the index if possible. Otherwise the given search is used, and the tests found in
+	 * projects and source folders are added to the index.
+	 *
+	 * @param key identifies the kind of tests, e.g. the class name of the test finder
+	 * @param element the container to search
+	 * @param result the set to add the found test types to
+	 * @param pm the progress monitor, or <code>null</code>
+	 * @param search searches for tests without using the index
+	 * @throws CoreException if the search failed
+	 */
+	public void findTests(String key, IJavaElement element, Set<IType> result, IProgressMonitor pm, ITestSearch search) throws CoreException {
+		IPackageFragmentRoot[] roots= getSourceRoots(element);
+		if (roots == null) {
+			search.search(element, result, pm);
+			return;
+		}
+
+		String packageName= element instanceof IPackageFragment ? element.getElementName() : null;
+		List<IPackageFragmentRoot> missing= new ArrayList<>();
+		int generation;
+		synchronized (this) {
+			generation= fGeneration;
+			for (int i= 0; i < roots.length; i++) {
+				String[] handles= getEntry(key, roots[i]);
+				if (handles == null) {
+					missing.add(roots[i]);
+					continue;
+				}
+				for (int j= 0; j < handles.length; j++) {
+					IJavaElement type= JavaCore.create(handles[j]);
+					if (type instanceof IType && (packageName == null || packageName.equals(((IType) type).getPackageFragment().getElementName()))) {
+						result.add((IType) type);
+					}
+				}
+			}
+		}
+		if (missing.isEmpty())
+			return;
+
+		if (packageName != null) {
+			// don't search the whole source folder for a single package
+			search.search(element, result, pm);
+			return;
+		}
+
+		Set<IType> found= new HashSet<>();
+		if (missing.size() == roots.length) {
+			search.search(element, found, pm);
+		} else {
+			if (pm == null)
+				pm= new NullProgressMonitor();
+			pm.beginTask("", missing.size()); //$NON-NLS-1$
+			try {
+				for (IPackageFragmentRoot root : missing) {
+					search.search(root, found, new SubProgressMonitor(pm, 1));
+				}
+			} finally {
+				pm.done();
+			}
+		}
+		if (pm == null || !pm.isCanceled()) {
+			store(key, missing, found, generation);
+		}
+		result.addAll(found);
+	}
+
+	/**
+	 * @param element a test container
+	 * @return the source folders that make up the container, or <code>null</code> if the index is
+	 *         not used for this kind of container
+	 * @throws JavaModelException if the project's roots cannot be accessed
+	 */
+	private static IPackageFragmentRoot[] getSourceRoots(IJavaElement element) throws JavaModelException {
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				IPackageFragmentRoot[] allRoots= ((IJavaProject) element).getPackageFragmentRoots();
+				List<IPackageFragmentRoot> roots= new ArrayList<>();
+				for (int i= 0; i < allRoots.length; i++) {
+					if (allRoots[i].isArchive()) {
+						continue;
+					}
+					if (allRoots[i].getKind() != IPackageFragmentRoot.K_SOURCE || allRoots[i].isExternal()) {
+						return null; // class folders are not tracked by deltas
+					}
+					roots.add(allRoots[i]);
+				}
+				return roots.toArray(new IPackageFragmentRoot[roots.size()]);
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+				if (root.isArchive() || root.isExternal() || root.getKind() != IPackageFragmentRoot.K_SOURCE)
+					return null;
+				return new IPackageFragmentRoot[] { root };
+			default:
+				return null;
+		}
+	}
+
+	private String[] getEntry(String key, IPackageFragmentRoot root) {
+		Map<String, String[]> entries= fEntries.get(key);
+		return entries != null ? entries.get(root.getHandleIdentifier()) : null;
+	}
+
+	private synchronized void store(String key, List<IPackageFragmentRoot> roots, Set<IType> found, int generation) {
+		if (generation != fGeneration)
+			return;
+
+		Map<String, List<String>> handlesByRoot= new HashMap<>();
+		for (IPackageFragmentRoot root : roots) {
+			handlesByRoot.put(root.getHandleIdentifier(), new ArrayList<String>());
+		}
+		for (IType type : found) {
+			IJavaElement root= type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+			List<String> handles= handlesByRoot.get(root.getHandleIdentifier());
+			if (handles != null) {
+				handles.add(type.getHandleIdentifier());
+			}
+		}
+
+		Map<String, String[]> entries= fEntries.get(key);
+		if (entries == null) {
+			entries= new HashMap<>();
+			fEntries.put(key, entries);
+		}
+		for (Map.Entry<String, List<String>> entry : handlesByRoot.entrySet()) {
+			List<String> handles= entry.getValue();
+			entries.put(entry.getKey(), handles.toArray(new String[handles.size()]));
+		}
+	}
+
+	/**
+	 * Drops the entries of the given projects and of all projects that require them.
+	 *
+	 * @param projectNames the names of the changed projects
+	 */
+	private synchronized void invalidate(Set<String> projectNames) {
+		fGeneration++;
+		Map<String, Boolean> affectedProjects= new HashMap<>();
+		for (Iterator<Map<String, String[]>> iter= fEntries.values().iterator(); iter.hasNext();) {
+			Map<String, String[]> entries= iter.next();
+			for (Iterator<String> rootIter= entries.keySet().iterator(); rootIter.hasNext();) {
+				IJavaElement root= JavaCore.create(rootIter.next());
+				if (root == null) {
+					rootIter.remove();
+					continue;
+				}
+				IJavaProject project= root.getJavaProject();
+				Boolean affected= affectedProjects.get(project.getElementName());
+				if (affected == null) {
+					affected= Boolean.valueOf(requiresAny(project, projectNames, new HashSet<String>()));
+					affectedProjects.put(project.getElementName(), affected);
+				}
+				if (affected.booleanValue()) {
+					rootIter.remove();
+				}
+			}
+			if (entries.isEmpty()) {
+				iter.remove();
+			}
+		}
+	}
+
+	private static boolean requiresAny(IJavaProject project, Set<String> projectNames, Set<String> visited) {
+		if (!visited.add(project.getElementName()))
+			return false;
+		if (projectNames.contains(project.getElementName()))
+			return true;
+		try {
+			String[] required= project.getRequiredProjectNames();
+			for (int i= 0; i < required.length; i++) {
+				IJavaProject requiredProject= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot().getProject(required[i]));
+				if (requiresAny(requiredProject, projectNames, visited))
+					return true;
+			}
+			return false;
+		} catch (JavaModelException e) {
+			return true;
+		}
+	}
+
+	private static void collectAffectedProjects(IJavaElementDelta delta, Set<String> projects) {
+		IJavaElement element= delta.getElement();
+		int type= element.getElementType();
+		if (type >= IJavaElement.COMPILATION_UNIT) {
+			if (affectsTests(delta)) {
+				projects.add(element.getJavaProject().getElementName());
+			}
+			return;
+		}
+		if (type != IJavaElement.JAVA_MODEL) {
+			// changes of non-Java resources are reported as F_CONTENT
+			int flags= delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT);
+			if (delta.getKind() != IJavaElementDelta.CHANGED || flags != 0) {
+				projects.add(element.getJavaProject().getElementName());
+				return;
+			}
+		}
+		IJavaElementDelta[] children= delta.getAffectedChildren();
+		for (int i= 0; i < children.length; i++) {
+			collectAffectedProjects(children[i], projects);
+		}
+	}
+
+	private static boolean affectsTests(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+
+		int flags= delta.getFlags();
+		if (delta.getElement().getElementType() == IJavaElement.COMPILATION_UNIT) {
+			if (flags == IJavaElementDelta.F_PRIMARY_WORKING_COPY)
+				return false; // working copy opened or closed
+			if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+				return true;
+		} else if (delta.getElement().getElementType() == IJavaElement.CLASS_FILE) {
+			return true;
+		} else if ((flags & (IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_ANNOTATIONS)) != 0) {
+			return true;
+		}
+
+		// F_CONTENT of a member only signals a changed body
+		IJavaElementDelta[] children= delta.getAffectedChildren();
+		for (int i= 0; i < children.length; i++) {
+			if (affectsTests(children[i]))
+				return true;
+		}
+		return false;
+	}
+
+	private void invalidateChangedResources(IResourceDelta delta) {
+		if (delta == null)
+			return;
+
+		final Set<String> projects= new HashSet<>();
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+				@Override
+				public boolean visit(IResourceDelta resourceDelta) throws CoreException {
+					IResource resource= resourceDelta.getResource();
+					if (resource.getType() == IResource.PROJECT) {
+						if (resourceDelta.getKind() != IResourceDelta.CHANGED || (resourceDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+							projects.add(resource.getName());
+							return false;
+						}
+						return true;
+					}
+					if (resource.getType() == IResource.FILE) {
+						String name= resource.getName();
+						if (name.endsWith(".java") || name.endsWith(".jar") || name.endsWith(".zip") || name.equals(".classpath")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+							projects.add(resource.getProject().getName());
+						}
+						return false;
+					}
+					return true;
+				}
+			});
+		} catch (CoreException e) {
+			JUnitCorePlugin.log(e);
+		}
+		if (!projects.isEmpty()) {
+			invalidate(projects);
+		}
+	}
+
+	private static File getIndexFile() {
+		return JUnitCorePlugin.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile();
+	}
+
+	private synchronized void save() {
+		File file= getIndexFile();
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(INDEX_FILE_VERSION);
+			out.writeInt(fEntries.size());
+			for (Map.Entry<String, Map<String, String[]>> keyEntry : fEntries.entrySet()) {
+				out.writeUTF(keyEntry.getKey());
+				out.writeInt(keyEntry.getValue().size());
+				for (Map.Entry<String, String[]> rootEntry : keyEntry.getValue().entrySet()) {
+					out.writeUTF(rootEntry.getKey());
+					String[] handles= rootEntry.getValue();
+					out.writeInt(handles.length);
+					for (int i= 0; i < handles.length; i++) {
+						out.writeUTF(handles[i]);
+					}
+				}
+			}
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			file.delete();
+		}
+	}
+
+	private synchronized void load() {
+		File file= getIndexFile();
+		if (!file.isFile())
+			return;
+
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != INDEX_FILE_VERSION)
+				return;
+			int keyCount= in.readInt();
+			for (int k= 0; k < keyCount; k++) {
+				String key= in.readUTF();
+				int rootCount= in.readInt();
+				Map<String, String[]> entries= new HashMap<>();
+				for (int r= 0; r < rootCount; r++) {
+					String root= in.readUTF();
+					String[] handles= new String[in.readInt()];
+					for (int i= 0; i < handles.length; i++) {
+						handles[i]= in.readUTF();
+					}
+					entries.put(root, handles);
+				}
+				fEntries.put(key, entries);
+			}
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			fEntries.clear();
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Distributes test classes over a number of test VMs (shards) such that all shards take about
+ * the same time, based on the durations recorded in the last run of the same launch
+ * configuration.
+ */
+public class TestShardBalancer {
+
+	private TestShardBalancer() {
+	}
+
+	/**
+	 * Returns the durations of the test classes in the youngest completed test run with the given
+	 * name.
+	 *
+	 * @param testRunName the name of the test run, i.e. the name of the launch configuration
+	 * @return a map from fully qualified test class name to the duration in seconds, empty if no
+	 *         such test run exists
+	 */
+	public static Map<String, Double> getRecordedDurations(String testRunName) {
+		Map<String, Double> durations= new HashMap<>();
+		TestRunSession session= JUnitCorePlugin.getModel().getLastCompletedTestRunSession(testRunName);
+		if (session != null)
+			addDurations(session.getTestRoot(), durations);
+		return durations;
+	}
+
+	private static void addDurations(TestSuiteElement suite, Map<String, Double> durations) {
+		for (ITestElement child : suite.getChildren()) {
+			if (child instanceof TestSuiteElement) {
+				addDurations((TestSuiteElement) child, durations);
+			} else if (child instanceof TestCaseElement) {
+				TestCaseElement testCase= (TestCaseElement) child;
+				double time= testCase.getElapsedTimeInSeconds();
+				if (!Double.isNaN(time)) {
+					Double sum= durations.get(testCase.getClassName());
+					durations.put(testCase.getClassName(), sum == null ? time : sum.doubleValue() + time);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Assigns each of the given test classes to one of <code>shardCount</code> shards. The longest
+	 * test classes are assigned first, each to the shard with the least total duration so far.
+	 * Test classes without recorded duration are assumed to take the average recorded duration.
+	 *
+	 * @param testNames the fully qualified names of the test classes
+	 * @param durations a map from fully qualified test class name to the duration in seconds
+	 * @param shardCount the number of shards, at most <code>testNames.length</code>
+	 * @return the shard index of each test class; no shard is empty
+	 */
+	public static int[] balance(String[] testNames, Map<String, Double> durations, int shardCount) {
+		final double[] times= new double[testNames.length];
+		double total= 0;
+		int known= 0;
+		for (int i= 0; i < testNames.length; i++) {
+			Double time= durations.get(testNames[i]);
+			if (time != null) {
+				times[i]= time.doubleValue();
+				total+= times[i];
+				known++;
+			} else {
+				times[i]= -1;
+			}
+		}
+		double estimate= known > 0 ? total / known : 1;
+		for (int i= 0; i < times.length; i++) {
+			if (times[i] < 0)
+				times[i]= estimate;
+		}
+
+		Integer[] order= new Integer[testNames.length];
+		for (int i= 0; i < order.length; i++)
+			order[i]= Integer.valueOf(i);
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				int result= Double.compare(times[i2.intValue()], times[i1.intValue()]);
+				return result != 0 ? result : i1.compareTo(i2);
+			}
+		});
+
+		double[] loads= new double[shardCount];
+		int[] sizes= new int[shardCount];
+		int[] assignment= new int[testNames.length];
+		for (Integer index : order) {
+			int shard= 0;
+			for (int s= 1; s < shardCount; s++) {
+				if (loads[s] < loads[shard] || loads[s] == loads[shard] && sizes[s] < sizes[shard])
+					shard= s;
+			}
+			assignment[index.intValue()]= shard;
+			loads[shard]+= times[index.intValue()];
+			sizes[shard]++;
+		}
+		return assignment;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -122,16 +122,26 @@ public final class JUnitModel {
 			if (portStr == null)
 				return;
 			try {
-				final int port= Integer.parseInt(portStr);
+				final int[] ports= parsePorts(launch.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_PORTS), portStr);
 				fTrackedLaunches.remove(launch);
-				connectTestRunner(launch, javaProject, port);
+				connectTestRunner(launch, javaProject, ports);
 			} catch (NumberFormatException e) {
 				return;
 			}
 		}
 
-		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int port) {
-			TestRunSession testRunSession= new TestRunSession(launch, javaProject, port);
+		private int[] parsePorts(String shardPortsStr, String portStr) throws NumberFormatException {
+			if (shardPortsStr == null)
+				return new int[] { Integer.parseInt(portStr) };
+			String[] shardPorts= shardPortsStr.split(","); //$NON-NLS-1$
+			int[] ports= new int[shardPorts.length];
+			for (int i= 0; i < shardPorts.length; i++)
+				ports[i]= Integer.parseInt(shardPorts[i]);
+			return ports;
+		}
+
+		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int[] ports) {
+			TestRunSession testRunSession= new TestRunSession(launch, javaProject, ports);
 			addTestRunSession(testRunSession);
 			
 			for (TestRunListener listener : JUnitCorePlugin.getDefault().getNewTestRunListeners()) {
@@ -338,6 +348,22 @@ public final class JUnitModel {
 		return new ArrayList<>(fTestRunSessions);
 	}
 
+	/**
+	 * @param testRunName the name of the test run, i.e. the name of the launch configuration
+	 * @return the youngest launched test run session with the given name that has run to
+	 *         completion, or <code>null</code> if there is none
+	 */
+	public synchronized TestRunSession getLastCompletedTestRunSession(String testRunName) {
+		for (TestRunSession session : fTestRunSessions) {
+			if (!testRunName.equals(session.getTestRunName()) || session.getLaunch() == null)
+				continue;
+			if (session.isStarting() || session.isRunning() || session.isStopped())
+				continue;
+			return session;
+		}
+		return null;
+	}
+
 	/**
 	 * Adds the given {@link TestRunSession} and notifies all registered
 	 * {@link ITestRunSessionListener}s.
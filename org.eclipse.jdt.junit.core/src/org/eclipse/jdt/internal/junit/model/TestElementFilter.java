@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Selects the test elements of a test run that are of interest, e.g. only failed tests. The
+ * filter is applied to the model before elements are handed out to viewers, so that filtered
+ * elements never get a widget.
+ */
+public abstract class TestElementFilter {
+
+	/**
+	 * Selects failed tests and suites that contain failed tests.
+	 */
+	public static final TestElementFilter FAILURES= new TestElementFilter() {
+		@Override
+		public boolean select(TestElement testElement) {
+			Status status= testElement.getStatus();
+			if (status.isErrorOrFailure())
+				return true;
+			else
+				return isRerunning(testElement);
+		}
+	};
+
+	/**
+	 * Selects skipped tests and suites that contain skipped tests. A test is skipped if it was
+	 * ignored (<code>@Ignore</code>) or had an assumption failure.
+	 */
+	public static final TestElementFilter IGNORED= new TestElementFilter() {
+		@Override
+		public boolean select(TestElement testElement) {
+			if (hasIgnoredInTestResult(testElement))
+				return true;
+			else
+				return isRerunning(testElement);
+		}
+
+		private boolean hasIgnoredInTestResult(TestElement testElement) {
+			if (testElement instanceof TestSuiteElement) {
+				ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
+				for (ITestElement child : children) {
+					if (hasIgnoredInTestResult((TestElement) child))
+						return true;
+				}
+				return false;
+			}
+			return testElement.getTestResult(false) == Result.IGNORED;
+		}
+	};
+
+	/**
+	 * @param testElement the test element
+	 * @return <code>true</code> if the element is of interest
+	 */
+	public abstract boolean select(TestElement testElement);
+
+	/**
+	 * @param suite the test suite
+	 * @return the children of the given suite that are of interest, in their original order
+	 */
+	public TestElement[] getChildren(TestSuiteElement suite) {
+		ITestElement[] children= suite.getChildren();
+		List<TestElement> selected= new ArrayList<>();
+		for (ITestElement child : children) {
+			if (select((TestElement) child))
+				selected.add((TestElement) child);
+		}
+		return selected.toArray(new TestElement[selected.size()]);
+	}
+
+	static boolean isRerunning(TestElement testElement) {
+		TestRunSession session= (TestRunSession) testElement.getRoot().getTestRunSession();
+		return !session.isRunning() && testElement.getStatus() == Status.RUNNING;
+	}
+}
@@ -64,9 +64,9 @@ public class TestRunSession implements ITestRunSession {
 	private final ITestKind fTestRunnerKind;
 
 	/**
-	 * Test runner client or <code>null</code>.
+	 * Test runner clients, one per test VM, or <code>null</code>.
 	 */
-	private RemoteTestRunnerClient fTestRunnerClient;
+	private RemoteTestRunnerClient[] fTestRunnerClients;
 
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
@@ -99,6 +99,18 @@ public class TestRunSession implements ITestRunSession {
 
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
+	/**
+	 * Separates the shard index from the test id reported by the test VM in the test ids of a
+	 * sharded test run.
+	 */
+	private static final char SHARD_ID_SEPARATOR= ':';
+
+	/**
+	 * Prefix of the ids of the test tree entries that are currently added, empty if the test run is
+	 * not sharded.
+	 */
+	private String fTestIdPrefix= EMPTY_STRING;
+
 	/**
 	 * Tags included in this test run.
 	 */
@@ -166,14 +178,27 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fIdToTest= new HashMap<>();
 
-		fTestRunnerClient= null;
+		fTestRunnerClients= null;
 
 		fSessionListeners= new ListenerList<>();
 	}
 
 
 	public TestRunSession(ILaunch launch, IJavaProject project, int port) {
+		this(launch, project, new int[] { port });
+	}
+
+	/**
+	 * Creates a test run session for a launch that runs its tests in one or more test VMs. The
+	 * results of all test VMs are merged into a single test tree.
+	 *
+	 * @param launch the launch
+	 * @param project the launched project
+	 * @param ports the ports on which the test VMs report their results, one per test VM
+	 */
+	public TestRunSession(ILaunch launch, IJavaProject project, int[] ports) {
 		Assert.isNotNull(launch);
+		Assert.isLegal(ports.length > 0);
 
 		fLaunch= launch;
 		fProject= project;
@@ -190,26 +215,27 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fIdToTest= new HashMap<>();
 
-		fTestRunnerClient= new RemoteTestRunnerClient();
-		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
+		fTestRunnerClients= new RemoteTestRunnerClient[ports.length];
+		ShardedTestRun shardedRun= ports.length > 1 ? new ShardedTestRun(ports.length) : null;
+		for (int i= 0; i < ports.length; i++) {
+			ITestRunListener2 notifier= shardedRun != null ? new TestShardNotifier(shardedRun, i) : new TestSessionNotifier();
+			fTestRunnerClients[i]= new RemoteTestRunnerClient();
+			fTestRunnerClients[i].startListening(new ITestRunListener2[] { notifier }, ports[i]);
+		}
 
 		final ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.addLaunchListener(new ILaunchesListener2() {
 			@Override
 			public void launchesTerminated(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
 			@Override
 			public void launchesRemoved(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
-					}
+					stopWaiting();
 					launchManager.removeLaunchListener(this);
 				}
 			}
@@ -225,6 +251,15 @@ public class TestRunSession implements ITestRunSession {
 		addTestSessionListener(new TestRunListenerAdapter(this));
 	}
 
+	private void stopWaiting() {
+		RemoteTestRunnerClient[] clients= fTestRunnerClients;
+		if (clients != null) {
+			for (int i= 0; i < clients.length; i++) {
+				clients[i].stopWaiting();
+			}
+		}
+	}
+
 	void reset() {
 		fStartedCount= 0;
 		fFailureCount= 0;
@@ -370,7 +405,7 @@ public class TestRunSession implements ITestRunSession {
 			JUnitModel.exportTestRunSession(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
-			fTestRunnerClient= null;
+			fTestRunnerClients= null;
 			fIdToTest= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
@@ -422,17 +457,20 @@ public class TestRunSession implements ITestRunSession {
 	public void stopTestRun() {
 		if (isRunning() || ! isKeptAlive())
 			fIsStopped= true;
-		if (fTestRunnerClient != null)
-			fTestRunnerClient.stopTest();
+		RemoteTestRunnerClient[] clients= fTestRunnerClients;
+		if (clients != null) {
+			for (int i= 0; i < clients.length; i++) {
+				clients[i].stopTest();
+			}
+		}
 	}
 
 	/**
 	 * @return <code>true</code> iff the runtime VM of this test session is still alive
 	 */
 	public boolean isKeptAlive() {
-		if (fTestRunnerClient != null
+		if (isTestRunnerClientRunning()
 				&& fLaunch != null
-				&& fTestRunnerClient.isRunning()
 				&& ILaunchManager.DEBUG_MODE.equals(fLaunch.getLaunchMode())) {
 			ILaunchConfiguration config= fLaunch.getLaunchConfiguration();
 			try {
@@ -447,6 +485,17 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	private boolean isTestRunnerClientRunning() {
+		RemoteTestRunnerClient[] clients= fTestRunnerClients;
+		if (clients != null) {
+			for (int i= 0; i < clients.length; i++) {
+				if (clients[i].isRunning())
+					return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * @return <code>true</code> iff this session has been started, but not ended nor stopped nor terminated
 	 */
@@ -470,7 +519,14 @@ public class TestRunSession implements ITestRunSession {
 			} else if (status == Status.FAILURE) {
 				fFailureCount--;
 			}
-			fTestRunnerClient.rerunTest(testId, className, testName);
+			int shard= 0;
+			String runnerTestId= testId;
+			if (fTestRunnerClients.length > 1) {
+				int separator= testId.indexOf(SHARD_ID_SEPARATOR);
+				shard= Integer.parseInt(testId.substring(0, separator));
+				runnerTestId= testId.substring(separator + 1);
+			}
+			fTestRunnerClients[shard].rerunTest(runnerTestId, className, testName);
 			return true;
 		}
 		return false;
@@ -483,7 +539,7 @@ public class TestRunSession implements ITestRunSession {
 	private TestElement addTreeEntry(String treeEntry) {
 		// format: testId","testName","isSuite","testcount","isDynamicTest","parentId","displayName","parameterTypes
 		int index0= treeEntry.indexOf(',');
-		String id= treeEntry.substring(0, index0);
+		String id= fTestIdPrefix + treeEntry.substring(0, index0);
 
 		StringBuffer testNameBuffer= new StringBuffer(100);
 		int index1= scanTestName(treeEntry, index0 + 1, testNameBuffer);
@@ -519,6 +575,8 @@ public class TestRunSession implements ITestRunSession {
 			parentId= treeEntry.substring(index4 + 1, index5);
 			if (parentId.equals("-1")) { //$NON-NLS-1$
 				parentId= null;
+			} else {
+				parentId= fTestIdPrefix + parentId;
 			}
 
 			int index6= scanTestName(treeEntry, index5 + 1, displayNameBuffer);
@@ -805,6 +863,140 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * The state shared by the {@link TestShardNotifier}s of a test run that is distributed over
+	 * several test VMs. Also serves as the lock that serializes their events.
+	 */
+	private static class ShardedTestRun {
+		final int fShardCount;
+		int fStartedShards;
+		int fFinishedShards;
+		long fElapsedTime;
+		boolean fIsStopped;
+		boolean fIsTerminated;
+
+		ShardedTestRun(int shardCount) {
+			fShardCount= shardCount;
+		}
+	}
+
+	/**
+	 * A {@link TestSessionNotifier} for one of several test VMs of a sharded test run. The
+	 * events of all test VMs are serialized and merged into a single test run: test ids are
+	 * qualified with the index of the test VM, the run starts with the first test VM and ends when
+	 * all test VMs have finished.
+	 */
+	private class TestShardNotifier extends TestSessionNotifier {
+
+		private final ShardedTestRun fShardedRun;
+		private final String fIdPrefix;
+		private List<IncompleteTestSuite> fShardIncompleteTestSuites;
+		private List<IncompleteTestSuite> fShardFactoryTestSuites;
+		private boolean fIsFinished;
+
+		public TestShardNotifier(ShardedTestRun shardedRun, int shard) {
+			fShardedRun= shardedRun;
+			fIdPrefix= String.valueOf(shard) + SHARD_ID_SEPARATOR;
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			synchronized (fShardedRun) {
+				if (fShardedRun.fStartedShards++ == 0) {
+					super.testRunStarted(testCount);
+				} else {
+					fTotalCount+= testCount;
+				}
+				fShardIncompleteTestSuites= new ArrayList<>();
+				fShardFactoryTestSuites= new ArrayList<>();
+			}
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			synchronized (fShardedRun) {
+				finished(elapsedTime);
+			}
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			synchronized (fShardedRun) {
+				if (!fIsFinished)
+					fShardedRun.fIsStopped= true;
+				finished(elapsedTime);
+			}
+		}
+
+		@Override
+		public void testRunTerminated() {
+			synchronized (fShardedRun) {
+				if (!fIsFinished)
+					fShardedRun.fIsTerminated= true;
+				finished(0);
+			}
+		}
+
+		private void finished(long elapsedTime) {
+			if (fIsFinished)
+				return;
+			fIsFinished= true;
+			fShardedRun.fElapsedTime= Math.max(fShardedRun.fElapsedTime, elapsedTime);
+			if (++fShardedRun.fFinishedShards < fShardedRun.fShardCount)
+				return;
+
+			if (fShardedRun.fIsTerminated) {
+				super.testRunTerminated();
+			} else if (fShardedRun.fIsStopped) {
+				super.testRunStopped(fShardedRun.fElapsedTime);
+			} else {
+				super.testRunEnded(fShardedRun.fElapsedTime);
+			}
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			synchronized (fShardedRun) {
+				fIncompleteTestSuites= fShardIncompleteTestSuites;
+				fFactoryTestSuites= fShardFactoryTestSuites;
+				fTestIdPrefix= fIdPrefix;
+				try {
+					super.testTreeEntry(description);
+				} finally {
+					fTestIdPrefix= EMPTY_STRING;
+				}
+			}
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			synchronized (fShardedRun) {
+				super.testStarted(fIdPrefix + testId, testName);
+			}
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			synchronized (fShardedRun) {
+				super.testEnded(fIdPrefix + testId, testName);
+			}
+		}
+
+		@Override
+		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
+			synchronized (fShardedRun) {
+				super.testFailed(statusCode, fIdPrefix + testId, testName, trace, expected, actual);
+			}
+		}
+
+		@Override
+		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
+			synchronized (fShardedRun) {
+				super.testReran(fIdPrefix + testId, className, testName, statusCode, trace, expectedResult, actualResult);
+			}
+		}
+	}
+
 	private static class IncompleteTestSuite {
 		public TestSuiteElement fTestSuiteElement;
 		public int fOutstandingChildren;
@@ -94,6 +94,11 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 			internalSetChildrenStatus(childStatus);
 			return;
 		}
+		if (childStatus.isRunning() && (fChildrenStatus == null || fChildrenStatus.isNotRun())) {
+			// another child is running before the first one, e.g. because children are executed concurrently -> copy status
+			internalSetChildrenStatus(childStatus);
+			return;
+		}
 		TestElement lastChild= fChildren.get(childCount - 1);
 		if (child == lastChild) {
 			if (childStatus.isDone()) {
@@ -59,13 +59,20 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
 import org.eclipse.jdt.internal.junit.Messages;
+import org.eclipse.jdt.internal.junit.launcher.AffectedTestsFinder;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.launcher.TestShardBalancer;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
+import org.eclipse.jdt.junit.model.ITestElement;
+
 import org.eclipse.jdt.launching.AbstractJavaLaunchConfigurationDelegate;
 import org.eclipse.jdt.launching.ExecutionArguments;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
@@ -94,7 +101,7 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			monitor = new NullProgressMonitor();
 		}
 
-		monitor.beginTask(MessageFormat.format("{0}...", configuration.getName()), 5); //$NON-NLS-1$
+		monitor.beginTask(MessageFormat.format("{0}...", configuration.getName()), 6); //$NON-NLS-1$
 		// check for cancellation
 		if (monitor.isCanceled()) {
 			return;
@@ -123,11 +130,10 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			}
 
 			fKeepAlive= mode.equals(ILaunchManager.DEBUG_MODE) && configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
-			fPort= evaluatePort();
-			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
 			ITestKind testKind= getTestRunnerKind(configuration);
-			if (TestKindRegistry.JUNIT3_TEST_KIND_ID.equals(testKind.getId()) || TestKindRegistry.JUNIT4_TEST_KIND_ID.equals(testKind.getId())) {
+			boolean affectedTestsOnly= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_AFFECTED_TESTS_ONLY, false);
+			if (TestKindRegistry.JUNIT3_TEST_KIND_ID.equals(testKind.getId()) || TestKindRegistry.JUNIT4_TEST_KIND_ID.equals(testKind.getId()) || affectedTestsOnly) {
 				fTestElements= evaluateTests(configuration, new SubProgressMonitor(monitor, 1));
 			} else {
 				IJavaElement testTarget= getTestTarget(configuration, getJavaProject(configuration));
@@ -137,6 +143,17 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 					fTestElements= evaluateTests(configuration, new SubProgressMonitor(monitor, 1));
 				}
 			}
+			if (affectedTestsOnly) {
+				fTestElements= evaluateAffectedTests(configuration, fTestElements, new SubProgressMonitor(monitor, 1));
+			}
+
+			IJavaElement[][] shards= evaluateShards(configuration, fTestElements);
+			int[] ports= evaluatePorts(shards.length);
+			if (ports.length > 1) {
+				// must be set before the port, which triggers the connection of the test run session
+				launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_PORTS, toString(ports));
+			}
+			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(ports[0]));
 
 			String mainTypeName= verifyMainTypeName(configuration);
 			IVMRunner runner= getVMRunner(configuration, mode);
@@ -150,26 +167,34 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			// Environment variables
 			String[] envp= getEnvironment(configuration);
 
-			ArrayList<String> vmArguments= new ArrayList<>();
-			ArrayList<String> programArguments= new ArrayList<>();
-			collectExecutionArguments(configuration, vmArguments, programArguments);
-
 			// VM-specific attributes
 			Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
 
 			// Classpath
 			String[] classpath= getClasspath(configuration);
 
-			// Create VM config
-			VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
-			runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
-			runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
-			runConfig.setEnvironment(envp);
-			runConfig.setWorkingDirectory(workingDirName);
-			runConfig.setVMSpecificAttributesMap(vmAttributesMap);
-
 			// Bootpath
-			runConfig.setBootClassPath(getBootpath(configuration));
+			String[] bootpath= getBootpath(configuration);
+
+			// Create one VM config per shard
+			VMRunnerConfiguration[] runConfigs= new VMRunnerConfiguration[shards.length];
+			for (int i= 0; i < shards.length; i++) {
+				fPort= ports[i];
+				fTestElements= shards[i];
+
+				ArrayList<String> vmArguments= new ArrayList<>();
+				ArrayList<String> programArguments= new ArrayList<>();
+				collectExecutionArguments(configuration, vmArguments, programArguments);
+
+				VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
+				runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
+				runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
+				runConfig.setEnvironment(envp);
+				runConfig.setWorkingDirectory(workingDirName);
+				runConfig.setVMSpecificAttributesMap(vmAttributesMap);
+				runConfig.setBootClassPath(bootpath);
+				runConfigs[i]= runConfig;
+			}
 
 			// check for cancellation
 			if (monitor.isCanceled()) {
@@ -185,11 +210,13 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			monitor.worked(1);
 
 			// Launch the configuration - 1 unit of work
-			runner.run(runConfig, launch, monitor);
+			for (int i= 0; i < runConfigs.length; i++) {
+				runner.run(runConfigs[i], launch, monitor);
 
-			// check for cancellation
-			if (monitor.isCanceled()) {
-				return;
+				// check for cancellation
+				if (monitor.isCanceled()) {
+					return;
+				}
 			}
 		} finally {
 			fTestElements= null;
@@ -205,6 +232,86 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		return port;
 	}
 
+	private int[] evaluatePorts(int count) throws CoreException {
+		int[] ports= new int[count];
+		Set<Integer> used= new HashSet<>();
+		for (int i= 0; i < count; i++) {
+			int port= evaluatePort();
+			for (int attempt= 0; !used.add(Integer.valueOf(port)) && attempt < 10; attempt++) {
+				port= evaluatePort();
+			}
+			ports[i]= port;
+		}
+		return ports;
+	}
+
+	private static String toString(int[] ports) {
+		StringBuffer buf= new StringBuffer();
+		for (int i= 0; i < ports.length; i++) {
+			if (i > 0)
+				buf.append(',');
+			buf.append(ports[i]);
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Distributes the test elements over the number of test VMs requested by
+	 * {@link JUnitLaunchConfigurationConstants#ATTR_SHARD_COUNT}. Only test types are distributed,
+	 * and tests are never distributed when the test VM is kept alive.
+	 *
+	 * @param configuration the launch configuration
+	 * @param testElements the test elements to run
+	 * @return the test elements of each test VM
+	 * @throws CoreException if the launch configuration cannot be read
+	 */
+	private IJavaElement[][] evaluateShards(ILaunchConfiguration configuration, IJavaElement[] testElements) throws CoreException {
+		int shardCount= Math.min(configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_COUNT, 1), testElements.length);
+		if (shardCount <= 1 || fKeepAlive) {
+			return new IJavaElement[][] { testElements };
+		}
+		String[] testNames= new String[testElements.length];
+		for (int i= 0; i < testElements.length; i++) {
+			if (!(testElements[i] instanceof IType)) {
+				return new IJavaElement[][] { testElements };
+			}
+			testNames[i]= ((IType) testElements[i]).getFullyQualifiedName('.');
+		}
+
+		Map<String, Double> durations= TestShardBalancer.getRecordedDurations(configuration.getName());
+		int[] assignment= TestShardBalancer.balance(testNames, durations, shardCount);
+		List<List<IJavaElement>> shards= new ArrayList<>();
+		for (int i= 0; i < shardCount; i++) {
+			shards.add(new ArrayList<IJavaElement>());
+		}
+		for (int i= 0; i < testElements.length; i++) {
+			shards.get(assignment[i]).add(testElements[i]);
+		}
+		IJavaElement[][] result= new IJavaElement[shardCount][];
+		for (int i= 0; i < shardCount; i++) {
+			List<IJavaElement> shard= shards.get(i);
+			result[i]= shard.toArray(new IJavaElement[shard.size()]);
+		}
+		return result;
+	}
+
+	/**
+	 * Restricts the test types to the ones affected by the changes since the last successful run
+	 * of the launch configuration, see
+	 * {@link JUnitLaunchConfigurationConstants#ATTR_AFFECTED_TESTS_ONLY}. All tests are kept if
+	 * there is no successful run, or if the tests are not all types.
+	 *
+	 * @param configuration the launch configuration
+	 * @param testElements the test elements to run
+	 * @param monitor the progress monitor
+	 * @return the affected test elements
+	 * @throws CoreException if the search failed, or if no test is affected
+	 */
+	private IJavaElement[] evaluateAffectedTests(ILaunchConfiguration configuration, IJavaElement[] testElements, IProgressMonitor monitor) throws CoreException {
+		long since= AffectedTestsFinder.getLastSuccessfulRunTime(configuration.getName());
+		return AffectedTestsFinder.filterAffectedTests(getJavaProject(configuration), testElements, since, monitor);
+	}
+
 	/**
 	 * Performs a check on the launch configuration's attributes. If an attribute contains an invalid value, a {@link CoreException}
 	 * with the error is thrown.
@@ -356,6 +463,14 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			programArguments.add(testFailureNames);
 		}
 
+		if (configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE_BY_HISTORY, false)) {
+			String testHistoryFile= createTestHistoryFile(configuration);
+			if (testHistoryFile != null) {
+				programArguments.add("-testhistory"); //$NON-NLS-1$
+				programArguments.add(testHistoryFile);
+			}
+		}
+
 		String uniqueId= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, ""); //$NON-NLS-1$
 		if (!uniqueId.trim().isEmpty()) {
 			programArguments.add("-uniqueId"); //$NON-NLS-1$
@@ -466,6 +581,51 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		}
 	}
 
+	/**
+	 * Writes the durations and failures of the last completed run of the given launch
+	 * configuration, one line per test element: <code>&lt;duration in ms&gt;,&lt;1 if failed, else
+	 * 0&gt;,&lt;test name&gt;</code>.
+	 *
+	 * @param configuration the launch configuration
+	 * @return the file name, or <code>null</code> if the configuration has not been run yet
+	 * @throws CoreException if the file could not be written
+	 */
+	private String createTestHistoryFile(ILaunchConfiguration configuration) throws CoreException {
+		TestRunSession session= JUnitCorePlugin.getModel().getLastCompletedTestRunSession(configuration.getName());
+		if (session == null)
+			return null;
+		try {
+			File file= File.createTempFile("testHistory", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.deleteOnExit();
+			try (BufferedWriter bw= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"))) { //$NON-NLS-1$
+				writeTestHistory(bw, session.getTestRoot());
+			}
+			return file.getAbsolutePath();
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
+		}
+	}
+
+	private long writeTestHistory(BufferedWriter bw, TestSuiteElement suite) throws IOException {
+		long total= 0;
+		for (ITestElement child : suite.getChildren()) {
+			long duration;
+			if (child instanceof TestSuiteElement) {
+				duration= writeTestHistory(bw, (TestSuiteElement) child);
+			} else {
+				double time= child.getElapsedTimeInSeconds();
+				duration= Double.isNaN(time) ? 0 : Math.round(time * 1000);
+			}
+			total+= duration;
+			TestElement element= (TestElement) child;
+			bw.write(Long.toString(duration));
+			bw.write(element.getStatus().isErrorOrFailure() ? ",1," : ",0,"); //$NON-NLS-1$ //$NON-NLS-2$
+			bw.write(element.getTestName());
+			bw.newLine();
+		}
+		return total;
+	}
+
 	@Override
 	public String[] getClasspath(ILaunchConfiguration configuration) throws CoreException {
 		String[] cp= super.getClasspath(configuration);
@@ -25,18 +25,30 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 		fIds = ids;
 	}
 
+	/*
+	 * Tests may be executed concurrently (e.g. by the JUnit Platform), so the messages of
+	 * one notification are sent while holding the lock of the sender, such that they are
+	 * never interleaved with the messages of another notification.
+	 */
+
 	public void notifyTestEnded(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_END);
+		synchronized (fSender) {
+			sendMessage(test, MessageIds.TEST_END);
+		}
 	}
 
 	public void notifyTestFailed(TestReferenceFailure failure) {
-		sendMessage(failure.getTest(), failure.getStatus());
-		sendFailure(failure, MessageIds.TRACE_START, MessageIds.TRACE_END);
+		synchronized (fSender) {
+			sendMessage(failure.getTest(), failure.getStatus());
+			sendFailure(failure, MessageIds.TRACE_START, MessageIds.TRACE_END);
+		}
 	}
 
 	public void notifyTestStarted(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_START);
-		fSender.flush();
+		synchronized (fSender) {
+			sendMessage(test, MessageIds.TEST_START);
+			fSender.flush();
+		}
 	}
 
 	private String getTestId(ITestIdentifier test) {
@@ -45,14 +57,16 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 
 	protected void sendFailure(TestReferenceFailure failure, String startTrace,
 			String endTrace) {
-		FailedComparison comparison = failure.getComparison();
-		if (comparison != null)
-			comparison.sendMessages(fSender);
-
-		fSender.sendMessage(startTrace);
-		fSender.sendMessage(failure.getTrace());
-		fSender.sendMessage(endTrace);
-		fSender.flush();
+		synchronized (fSender) {
+			FailedComparison comparison = failure.getComparison();
+			if (comparison != null)
+				comparison.sendMessages(fSender);
+
+			fSender.sendMessage(startTrace);
+			fSender.sendMessage(failure.getTrace());
+			fSender.sendMessage(endTrace);
+			fSender.flush();
+		}
 	}
 
 	private void sendMessage(ITestIdentifier test, String status) {
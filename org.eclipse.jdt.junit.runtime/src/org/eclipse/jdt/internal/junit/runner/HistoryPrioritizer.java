@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+import junit.extensions.TestDecorator;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Reorders the tests of each suite such that tests that failed in the previous test run come
+ * first, followed by the others in order of increasing duration. A suite has the accumulated
+ * duration of its tests, and counts as failed if one of its tests failed.
+ */
+public class HistoryPrioritizer implements ITestPrioritizer {
+
+	private static class Priority {
+		boolean fFailed;
+		long fDuration;
+	}
+
+	private final TestHistory fHistory;
+
+	public HistoryPrioritizer(TestHistory history) {
+		fHistory= history;
+	}
+
+	public Test prioritize(Test input) {
+		doPrioritize(input);
+		return input;
+	}
+
+	private Priority doPrioritize(Test test) {
+		if (test instanceof TestDecorator)
+			return doPrioritize(((TestDecorator) test).getTest());
+
+		Priority priority= new Priority();
+		String name= null;
+		if (test instanceof TestSuite) {
+			TestSuite suite= (TestSuite) test;
+			name= suite.getName();
+			final Map priorities= new IdentityHashMap();
+			for (Enumeration e= suite.tests(); e.hasMoreElements();) {
+				Test child= (Test) e.nextElement();
+				Priority childPriority= doPrioritize(child);
+				priorities.put(child, childPriority);
+				priority.fFailed|= childPriority.fFailed;
+				priority.fDuration+= childPriority.fDuration;
+			}
+			Vector tests= (Vector) FailuresFirstPrioritizer.getField(suite, "fTests"); //$NON-NLS-1$
+			if (tests != null) {
+				Collections.sort(tests, new Comparator() {
+					public int compare(Object o1, Object o2) {
+						Priority p1= (Priority) priorities.get(o1);
+						Priority p2= (Priority) priorities.get(o2);
+						return TestHistory.compare(p1.fFailed, p1.fDuration, p2.fFailed, p2.fDuration);
+					}
+				});
+			}
+		} else if (test instanceof TestCase) {
+			name= test.toString();
+		}
+
+		if (name != null && fHistory.isKnown(name)) {
+			priority.fDuration= fHistory.getDuration(name);
+			priority.fFailed|= fHistory.hasFailed(name);
+		}
+		return priority;
+	}
+}
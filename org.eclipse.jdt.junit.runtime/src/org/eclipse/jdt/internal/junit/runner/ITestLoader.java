@@ -18,12 +18,14 @@ public interface ITestLoader {
 	 * @param testClasses classes to be run
 	 * @param testName individual method to be run
 	 * @param failureNames may want to run these first, since they failed
+	 * @param testHistory durations and failures of the previous test run, used to run likely
+	 *            failures and short tests first, or <code>null</code>
 	 * @param packages packages containing tests to run
 	 * @param includeExcludeTags tags to be included and excluded in the test run
 	 * @param uniqueId unique ID of the test to run
 	 * @param listener to be notified if tests could not be loaded
 	 * @return the loaded test references
 	 */
-	public abstract ITestReference[] loadTests(Class[] testClasses, String testName, String[] failureNames, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener);
+	public abstract ITestReference[] loadTests(Class[] testClasses, String testName, String[] failureNames, TestHistory testHistory, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener);
 }
 
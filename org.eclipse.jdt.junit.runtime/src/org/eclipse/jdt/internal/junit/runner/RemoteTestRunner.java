@@ -127,6 +127,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private String[] fFailureNames;
 
+	private TestHistory fTestHistory;
+
 	private ITestLoader fLoader;
 
 	private MessageSender fSender;
@@ -282,6 +284,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 				}
 				i++;
 
+			} else if (args[i].toLowerCase().equals("-testhistory")) { //$NON-NLS-1$
+				String testHistoryFile= args[i+1];
+				try {
+					fTestHistory= TestHistory.read(testHistoryFile);
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Cannot read testhistory file.");		 //$NON-NLS-1$
+				}
+				i++;
+
 			} else if(args[i].toLowerCase().equals("-port")) { //$NON-NLS-1$
 				fPort= Integer.parseInt(args[i+1]);
 				i++;
@@ -520,7 +531,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @param execution executor
 	 */
 	public void runTests(String[] testClassNames, String testName, TestExecution execution) {
-		ITestReference[] suites= fLoader.loadTests(loadClasses(testClassNames), testName, fFailureNames, fPackageNames, fIncludeExcludeTags, fUniqueId, this);
+		Class[] classes= loadClasses(testClassNames);
+		if (fTestHistory != null)
+			fTestHistory.sort(classes);
+		ITestReference[] suites= fLoader.loadTests(classes, testName, fFailureNames, fTestHistory, fPackageNames, fIncludeExcludeTags, fUniqueId, this);
 
 		// count all testMethods and inform ITestRunListeners
 		int count= countTests(suites);
@@ -568,7 +582,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 */
 	public void rerunTest(RerunRequest r) {
 		final Class[] classes= loadClasses(new String[] { r.fRerunClassName });
-		ITestReference rerunTest1= fLoader.loadTests(classes, r.fRerunTestName, null, null, fIncludeExcludeTags, fUniqueId, this)[0];
+		ITestReference rerunTest1= fLoader.loadTests(classes, r.fRerunTestName, null, null, null, fIncludeExcludeTags, fUniqueId, this)[0];
 		RerunExecutionListener service= rerunExecutionListener();
 
 		TestExecution execution= new TestExecution(service, getClassifier());
@@ -739,7 +753,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	}
 
 	protected void notifyTestTreeEntry(String treeEntry) {
-		fSender.sendMessage(MessageIds.TEST_TREE + treeEntry);
+		// dynamic tests can be registered while other tests are executed
+		synchronized (fSender) {
+			fSender.sendMessage(MessageIds.TEST_TREE + treeEntry);
+		}
 	}
 
 	/*
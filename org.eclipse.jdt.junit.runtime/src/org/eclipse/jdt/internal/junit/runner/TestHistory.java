@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Durations and failures of the tests of a previous test run. Used to run likely failures and
+ * short tests first, such that the first failure is reported as early as possible.
+ * <p>
+ * The history file contains one line per test element:
+ * <code>&lt;duration in milliseconds&gt;,&lt;1 if failed, 0 otherwise&gt;,&lt;test name&gt;</code>.
+ * The test name is the name reported by the test runner, e.g. <code>testFoo(p.MyTest)</code> for
+ * a test method and <code>p.MyTest</code> for a test class.
+ * </p>
+ * <p>
+ * Tests that are not in the history are new, and are considered to take no time, so that they
+ * are run early.
+ * </p>
+ */
+public class TestHistory {
+
+	private final HashMap fDurations= new HashMap(); // String -> Long
+	private final HashSet fFailures= new HashSet(); // String
+
+	/**
+	 * Reads a test history file.
+	 *
+	 * @param historyFile the file name
+	 * @return the test history
+	 * @throws IOException if the file could not be read
+	 */
+	public static TestHistory read(String historyFile) throws IOException {
+		TestHistory history= new TestHistory();
+		BufferedReader br= new BufferedReader(new InputStreamReader(new FileInputStream(new File(historyFile)), "UTF-8")); //$NON-NLS-1$
+		try {
+			String line;
+			while ((line= br.readLine()) != null) {
+				int first= line.indexOf(',');
+				int second= first == -1 ? -1 : line.indexOf(',', first + 1);
+				if (second == -1)
+					continue;
+				try {
+					long duration= Long.parseLong(line.substring(0, first));
+					boolean failed= "1".equals(line.substring(first + 1, second)); //$NON-NLS-1$
+					history.add(line.substring(second + 1), duration, failed);
+				} catch (NumberFormatException e) {
+					// skip malformed line
+				}
+			}
+		} finally {
+			br.close();
+		}
+		return history;
+	}
+
+	/**
+	 * Records the duration and outcome of a test.
+	 *
+	 * @param testName the test name
+	 * @param duration the duration in milliseconds
+	 * @param failed whether the test failed or had an error
+	 */
+	public void add(String testName, long duration, boolean failed) {
+		fDurations.put(testName, new Long(duration));
+		if (failed)
+			fFailures.add(testName);
+	}
+
+	/**
+	 * @param testName the test name
+	 * @return <code>true</code> if the test was part of the previous test run
+	 */
+	public boolean isKnown(String testName) {
+		return fDurations.containsKey(testName);
+	}
+
+	/**
+	 * @param testName the test name
+	 * @return the duration in milliseconds, or 0 if the test is not known
+	 */
+	public long getDuration(String testName) {
+		Long duration= (Long) fDurations.get(testName);
+		return duration != null ? duration.longValue() : 0;
+	}
+
+	/**
+	 * @param testName the test name
+	 * @return <code>true</code> if the test failed or had an error in the previous test run
+	 */
+	public boolean hasFailed(String testName) {
+		return fFailures.contains(testName);
+	}
+
+	/**
+	 * Compares two tests by priority: tests that failed come first, then shorter tests.
+	 *
+	 * @param failed1 whether the first test failed
+	 * @param duration1 the duration of the first test
+	 * @param failed2 whether the second test failed
+	 * @param duration2 the duration of the second test
+	 * @return a negative number if the first test should run first, a positive number if the
+	 *         second test should run first, 0 otherwise
+	 */
+	public static int compare(boolean failed1, long duration1, boolean failed2, long duration2) {
+		if (failed1 != failed2)
+			return failed1 ? -1 : 1;
+		if (duration1 != duration2)
+			return duration1 < duration2 ? -1 : 1;
+		return 0;
+	}
+
+	/**
+	 * Sorts test classes by priority. The order of classes with the same priority is kept.
+	 *
+	 * @param testClasses the test classes to sort, may contain <code>null</code>
+	 */
+	public void sort(Class[] testClasses) {
+		Arrays.sort(testClasses, new Comparator() {
+			public int compare(Object o1, Object o2) {
+				String name1= o1 != null ? ((Class) o1).getName() : null;
+				String name2= o2 != null ? ((Class) o2).getName() : null;
+				return TestHistory.compare(hasFailed(name1), getDuration(name1), hasFailed(name2), getDuration(name2));
+			}
+		});
+	}
+}
@@ -134,6 +134,11 @@ public final class JUnitMessages extends NLS {
 	public static String JUnitLaunchConfigurationTab_label_containerTest;
 
 	public static String JUnitLaunchConfigurationTab_label_keeprunning;
+	public static String JUnitLaunchConfigurationTab_label_prioritize_by_history;
+
+	public static String JUnitLaunchConfigurationTab_label_affected_tests_only;
+
+	public static String JUnitLaunchConfigurationTab_label_shard_count;
 
 	public static String JUnitLaunchConfigurationTab_label_method;
 
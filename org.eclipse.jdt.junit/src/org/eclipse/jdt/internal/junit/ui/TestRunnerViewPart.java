@@ -164,6 +164,11 @@ public class TestRunnerViewPart extends ViewPart {
 	private static final String RERUN_FAILED_FIRST_COMMAND= "org.eclipse.jdt.junit.junitShortcut.rerunFailedFirst"; //$NON-NLS-1$
 
 	static final int REFRESH_INTERVAL= 200;
+	/**
+	 * Upper bound for the refresh interval. The interval grows when updating the view takes long,
+	 * such that the UI thread spends at most a fifth of its time with updates of the view.
+	 */
+	static final int MAX_REFRESH_INTERVAL= 2000;
 
 	static final int LAYOUT_FLAT= 0;
 	static final int LAYOUT_HIERARCHICAL= 1;
@@ -852,10 +857,13 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
+			long interval= REFRESH_INTERVAL;
 			if (!isDisposed()) {
+				long start= System.currentTimeMillis();
 				processChangesInUI();
+				interval= Math.min(MAX_REFRESH_INTERVAL, Math.max(REFRESH_INTERVAL, 4 * (System.currentTimeMillis() - start)));
 			}
-			schedule(REFRESH_INTERVAL);
+			schedule(interval);
 			return Status.OK_STATUS;
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,44 +12,111 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.jdt.junit.model.ITestElement;
 
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.IIndexableLazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
 
 import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElementFilter;
 import org.eclipse.jdt.internal.junit.model.TestRoot;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 
-public class TestSessionTableContentProvider implements IStructuredContentProvider {
+/**
+ * Lazy content provider for the flat layout. The provider keeps a snapshot of the flattened
+ * test elements that is only recomputed when tests are added or the filter changes, see
+ * {@link #refreshElements()}. Table items only get their data when they become visible.
+ */
+public class TestSessionTableContentProvider implements IIndexableLazyContentProvider {
+
+	private static final TestElement[] NO_ELEMENTS= new TestElement[0];
+
+	private final TableViewer fViewer;
+	private TestElementFilter fFilter;
+	private TestRoot fRoot;
+
+	private TestElement[] fElements= NO_ELEMENTS;
+	private Map<TestElement, Integer> fIndices= new HashMap<>();
+
+	public TestSessionTableContentProvider(TableViewer viewer) {
+		fViewer= viewer;
+	}
+
+	/**
+	 * @param filter the filter to apply, or <code>null</code> to show all test elements
+	 */
+	public void setFilter(TestElementFilter filter) {
+		fFilter= filter;
+	}
+
+	public TestElementFilter getFilter() {
+		return fFilter;
+	}
 
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		fRoot= (TestRoot) newInput;
+		fElements= NO_ELEMENTS;
+		fIndices= new HashMap<>();
 	}
 
-	@Override
-	public Object[] getElements(Object inputElement) {
-		ArrayList<ITestElement> all= new ArrayList<>();
-		addAll(all, (TestRoot) inputElement);
-		return all.toArray();
+	/**
+	 * Recomputes the flattened list of test elements from the current input.
+	 *
+	 * @return the number of elements to show
+	 */
+	public int refreshElements() {
+		ArrayList<TestElement> all= new ArrayList<>();
+		if (fRoot != null)
+			addAll(all, fRoot);
+		fElements= all.toArray(new TestElement[all.size()]);
+		fIndices= new HashMap<>(fElements.length * 4 / 3 + 1);
+		for (int i= 0; i < fElements.length; i++) {
+			fIndices.put(fElements[i], Integer.valueOf(i));
+		}
+		return fElements.length;
 	}
 
-	private void addAll(ArrayList<ITestElement> all, TestSuiteElement suite) {
+	private void addAll(ArrayList<TestElement> all, TestSuiteElement suite) {
 		ITestElement[] children= suite.getChildren();
 		for (ITestElement element : children) {
 			if (element instanceof TestSuiteElement) {
-				if (((TestSuiteElement) element).getSuiteStatus().isErrorOrFailure())
-					all.add(element); // add failed suite to flat list too
-				addAll(all, (TestSuiteElement) element);
+				TestSuiteElement childSuite= (TestSuiteElement) element;
+				if (childSuite.getSuiteStatus().isErrorOrFailure() && isSelected(childSuite))
+					all.add(childSuite); // add failed suite to flat list too
+				addAll(all, childSuite);
 			} else if (element instanceof TestCaseElement) {
-				all.add(element);
+				if (isSelected((TestCaseElement) element))
+					all.add((TestCaseElement) element);
 			}
 		}
 	}
 
+	private boolean isSelected(TestElement element) {
+		return fFilter == null || fFilter.select(element);
+	}
+
+	@Override
+	public void updateElement(int index) {
+		if (index < fElements.length)
+			fViewer.replace(fElements[index], index);
+	}
+
+	@Override
+	public int findElement(Object element) {
+		Integer index= fIndices.get(element);
+		return index != null ? index.intValue() : -1;
+	}
+
 	@Override
 	public void dispose() {
+		fElements= NO_ELEMENTS;
+		fIndices= new HashMap<>();
 	}
 }
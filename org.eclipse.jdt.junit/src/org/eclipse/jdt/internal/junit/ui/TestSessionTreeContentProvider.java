@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,49 +11,129 @@
 
 package org.eclipse.jdt.internal.junit.ui;
 
-import org.eclipse.jface.viewers.ITreeContentProvider;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 
 import org.eclipse.jdt.internal.junit.model.TestElement;
-import org.eclipse.jdt.internal.junit.model.TestRoot;
+import org.eclipse.jdt.internal.junit.model.TestElementFilter;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 
-public class TestSessionTreeContentProvider implements ITreeContentProvider {
+/**
+ * Lazy content provider for the hierarchical layout. Tree items are only created for the
+ * children of expanded suites, and only get their data when they become visible.
+ */
+public class TestSessionTreeContentProvider implements ILazyTreeContentProvider {
+
+	private static final Object[] NO_CHILDREN= new Object[0];
+
+	private final TreeViewer fViewer;
+	private TestElementFilter fFilter;
+
+	/*
+	 * The children of the suite that was asked for last. The viewer asks for the children of a
+	 * suite one by one, so this avoids copying (and filtering) the children list for each child.
+	 */
+	private TestSuiteElement fCachedParent;
+	private Object[] fCachedChildren;
+
+	/*
+	 * While a filter is set, the filtered children that have been computed for each suite, such
+	 * that a status change only needs to refresh the suites whose filtered children changed.
+	 */
+	private final Map<TestSuiteElement, Object[]> fFilteredChildren= new HashMap<>();
+
+	public TestSessionTreeContentProvider(TreeViewer viewer) {
+		fViewer= viewer;
+	}
+
+	/**
+	 * @param filter the filter to apply, or <code>null</code> to show all test elements
+	 */
+	public void setFilter(TestElementFilter filter) {
+		fFilter= filter;
+		fFilteredChildren.clear();
+		clearCache();
+	}
+
+	public TestElementFilter getFilter() {
+		return fFilter;
+	}
+
+	/**
+	 * Forgets cached children. To be called before the viewer is updated after the test run
+	 * session has changed.
+	 */
+	public void clearCache() {
+		fCachedParent= null;
+		fCachedChildren= null;
+	}
 
-	private final Object[] NO_CHILDREN= new Object[0];
+	/**
+	 * Tells whether the filtered children of the given suite differ from the ones that have been
+	 * computed for the viewer. Only applicable while a filter is set.
+	 *
+	 * @param suite the test suite
+	 * @return <code>true</code> if the viewer shows outdated children of the suite
+	 */
+	public boolean hasFilteredChildrenChanged(TestSuiteElement suite) {
+		Object[] filteredChildren= fFilteredChildren.get(suite);
+		return filteredChildren != null && !Arrays.equals(filteredChildren, fFilter.getChildren(suite));
+	}
 
 	@Override
 	public void dispose() {
+		fFilteredChildren.clear();
+		clearCache();
 	}
 
-	@Override
 	public Object[] getChildren(Object parentElement) {
-		if (parentElement instanceof TestSuiteElement)
-			return ((TestSuiteElement) parentElement).getChildren();
-		else
+		if (!(parentElement instanceof TestSuiteElement))
 			return NO_CHILDREN;
+
+		TestSuiteElement suite= (TestSuiteElement) parentElement;
+		if (suite != fCachedParent) {
+			if (fFilter == null) {
+				fCachedChildren= suite.getChildren();
+			} else {
+				fCachedChildren= fFilter.getChildren(suite);
+				fFilteredChildren.put(suite, fCachedChildren);
+			}
+			fCachedParent= suite;
+		}
+		return fCachedChildren;
 	}
 
 	@Override
-	public Object[] getElements(Object inputElement) {
-		return ((TestRoot) inputElement).getChildren();
+	public void updateElement(Object parent, int index) {
+		Object[] children= getChildren(parent);
+		if (index < children.length) {
+			Object child= children[index];
+			fViewer.replace(parent, index, child);
+			fViewer.setChildCount(child, getChildren(child).length);
+		}
 	}
 
 	@Override
-	public Object getParent(Object element) {
-		return ((TestElement) element).getParent();
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count= getChildren(element).length;
+		if (count != currentChildCount)
+			fViewer.setChildCount(element, count);
 	}
 
 	@Override
-	public boolean hasChildren(Object element) {
-		if (element instanceof TestSuiteElement)
-			return ((TestSuiteElement) element).getChildren().length != 0;
-		else
-			return false;
+	public Object getParent(Object element) {
+		return ((TestElement) element).getParent();
 	}
 
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		fFilteredChildren.clear();
+		clearCache();
 	}
 }
@@ -16,6 +16,7 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -25,7 +26,6 @@ import java.util.ListIterator;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.junit.model.ITestElement;
-import org.eclipse.jdt.junit.model.ITestElement.Result;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.Clipboard;
@@ -34,7 +34,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Menu;
-import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Table;
 
 import org.eclipse.core.runtime.CoreException;
 
@@ -51,8 +51,6 @@ import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TreeViewer;
-import org.eclipse.jface.viewers.Viewer;
-import org.eclipse.jface.viewers.ViewerFilter;
 
 import org.eclipse.ui.IWorkbenchActionConstants;
 import org.eclipse.ui.part.PageBook;
@@ -68,7 +66,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.junit.launcher.ITestFinder;
 import org.eclipse.jdt.internal.junit.model.TestCaseElement;
 import org.eclipse.jdt.internal.junit.model.TestElement;
-import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestElementFilter;
 import org.eclipse.jdt.internal.junit.model.TestRoot;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
@@ -94,60 +92,6 @@ public class TestViewer {
 		}
 	}
 
-	private final class FailuresOnlyFilter extends ViewerFilter {
-		@Override
-		public boolean select(Viewer viewer, Object parentElement, Object element) {
-			return select(((TestElement) element));
-		}
-
-		public boolean select(TestElement testElement) {
-			Status status= testElement.getStatus();
-			if (status.isErrorOrFailure())
-				return true;
-			else
-				return ! fTestRunSession.isRunning() && status == Status.RUNNING;  // rerunning
-		}
-	}
-	
-	private final class IgnoredOnlyFilter extends ViewerFilter {
-		@Override
-		public boolean select(Viewer viewer, Object parentElement, Object element) {
-			return select(((TestElement) element));
-		}
-		
-		public boolean select(TestElement testElement) {
-			if (hasIgnoredInTestResult(testElement))
-				return true;
-			else
-				return !fTestRunSession.isRunning() && testElement.getStatus() == Status.RUNNING; // rerunning
-		}
-
-		/**
-		 * Checks whether a test was skipped i.e. it was ignored (<code>@Ignored</code>) or had any
-		 * assumption failure.
-		 * 
-		 * @param testElement the test element (a test suite or a single test case)
-		 * 
-		 * @return <code>true</code> if the test element or any of its children has
-		 *         {@link Result#IGNORED} test result
-		 */
-		private boolean hasIgnoredInTestResult(TestElement testElement) {
-			if (testElement instanceof TestSuiteElement) {
-				ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
-				for (ITestElement child : children) {
-					boolean hasIgnoredTestResult= hasIgnoredInTestResult((TestElement) child);
-					if (hasIgnoredTestResult) {
-						return true;
-					}
-				}
-				return false;
-			}
-
-			return testElement.getTestResult(false) == Result.IGNORED;
-		}
-	}
-
-
 	private static class ReverseList<E> extends AbstractList<E> {
 		private final List<E> fList;
 		public ReverseList(List<E> list) {
@@ -175,9 +119,6 @@ public class TestViewer {
 		}
 	}
 
-	private final FailuresOnlyFilter fFailuresOnlyFilter= new FailuresOnlyFilter();
-	private final IgnoredOnlyFilter fIgnoredOnlyFilter= new IgnoredOnlyFilter();
-
 	private final TestRunnerViewPart fTestRunnerPart;
 	private final Clipboard fClipboard;
 
@@ -191,14 +132,13 @@ public class TestViewer {
 	private SelectionProviderMediator fSelectionProvider;
 
 	private int fLayoutMode;
-	private boolean fTreeHasFilter;
-	private boolean fTableHasFilter;
 
 	private TestRunSession fTestRunSession;
 
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
 	private HashSet<TestElement> fNeedUpdate;
+	private HashSet<TestElement> fNeedAdd;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -221,16 +161,16 @@ public class TestViewer {
 	private void createTestViewers(Composite parent) {
 		fViewerbook= new PageBook(parent, SWT.NULL);
 
-		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE);
+		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTreeViewer.setUseHashlookup(true);
-		fTreeContentProvider= new TestSessionTreeContentProvider();
+		fTreeContentProvider= new TestSessionTreeContentProvider(fTreeViewer);
 		fTreeViewer.setContentProvider(fTreeContentProvider);
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTableViewer.setUseHashlookup(true);
-		fTableContentProvider= new TestSessionTableContentProvider();
+		fTableContentProvider= new TestSessionTableContentProvider(fTableViewer);
 		fTableViewer.setContentProvider(fTableContentProvider);
 		fTableLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_FLAT);
 		fTableViewer.setLabelProvider(new ColoringLabelProvider(fTableLabelProvider));
@@ -498,42 +438,27 @@ public class TestViewer {
 				selection= (IStructuredSelection) fSelectionProvider.getSelection();
 				if (layoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL) {
 					if (fTreeNeedsRefresh) {
-						clearUpdateAndExpansion();
+						registerViewersRefresh();
 					}
 				} else {
 					if (fTableNeedsRefresh) {
-						clearUpdateAndExpansion();
+						registerViewersRefresh();
 					}
 				}
 				fLayoutMode= layoutMode;
 				fViewerbook.showPage(getActiveViewer().getControl());
 			}
-			//avoid realizing all TableItems, especially in flat mode!
-			StructuredViewer viewer= getActiveViewer();
-			if (failuresOnly || ignoredOnly) {
-				if (getActiveViewerHasFilter()) {
-					//For simplicity clear both filters (only one of them is used)
-					viewer.removeFilter(fFailuresOnlyFilter);
-					viewer.removeFilter(fIgnoredOnlyFilter);
-				}
-				setActiveViewerHasFilter(true);
-				viewer.setInput(null);
-				//Set either the failures or the skipped tests filter
-				ViewerFilter filter= fFailuresOnlyFilter;
-				if (ignoredOnly == true) {
-					filter= fIgnoredOnlyFilter;
-				}
-				viewer.addFilter(filter);
+			//filter in the model, such that filtered elements never get an item
+			TestElementFilter filter= null;
+			if (ignoredOnly) {
+				filter= TestElementFilter.IGNORED;
+			} else if (failuresOnly) {
+				filter= TestElementFilter.FAILURES;
+			}
+			if (filter != null || getActiveViewerFilter() != null) {
+				setActiveViewerFilter(filter);
+				getActiveViewer().setInput(null);
 				setActiveViewerNeedsRefresh(true);
-
-			} else {
-				if (getActiveViewerHasFilter()) {
-					setActiveViewerNeedsRefresh(true);
-					setActiveViewerHasFilter(false);
-					viewer.setInput(null);
-					viewer.removeFilter(fIgnoredOnlyFilter);
-					viewer.removeFilter(fFailuresOnlyFilter);
-				}
 			}
 			processChangesInUI();
 
@@ -549,18 +474,18 @@ public class TestViewer {
 		}
 	}
 
-	private boolean getActiveViewerHasFilter() {
+	private TestElementFilter getActiveViewerFilter() {
 		if (fLayoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL)
-			return fTreeHasFilter;
+			return fTreeContentProvider.getFilter();
 		else
-			return fTableHasFilter;
+			return fTableContentProvider.getFilter();
 	}
 
-	private void setActiveViewerHasFilter(boolean filter) {
+	private void setActiveViewerFilter(TestElementFilter filter) {
 		if (fLayoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL)
-			fTreeHasFilter= filter;
+			fTreeContentProvider.setFilter(filter);
 		else
-			fTableHasFilter= filter;
+			fTableContentProvider.setFilter(filter);
 	}
 
 	private StructuredViewer getActiveViewer() {
@@ -595,106 +520,146 @@ public class TestViewer {
 			fTableNeedsRefresh= false;
 			fTreeViewer.setInput(null);
 			fTableViewer.setInput(null);
+			fTableViewer.setItemCount(0);
 			return;
 		}
 
 		testRoot= fTestRunSession.getTestRoot();
 
-		StructuredViewer viewer= getActiveViewer();
 		if (getActiveViewerNeedsRefresh()) {
 			clearUpdateAndExpansion();
+			// pending changes have been dropped, so the other viewer must be refreshed as well:
+			fTreeNeedsRefresh= true;
+			fTableNeedsRefresh= true;
 			setActiveViewerNeedsRefresh(false);
-			viewer.setInput(testRoot);
+			if (fLayoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL) {
+				fTreeViewer.setInput(testRoot);
+			} else {
+				fTableViewer.setInput(testRoot);
+				fTableViewer.setItemCount(fTableContentProvider.refreshElements());
+			}
 
 		} else {
-			Object[] toUpdate;
+			TestElement[] toUpdate;
+			TestElement[] toAdd;
 			synchronized (this) {
-				toUpdate= fNeedUpdate.toArray();
+				toUpdate= fNeedUpdate.toArray(new TestElement[fNeedUpdate.size()]);
 				fNeedUpdate.clear();
+				toAdd= fNeedAdd.toArray(new TestElement[fNeedAdd.size()]);
+				fNeedAdd.clear();
 			}
-			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
-				if (fTreeHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTree((TestElement) element);
-				else {
-					HashSet<Object> toUpdateWithParents= new HashSet<>();
-					toUpdateWithParents.addAll(Arrays.asList(toUpdate));
-					for (Object element : toUpdate) {
-						TestElement parent= ((TestElement) element).getParent();
-						while (parent != null) {
-							toUpdateWithParents.add(parent);
-							parent= parent.getParent();
-						}
-					}
-					fTreeViewer.update(toUpdateWithParents.toArray(), null);
-				}
-			}
-			if (! fTableNeedsRefresh && toUpdate.length > 0) {
-				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
-				else
-					fTableViewer.update(toUpdate, null);
-			}
+			if (! fTreeNeedsRefresh)
+				updateTree(toUpdate, toAdd);
+			if (! fTableNeedsRefresh)
+				updateTable(toUpdate, toAdd);
 		}
 		autoScrollInUI();
 	}
 
-	private void updateElementInTree(final TestElement testElement) {
-		if (isShown(testElement)) {
-			updateShownElementInTree(testElement);
-		} else {
-			TestElement current= testElement;
-			do {
-				if (fTreeViewer.testFindItem(current) != null)
-					fTreeViewer.remove(current);
-				current= current.getParent();
-			} while (! (current instanceof TestRoot) && ! isShown(current));
-
-			while (current != null && ! (current instanceof TestRoot)) {
-				fTreeViewer.update(current, null);
-				current= current.getParent();
+	private void updateTree(TestElement[] toUpdate, TestElement[] toAdd) {
+		fTreeContentProvider.clearCache();
+		if (fTreeContentProvider.getFilter() != null) {
+			if (toUpdate.length > 0)
+				updateFilteredTree(toUpdate);
+			return;
+		}
+
+		if (toAdd.length > 0) {
+			LinkedHashSet<TestSuiteElement> parents= new LinkedHashSet<>();
+			for (TestElement element : toAdd) {
+				parents.add(element.getParent());
+			}
+			for (TestSuiteElement parent : parents) {
+				fTreeViewer.setChildCount(parent, parent.getChildren().length);
+			}
+		}
+		if (toUpdate.length > 0) {
+			HashSet<Object> toUpdateWithParents= new HashSet<>();
+			toUpdateWithParents.addAll(Arrays.asList(toUpdate));
+			for (TestElement element : toUpdate) {
+				TestElement parent= element.getParent();
+				while (parent != null) {
+					toUpdateWithParents.add(parent);
+					parent= parent.getParent();
+				}
 			}
+			fTreeViewer.update(toUpdateWithParents.toArray(), null);
 		}
 	}
 
-	private void updateShownElementInTree(TestElement testElement) {
-		if (testElement == null || testElement instanceof TestRoot) // paranoia null check
-			return;
-
-		TestSuiteElement parent= testElement.getParent();
-		updateShownElementInTree(parent); // make sure parent is shown and up-to-date
+	/*
+	 * Only the elements of interest are in the tree, and a status change can show or hide them and
+	 * their parents. Only the topmost suites whose filtered children changed are refreshed; the
+	 * other changed elements just get their labels updated.
+	 */
+	private void updateFilteredTree(TestElement[] toUpdate) {
+		LinkedHashSet<TestElement> toUpdateWithParents= new LinkedHashSet<>();
+		for (TestElement element : toUpdate) {
+			// parents first, such that a refreshed suite is found before its descendants
+			LinkedList<TestElement> path= new LinkedList<>();
+			for (TestElement current= element; current != null; current= current.getParent()) {
+				path.addFirst(current);
+			}
+			toUpdateWithParents.addAll(path);
+		}
+
+		HashSet<TestSuiteElement> refreshed= new HashSet<>();
+		List<TestElement> toUpdateLabels= new ArrayList<>();
+		for (TestElement element : toUpdateWithParents) {
+			if (isInRefreshedSuite(element, refreshed))
+				continue;
+			if (element instanceof TestSuiteElement && fTreeContentProvider.hasFilteredChildrenChanged((TestSuiteElement) element)) {
+				// refreshing a virtual tree only clears the items, data is requested again for the visible items
+				fTreeViewer.refresh(element);
+				refreshed.add((TestSuiteElement) element);
+			} else {
+				toUpdateLabels.add(element);
+			}
+		}
+		if (!toUpdateLabels.isEmpty())
+			fTreeViewer.update(toUpdateLabels.toArray(), null);
+	}
 
-		if (fTreeViewer.testFindItem(testElement) == null) {
-			fTreeViewer.add(parent, testElement); // if not yet in tree: add
-		} else {
-			fTreeViewer.update(testElement, null); // if in tree: update
+	private static boolean isInRefreshedSuite(TestElement element, HashSet<TestSuiteElement> refreshed) {
+		for (TestSuiteElement parent= element.getParent(); parent != null; parent= parent.getParent()) {
+			if (refreshed.contains(parent))
+				return true;
 		}
+		return false;
 	}
 
-	private void updateElementInTable(TestElement element) {
-		if (isShown(element)) {
-			if (fTableViewer.testFindItem(element) == null) {
-				TestElement previous= getNextFailure(element, false);
-				int insertionIndex= -1;
-				if (previous != null) {
-					TableItem item= (TableItem) fTableViewer.testFindItem(previous);
-					if (item != null)
-						insertionIndex= fTableViewer.getTable().indexOf(item);
+	private void updateTable(TestElement[] toUpdate, TestElement[] toAdd) {
+		if (toAdd.length > 0 || fTableContentProvider.getFilter() != null && toUpdate.length > 0) {
+			// the flattened list changed; clearing a virtual table only requests the data of the
+			// visible items again
+			fTableViewer.setItemCount(fTableContentProvider.refreshElements());
+			fTableViewer.refresh();
+			return;
+		}
+
+		if (toUpdate.length > 0) {
+			int[] indices= new int[toUpdate.length];
+			int count= 0;
+			for (TestElement element : toUpdate) {
+				int index= fTableContentProvider.findElement(element);
+				if (index != -1)
+					indices[count++]= index;
+			}
+			Arrays.sort(indices, 0, count);
+			// clear coalesced ranges of dirty items
+			Table table= fTableViewer.getTable();
+			int i= 0;
+			while (i < count) {
+				int start= indices[i];
+				int end= start;
+				while (++i < count && indices[i] <= end + 1) {
+					end= indices[i];
 				}
-				fTableViewer.insert(element, insertionIndex);
-			} else  {
-				fTableViewer.update(element, null);
+				table.clear(start, end);
 			}
-		} else {
-			fTableViewer.remove(element);
 		}
 	}
 
-	private boolean isShown(TestElement current) {
-		return fFailuresOnlyFilter.select(current);
-	}
-
 	private void autoScrollInUI() {
 		if (! fTestRunnerPart.isAutoScroll()) {
 			clearAutoExpand();
@@ -703,8 +668,13 @@ public class TestViewer {
 		}
 
 		if (fLayoutMode == TestRunnerViewPart.LAYOUT_FLAT) {
-			if (fAutoScrollTarget != null)
-				fTableViewer.reveal(fAutoScrollTarget);
+			if (fAutoScrollTarget != null) {
+				int index= fTableContentProvider.findElement(fAutoScrollTarget);
+				if (index != -1) {
+					Table table= fTableViewer.getTable();
+					table.showItem(table.getItem(index));
+				}
+			}
 			return;
 		}
 
@@ -828,6 +798,7 @@ public class TestViewer {
 
 	private void clearUpdateAndExpansion() {
 		fNeedUpdate= new LinkedHashSet<>();
+		fNeedAdd= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -836,9 +807,7 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
-		fTableNeedsRefresh= true;
+		fNeedAdd.add(testElement);
 	}
 
 	public synchronized void registerViewerUpdate(final TestElement testElement) {
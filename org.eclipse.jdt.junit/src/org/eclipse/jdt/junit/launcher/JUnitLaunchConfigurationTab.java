@@ -32,6 +32,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 
 import org.eclipse.core.runtime.CoreException;
@@ -135,11 +136,16 @@ import org.eclipse.jdt.internal.ui.wizards.TypedViewerFilter;
  */
 public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab {
 
+	private static final int MAX_SHARD_COUNT= 32;
+
 	// Project UI widgets
 	private Label fProjLabel;
 	private Text fProjText;
 	private Button fProjButton;
 	private Button fKeepRunning;
+	private Button fPrioritizeByHistory;
+	private Button fAffectedTestsOnly;
+	private Spinner fShardCount;
 
 	// Test class UI widgets
 	private Text fTestText;
@@ -199,6 +205,9 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		createSpacer(comp);
 
 		createKeepAliveGroup(comp);
+		createPrioritizeGroup(comp);
+		createAffectedTestsGroup(comp);
+		createShardGroup(comp);
 		Dialog.applyDialogFont(comp);
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(getControl(), IJUnitHelpContextIds.LAUNCH_CONFIGURATION_DIALOG_JUNIT_MAIN_TAB);
 		validatePage();
@@ -458,6 +467,60 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setLayoutData(gd);
 	}
 
+	private void createPrioritizeGroup(Composite comp) {
+		fPrioritizeByHistory= new Button(comp, SWT.CHECK);
+		fPrioritizeByHistory.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+		});
+		fPrioritizeByHistory.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_prioritize_by_history);
+		GridData gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 2;
+		fPrioritizeByHistory.setLayoutData(gd);
+	}
+
+	private void createAffectedTestsGroup(Composite comp) {
+		fAffectedTestsOnly= new Button(comp, SWT.CHECK);
+		fAffectedTestsOnly.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+		});
+		fAffectedTestsOnly.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_affected_tests_only);
+		GridData gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 2;
+		fAffectedTestsOnly.setLayoutData(gd);
+	}
+
+	private void createShardGroup(Composite comp) {
+		Composite shardComp= new Composite(comp, SWT.NONE);
+		GridLayout layout= new GridLayout(2, false);
+		layout.marginWidth= 0;
+		layout.marginHeight= 0;
+		shardComp.setLayout(layout);
+		GridData gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 3;
+		shardComp.setLayoutData(gd);
+
+		Label label= new Label(shardComp, SWT.NONE);
+		label.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_shard_count);
+		fShardCount= new Spinner(shardComp, SWT.BORDER);
+		fShardCount.setMinimum(1);
+		fShardCount.setMaximum(MAX_SHARD_COUNT);
+		fShardCount.addModifyListener(new ModifyListener() {
+			@Override
+			public void modifyText(ModifyEvent evt) {
+				updateLaunchConfigurationDialog();
+			}
+		});
+	}
+
 	private static Image createImage(String path) {
 		return JUnitPlugin.getImageDescriptor(path).createImage();
 	}
@@ -478,6 +541,9 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		else
 			updateTestTypeFromConfig(config);
 		updateKeepRunning(config);
+		updatePrioritizeByHistory(config);
+		updateAffectedTestsOnly(config);
+		updateShardCount(config);
 		updateTestLoaderFromConfig(config);
 
 		validatePage();
@@ -505,6 +571,33 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setSelection(running);
 	}
 
+	private void updatePrioritizeByHistory(ILaunchConfiguration config) {
+		boolean prioritize= false;
+		try {
+			prioritize= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE_BY_HISTORY, false);
+		} catch (CoreException ce) {
+		}
+		fPrioritizeByHistory.setSelection(prioritize);
+	}
+
+	private void updateAffectedTestsOnly(ILaunchConfiguration config) {
+		boolean affectedOnly= false;
+		try {
+			affectedOnly= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_AFFECTED_TESTS_ONLY, false);
+		} catch (CoreException ce) {
+		}
+		fAffectedTestsOnly.setSelection(affectedOnly);
+	}
+
+	private void updateShardCount(ILaunchConfiguration config) {
+		int shardCount= 1;
+		try {
+			shardCount= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_COUNT, 1);
+		} catch (CoreException ce) {
+		}
+		fShardCount.setSelection(shardCount);
+	}
+
 	private void updateProjectFromConfig(ILaunchConfiguration config) {
 		String projectName= ""; //$NON-NLS-1$
 		try {
@@ -567,6 +660,9 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, fTestMethodText.getText());
 		}
 		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, fKeepRunning.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE_BY_HISTORY, fPrioritizeByHistory.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_AFFECTED_TESTS_ONLY, fAffectedTestsOnly.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARD_COUNT, fShardCount.getSelection());
 		try {
 			mapResources(config);
 		} catch (CoreException e) {
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit4.runner;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.runner.Description;
+
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
+
+/**
+ * Comparator for descriptions to sort according to the previous test run: descriptions that
+ * failed come first, followed by the others in order of increasing duration. A description
+ * counts as failed if it or one of its transitive children failed; the duration of a
+ * description that is not in the history is the sum of the durations of its children.
+ */
+public class HistorySorter implements Comparator<Description> {
+
+	private static class Priority {
+		boolean fFailed;
+		long fDuration;
+	}
+
+	private final TestHistory fHistory;
+	private final Map<Description, Priority> fPriorities= new HashMap<Description, Priority>();
+
+	/**
+	 * Creates a sorter.
+	 *
+	 * @param history durations and failures of the previous test run
+	 */
+	public HistorySorter(TestHistory history) {
+		fHistory= history;
+	}
+
+	public int compare(Description d1, Description d2) {
+		Priority p1= getPriority(d1);
+		Priority p2= getPriority(d2);
+		return TestHistory.compare(p1.fFailed, p1.fDuration, p2.fFailed, p2.fDuration);
+	}
+
+	private Priority getPriority(Description d) {
+		Priority priority= fPriorities.get(d);
+		if (priority != null)
+			return priority;
+
+		priority= new Priority();
+		String name= d.getDisplayName();
+		if (fHistory.isKnown(name)) {
+			priority.fDuration= fHistory.getDuration(name);
+			priority.fFailed= fHistory.hasFailed(name);
+		}
+		for (Description child : d.getChildren()) {
+			Priority childPriority= getPriority(child);
+			priority.fFailed|= childPriority.fFailed;
+			if (!fHistory.isKnown(name))
+				priority.fDuration+= childPriority.fDuration;
+		}
+		fPriorities.put(d, priority);
+		return priority;
+	}
+}
@@ -25,6 +25,7 @@ import org.junit.runner.Runner;
 import org.eclipse.jdt.internal.junit.runner.ITestLoader;
 import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestReference;
 
@@ -35,6 +36,7 @@ public class JUnit4TestLoader implements ITestLoader {
 			Class[] testClasses,
 			String testName,
 			String[] failureNames,
+			TestHistory testHistory,
 			String[] packages,
 			String[][] includeExcludeTags,
 			String uniqueId,
@@ -43,7 +45,7 @@ public class JUnit4TestLoader implements ITestLoader {
 		ITestReference[] refs= new ITestReference[testClasses.length];
 		for (int i= 0; i < testClasses.length; i++) {
 			Class<?> clazz= testClasses[i];
-			ITestReference ref= createTest(clazz, testName, failureNames, listener);
+			ITestReference ref= createTest(clazz, testName, failureNames, testHistory, listener);
 			refs[i]= ref;
 		}
 		return refs;
@@ -59,7 +61,7 @@ public class JUnit4TestLoader implements ITestLoader {
 		}
 	}
 
-	private ITestReference createTest(Class<?> clazz, String testName, String[] failureNames, RemoteTestRunner listener) {
+	private ITestReference createTest(Class<?> clazz, String testName, String[] failureNames, TestHistory testHistory, RemoteTestRunner listener) {
 		if (clazz == null)
 			return null;
 		if (testName != null && isJUnit3SetUpTest(clazz, testName)) {
@@ -68,22 +70,22 @@ public class JUnit4TestLoader implements ITestLoader {
 			return new JUnit3TestReference(test);
 		}
 		if (testName != null) {
-			return createFilteredTest(clazz, testName, failureNames);
+			return createFilteredTest(clazz, testName, failureNames, testHistory);
 		}
-		return createUnfilteredTest(clazz, failureNames);
+		return createUnfilteredTest(clazz, failureNames, testHistory);
 	}
 
-	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames) {
+	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames, TestHistory testHistory) {
 		DescriptionMatcher matcher= DescriptionMatcher.create(clazz, testName);
 		SubForestFilter filter= new SubForestFilter(matcher);
-		Request request= sortByFailures(Request.classWithoutSuiteMethod(clazz).filterWith(filter), failureNames);
+		Request request= sortByFailures(sortByHistory(Request.classWithoutSuiteMethod(clazz).filterWith(filter), testHistory), failureNames);
 		Runner runner= request.getRunner();
 		Description description= getRootDescription(runner, matcher);
 		return new JUnit4TestReference(runner, description);
 	}
 
-	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames) {
-		Request request= sortByFailures(Request.aClass(clazz), failureNames);
+	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames, TestHistory testHistory) {
+		Request request= sortByFailures(sortByHistory(Request.aClass(clazz), testHistory), failureNames);
 		Runner runner= request.getRunner();
 		Description description= runner.getDescription();
 		return new JUnit4TestReference(runner, description);
@@ -96,6 +98,13 @@ public class JUnit4TestLoader implements ITestLoader {
 		return request;
 	}
 
+	private Request sortByHistory(Request request, TestHistory testHistory) {
+		if (testHistory != null) {
+			return request.sortWith(new HistorySorter(testHistory));
+		}
+		return request;
+	}
+
 	private boolean isJUnit3SetUpTest(Class<?> clazz, String testName) {
 		if (!Test.class.isAssignableFrom(clazz))
 			return false;
@@ -32,11 +32,16 @@ import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 import org.eclipse.jdt.internal.junit.runner.TestReferenceFailure;
 
+/**
+ * Forwards the execution events of the JUnit Platform to the test runner. The events may be
+ * reported concurrently from several threads when parallel execution is enabled (see
+ * <code>junit.jupiter.execution.parallel.enabled</code>), so this listener keeps no state per test.
+ */
 public class JUnit5TestListener implements TestExecutionListener {
 
 	private final IListensToTestExecutions fNotified;
 
-	private TestPlan fTestPlan;
+	private volatile TestPlan fTestPlan;
 
 	public JUnit5TestListener(IListensToTestExecutions notified) {
 		fNotified= notified;
@@ -25,13 +25,14 @@ import org.junit.platform.launcher.core.LauncherFactory;
 import org.eclipse.jdt.internal.junit.runner.ITestLoader;
 import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
 
 public class JUnit5TestLoader implements ITestLoader {
 
 	private Launcher fLauncher= LauncherFactory.create();
 
 	@Override
-	public ITestReference[] loadTests(Class[] testClasses, String testName, String[] failureNames, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener) {
+	public ITestReference[] loadTests(Class[] testClasses, String testName, String[] failureNames, TestHistory testHistory, String[] packages, String[][] includeExcludeTags, String uniqueId, RemoteTestRunner listener) {
 		ITestReference[] refs= new ITestReference[0];
 		if (uniqueId != null && !uniqueId.trim().isEmpty()) {
 			refs= new ITestReference[1];
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+import org.eclipse.jface.text.source.projection.ProjectionViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests that the folding structure, which is updated incrementally from the fine-grained deltas
+ * of the reconciler, is the same as the folding structure computed from scratch.
+ *
+ * @since 3.14
+ */
+public class FoldingTest extends TestCase {
+
+	private IJavaProject fJProject;
+	private ICompilationUnit fCompilationUnit;
+	private JavaEditor fEditor;
+	private SourceViewer fSourceViewer;
+	private IDocument fDocument;
+	private boolean fWasFoldingEnabled;
+
+	public static Test suite() {
+		return new TestSuite(FoldingTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fWasFoldingEnabled= EditorTestHelper.enableFolding(true);
+		fJProject= JavaProjectHelper.createJavaProject("FoldingTestProject", "bin");
+		JavaProjectHelper.addRTJar(fJProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", false, null);
+
+		StringBuffer buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("import java.util.List;\n");
+		buf.append("import java.util.Map;\n");
+		buf.append("\n");
+		buf.append("/**\n");
+		buf.append(" * Javadoc of A.\n");
+		buf.append(" */\n");
+		buf.append("public class A {\n");
+		buf.append("    /**\n");
+		buf.append("     * Javadoc of m1.\n");
+		buf.append("     */\n");
+		buf.append("    void m1(List<String> list) {\n");
+		buf.append("        list.clear();\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		buf.append("    /**\n");
+		buf.append("     * Javadoc of m2.\n");
+		buf.append("     */\n");
+		buf.append("    void m2(Map<String, String> map) {\n");
+		buf.append("        map.clear();\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		buf.append("    class Inner {\n");
+		buf.append("        void m3() {\n");
+		buf.append("            m1(null);\n");
+		buf.append("        }\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fCompilationUnit= pack.createCompilationUnit("A.java", buf.toString(), false, null);
+
+		openEditor();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		EditorTestHelper.closeAllEditors();
+		JavaProjectHelper.delete(fJProject);
+		EditorTestHelper.enableFolding(fWasFoldingEnabled);
+		fEditor= null;
+		fSourceViewer= null;
+		fDocument= null;
+		super.tearDown();
+	}
+
+	private void openEditor() throws Exception {
+		fEditor= (JavaEditor) EditorTestHelper.openInEditor((IFile) fCompilationUnit.getResource(), true);
+		fSourceViewer= EditorTestHelper.getSourceViewer(fEditor);
+		fDocument= EditorTestHelper.getDocument(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+	}
+
+	private ProjectionAnnotationModel getModel() {
+		return ((ProjectionViewer) fSourceViewer).getProjectionAnnotationModel();
+	}
+
+	private void replace(String search, String replacement) throws Exception {
+		int offset= fDocument.get().indexOf(search);
+		assertTrue(offset != -1);
+		fDocument.replace(offset, search.length(), replacement);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+	}
+
+	private void insertBefore(String search, String insertion) throws Exception {
+		replace(search, insertion + search);
+	}
+
+	/*
+	 * Returns the sorted folding regions as "<first line>-<last line>" strings.
+	 */
+	private List<String> getFoldingRegions() throws BadLocationException {
+		List<String> regions= new ArrayList<>();
+		ProjectionAnnotationModel model= getModel();
+		for (Iterator<Annotation> iter= model.getAnnotationIterator(); iter.hasNext();) {
+			Position position= model.getPosition(iter.next());
+			int firstLine= fDocument.getLineOfOffset(position.getOffset());
+			int lastLine= fDocument.getLineOfOffset(position.getOffset() + position.getLength() - 1);
+			regions.add(firstLine + "-" + lastLine);
+		}
+		Collections.sort(regions);
+		return regions;
+	}
+
+	private ProjectionAnnotation findAnnotation(int firstLine) throws BadLocationException {
+		ProjectionAnnotationModel model= getModel();
+		for (Iterator<Annotation> iter= model.getAnnotationIterator(); iter.hasNext();) {
+			Annotation annotation= iter.next();
+			if (fDocument.getLineOfOffset(model.getPosition(annotation).getOffset()) == firstLine)
+				return (ProjectionAnnotation) annotation;
+		}
+		return null;
+	}
+
+	/*
+	 * Saves and reopens the editor, which computes the complete folding structure.
+	 */
+	private void assertSameAsComputedStructure() throws Exception {
+		List<String> incremental= getFoldingRegions();
+		fEditor.doSave(new NullProgressMonitor());
+		EditorTestHelper.closeEditor(fEditor);
+		openEditor();
+		assertEquals(incremental, getFoldingRegions());
+	}
+
+	public void testAddMethod() throws Exception {
+		int count= getFoldingRegions().size();
+
+		StringBuffer buf= new StringBuffer();
+		buf.append("    /**\n");
+		buf.append("     * Javadoc of added.\n");
+		buf.append("     */\n");
+		buf.append("    void added() {\n");
+		buf.append("        m1(null);\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		insertBefore("    /**\n     * Javadoc of m2.", buf.toString());
+
+		assertEquals(count + 2, getFoldingRegions().size());
+		assertSameAsComputedStructure();
+	}
+
+	public void testRemoveMethod() throws Exception {
+		int count= getFoldingRegions().size();
+
+		StringBuffer buf= new StringBuffer();
+		buf.append("    /**\n");
+		buf.append("     * Javadoc of m2.\n");
+		buf.append("     */\n");
+		buf.append("    void m2(Map<String, String> map) {\n");
+		buf.append("        map.clear();\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		replace(buf.toString(), "");
+
+		assertEquals(count - 2, getFoldingRegions().size());
+		assertSameAsComputedStructure();
+	}
+
+	public void testChangeMethodBody() throws Exception {
+		insertBefore("        list.clear();\n", "        list.add(\"a\");\n        list.add(\"b\");\n");
+
+		assertSameAsComputedStructure();
+	}
+
+	public void testAddMethodToInnerType() throws Exception {
+		int count= getFoldingRegions().size();
+
+		insertBefore("        void m3() {\n", "        void m4() {\n            m3();\n        }\n\n");
+
+		assertEquals(count + 1, getFoldingRegions().size());
+		assertSameAsComputedStructure();
+	}
+
+	public void testCollapsedStateKeptForUnchangedMembers() throws Exception {
+		int m2Line= fDocument.getLineOfOffset(fDocument.get().indexOf("    void m2("));
+		ProjectionAnnotation m2= findAnnotation(m2Line);
+		assertNotNull(m2);
+		getModel().collapse(m2);
+
+		insertBefore("        list.clear();\n", "        list.add(\"a\");\n");
+
+		assertSame(m2, findAnnotation(m2Line + 1));
+		assertTrue(m2.isCollapsed());
+		assertSameAsComputedStructure();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,8 +16,10 @@ import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.rules.FastPartitioner;
 
 import org.eclipse.jdt.core.JavaCore;
@@ -26,6 +28,7 @@ import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.ui.text.IJavaPartitions;
 
 import org.eclipse.jdt.internal.ui.text.FastJavaPartitionScanner;
+import org.eclipse.jdt.internal.ui.text.JavaBracketIndex;
 import org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner;
 import org.eclipse.jdt.internal.ui.text.JavaIndenter;
 
@@ -1142,4 +1145,95 @@ public class JavaHeuristicScannerTest extends TestCase {
 		String indent= fScanner.computeIndentation(offset).toString();
 		assertEquals("\t", indent);
 	}
+
+	private static final String BRACKET_INDEX_SOURCE=
+			"package p;\n" +
+			"/** javadoc with brackets: { ( [ */\n" +
+			"public class A {\n" +
+			"int[] fArray= new int[] { 1, 2,\n" +
+			"3 };\n" +
+			"// comment }\n" +
+			"void foo(int a,\n" +
+			"int b) {\n" +
+			"if (a > b) {\n" +
+			"String s= \"{(\" + '}';\n" +
+			"bar(a, new Runnable() {\n" +
+			"public void run() {\n" +
+			"baz(b);\n" +
+			"}\n" +
+			"});\n" +
+			"} else\n" +
+			"a= b;\n" +
+			"}\n" +
+			"/* ] ) } */\n" +
+			"void unbalanced() {\n" +
+			"if (true)) {\n" +
+			"}\n" +
+			"}\n" +
+			"}\n" +
+			"}\n" +
+			"class B {\n" +
+			"void m() {\n" +
+			"int x= (1 +\n" +
+			"2;\n";
+
+	public void testBracketIndexFindsSameOpeningPeers() {
+		fDocument.set(BRACKET_INDEX_SOURCE);
+		JavaBracketIndex index= JavaBracketIndex.create(fDocument);
+		try {
+			assertTrue(index.isValid());
+			JavaHeuristicScanner indexedScanner= new JavaHeuristicScanner(fDocument);
+			indexedScanner.setBracketIndex(index);
+			char[][] peers= { { '{', '}' }, { '(', ')' }, { '[', ']' } };
+			for (int i= 0; i < peers.length; i++) {
+				for (int offset= 0; offset < fDocument.getLength(); offset++) {
+					String message= peers[i][0] + " at " + offset;
+					assertEquals(message, fHeuristicScanner.findOpeningPeer(offset, peers[i][0], peers[i][1]), indexedScanner.findOpeningPeer(offset, peers[i][0], peers[i][1]));
+					assertEquals(message, fHeuristicScanner.findOpeningPeer(offset, 20, peers[i][0], peers[i][1]), indexedScanner.findOpeningPeer(offset, 20, peers[i][0], peers[i][1]));
+				}
+			}
+		} finally {
+			index.dispose();
+		}
+	}
+
+	public void testBracketIndexIndentsLikeScanning() throws Exception {
+		fDocument.set(BRACKET_INDEX_SOURCE);
+		String expected= indentAllLines(null);
+
+		fDocument.set(BRACKET_INDEX_SOURCE);
+		JavaBracketIndex index= JavaBracketIndex.create(fDocument);
+		try {
+			assertEquals(expected, indentAllLines(index));
+			assertTrue(index.isValid());
+		} finally {
+			index.dispose();
+		}
+	}
+
+	public void testBracketIndexInvalidatedByChange() throws Exception {
+		fDocument.set(BRACKET_INDEX_SOURCE);
+		JavaBracketIndex index= JavaBracketIndex.create(fDocument);
+		try {
+			fDocument.replace(BRACKET_INDEX_SOURCE.indexOf("class B"), 0, "{");
+			assertFalse(index.isValid());
+		} finally {
+			index.dispose();
+		}
+	}
+
+	private String indentAllLines(JavaBracketIndex index) throws BadLocationException {
+		for (int line= 0; line < fDocument.getNumberOfLines(); line++) {
+			JavaHeuristicScanner scanner= new JavaHeuristicScanner(fDocument);
+			scanner.setBracketIndex(index);
+			JavaIndenter indenter= new JavaIndenter(fDocument, scanner);
+			IRegion region= fDocument.getLineInformation(line);
+			StringBuffer indent= indenter.computeIndentation(region.getOffset());
+			int end= scanner.findNonWhitespaceForwardInAnyPartition(region.getOffset(), region.getOffset() + region.getLength());
+			if (end == JavaHeuristicScanner.NOT_FOUND)
+				end= region.getOffset() + region.getLength();
+			fDocument.replace(region.getOffset(), end - region.getOffset(), indent == null ? "" : indent.toString());
+		}
+		return fDocument.get();
+	}
 }
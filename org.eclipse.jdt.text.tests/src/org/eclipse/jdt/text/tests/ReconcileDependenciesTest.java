@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+import org.eclipse.jdt.internal.ui.text.java.ReconcileDependencies;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests which Java element deltas make the reconciler reconcile a unit again.
+ *
+ * @since 3.14
+ */
+public class ReconcileDependenciesTest extends TestCase {
+
+	private IJavaProject fJProject;
+	private IPackageFragment fPackP;
+	private IPackageFragment fPackQ;
+	private ICompilationUnit fDependency;
+	private ICompilationUnit fUnrelated;
+
+	public static Test suite() {
+		return new TestSuite(ReconcileDependenciesTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fJProject= JavaProjectHelper.createJavaProject("ReconcileDependenciesTestProject", "bin");
+		JavaProjectHelper.addRTJar(fJProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		fPackP= root.createPackageFragment("p", false, null);
+		fPackQ= root.createPackageFragment("q", false, null);
+		fDependency= fPackQ.createCompilationUnit("B.java", "package q;\npublic class B {\n}\n", false, null);
+		fUnrelated= fPackQ.createCompilationUnit("C.java", "package q;\npublic class C {\n}\n", false, null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		JavaProjectHelper.delete(fJProject);
+		super.tearDown();
+	}
+
+	private ReconcileDependencies createDependencies(String contents) throws Exception {
+		ICompilationUnit cu= fPackP.createCompilationUnit("A.java", contents, false, null);
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setSource(cu);
+		parser.setResolveBindings(true);
+		return ReconcileDependencies.create((CompilationUnit) parser.createAST(null));
+	}
+
+	/*
+	 * Changes the contents of the given unit on disk and returns the resulting Java element delta.
+	 */
+	private IJavaElementDelta changeContents(ICompilationUnit cu, String contents) throws Exception {
+		final IJavaElementDelta[] result= new IJavaElementDelta[1];
+		IElementChangedListener listener= new IElementChangedListener() {
+			@Override
+			public void elementChanged(ElementChangedEvent event) {
+				if (result[0] == null)
+					result[0]= event.getDelta();
+			}
+		};
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+		try {
+			IFile file= (IFile) cu.getResource();
+			file.setContents(new ByteArrayInputStream(contents.getBytes()), true, false, null);
+		} finally {
+			JavaCore.removeElementChangedListener(listener);
+		}
+		assertNotNull(result[0]);
+		return result[0];
+	}
+
+	public void testDeltaOnDependency() throws Exception {
+		ReconcileDependencies dependencies= createDependencies("package p;\nimport q.B;\npublic class A {\n    B b;\n}\n");
+
+		IJavaElementDelta delta= changeContents(fDependency, "package q;\npublic class B {\n    public int i;\n}\n");
+		assertTrue(dependencies.isAffectedBy(delta));
+	}
+
+	public void testDeltaOnUnrelatedType() throws Exception {
+		ReconcileDependencies dependencies= createDependencies("package p;\nimport q.B;\npublic class A {\n    B b;\n}\n");
+
+		IJavaElementDelta delta= changeContents(fUnrelated, "package q;\npublic class C {\n    public int i;\n}\n");
+		assertFalse(dependencies.isAffectedBy(delta));
+	}
+
+	public void testDeltaWithUnresolvedReferences() throws Exception {
+		ReconcileDependencies dependencies= createDependencies("package p;\nimport q.B;\npublic class A {\n    B b;\n    Unknown u;\n}\n");
+
+		// a change of any unit may declare the missing type
+		IJavaElementDelta delta= changeContents(fUnrelated, "package q;\npublic class C {\n    public int i;\n}\n");
+		assertTrue(dependencies.isAffectedBy(delta));
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.AffectedTestsFinder;
+
+import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
+
+public class AffectedTestsFinderTest extends TestCase {
+
+	private IJavaProject fProject;
+	private long fSince;
+
+	private ICompilationUnit fUtil;
+	private IType fHelperTest;
+	private IType fOtherTest;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JUnitCore.JUNIT4_CONTAINER_PATH));
+		JavaProjectHelper.set15CompilerOptions(fProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment p= root.createPackageFragment("p", true, null);
+
+		StringBuffer buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class Util {\n");
+		buf.append("    public static int one() {\n");
+		buf.append("        return 1;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fUtil= p.createCompilationUnit("Util.java", buf.toString(), false, null);
+
+		buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class Helper {\n");
+		buf.append("    public int two() {\n");
+		buf.append("        return Util.one() + 1;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit helper= p.createCompilationUnit("Helper.java", buf.toString(), false, null);
+
+		buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class HelperTest {\n");
+		buf.append("    @Test public void testTwo() {\n");
+		buf.append("        new Helper().two();\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fHelperTest= p.createCompilationUnit("HelperTest.java", buf.toString(), false, null).findPrimaryType();
+
+		buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class OtherTest {\n");
+		buf.append("    @Test public void testOther() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fOtherTest= p.createCompilationUnit("OtherTest.java", buf.toString(), false, null).findPrimaryType();
+
+		// all units are older than the last successful run
+		fSince= System.currentTimeMillis();
+		setTimeStamp(fUtil, fSince - 60000);
+		setTimeStamp(helper, fSince - 60000);
+		setTimeStamp(fHelperTest.getCompilationUnit(), fSince - 60000);
+		setTimeStamp(fOtherTest.getCompilationUnit(), fSince - 60000);
+
+		JavaProjectHelper.performDummySearch();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+		super.tearDown();
+	}
+
+	private static void setTimeStamp(ICompilationUnit cu, long time) throws CoreException {
+		cu.getResource().setLocalTimeMillis(time);
+	}
+
+	public void testChangedTest() throws Exception {
+		setTimeStamp(fOtherTest.getCompilationUnit(), fSince + 60000);
+
+		IType[] affected= AffectedTestsFinder.findAffectedTests(fProject, new IType[] { fHelperTest, fOtherTest }, fSince, null);
+		assertEquals(1, affected.length);
+		assertEquals(fOtherTest, affected[0]);
+	}
+
+	public void testTransitivelyAffectedTest() throws Exception {
+		setTimeStamp(fUtil, fSince + 60000);
+
+		IType[] affected= AffectedTestsFinder.findAffectedTests(fProject, new IType[] { fHelperTest, fOtherTest }, fSince, null);
+		assertEquals(1, affected.length);
+		assertEquals(fHelperTest, affected[0]);
+	}
+
+	public void testNoChanges() throws Exception {
+		IJavaElement[] tests= new IJavaElement[] { fHelperTest, fOtherTest };
+		try {
+			AffectedTestsFinder.filterAffectedTests(fProject, tests, fSince, null);
+			fail("No test is affected");
+		} catch (CoreException e) {
+			assertEquals(IJavaLaunchConfigurationConstants.ERR_UNSPECIFIED_MAIN_TYPE, e.getStatus().getCode());
+		}
+	}
+
+	public void testNoSuccessfulRun() throws Exception {
+		assertEquals(-1, AffectedTestsFinder.getLastSuccessfulRunTime("AffectedTestsFinderTest"));
+
+		IJavaElement[] tests= new IJavaElement[] { fHelperTest, fOtherTest };
+		assertSame(tests, AffectedTestsFinder.filterAffectedTests(fProject, tests, -1, null));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
 
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -440,6 +441,140 @@ public class JUnit4TestFinderTest extends TestCase {
 		assertTestFound(validTest1.getCompilationUnit(), new String[] { "p.Test1" });
 	}
 
+	public void testIndexUpdatedAfterChange() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuffer buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test1 {\n");
+		buf.append("        @Test public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		assertTestFound(fRoot, new String[] { "p.Test1" });
+		assertTestFound(fProject, new String[] { "p.Test1" });
+
+		buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class Test1 {\n");
+		buf.append("        public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), true, null);
+
+		buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test2 {\n");
+		buf.append("        @Test public void testBar() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		assertTestFound(fRoot, new String[] { "p.Test2" });
+		assertTestFound(fProject, new String[] { "p.Test2" });
+		assertTestFound(p, new String[] { "p.Test2" });
+	}
+
+	public void testIndexUpdatedAfterAddingClass() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuffer buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test1 {\n");
+		buf.append("        @Test public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		assertTestFound(fProject, new String[] { "p.Test1" });
+
+		IPackageFragment q= fRoot.createPackageFragment("q", true, null);
+		buf= new StringBuffer();
+		buf.append("package q;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test2 {\n");
+		buf.append("        @Test public void testBar() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		q.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		assertTestFound(fProject, new String[] { "p.Test1", "q.Test2" });
+		assertTestFound(fRoot, new String[] { "p.Test1", "q.Test2" });
+	}
+
+	public void testIndexUpdatedAfterRemovingClass() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuffer buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test1 {\n");
+		buf.append("        @Test public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		buf= new StringBuffer();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test2 {\n");
+		buf.append("        @Test public void testBar() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		ICompilationUnit cu2= p.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		assertTestFound(fProject, new String[] { "p.Test1", "p.Test2" });
+
+		cu2.delete(true, null);
+
+		assertTestFound(fProject, new String[] { "p.Test1" });
+		assertTestFound(fRoot, new String[] { "p.Test1" });
+	}
+
+	public void testIndexUpdatedAfterClasspathChange() throws Exception {
+		IJavaProject baseProject= JavaProjectHelper.createJavaProject("BaseProject", "bin");
+		try {
+			JavaProjectHelper.addRTJar(baseProject);
+			JavaProjectHelper.addToClasspath(baseProject, JavaCore.newContainerEntry(JUnitCore.JUNIT4_CONTAINER_PATH));
+			IPackageFragmentRoot baseRoot= JavaProjectHelper.addSourceContainer(baseProject, "src");
+			IPackageFragment base= baseRoot.createPackageFragment("base", true, null);
+			StringBuffer buf= new StringBuffer();
+			buf.append("package base;\n");
+			buf.append("import junit.framework.TestCase;\n");
+			buf.append("\n");
+			buf.append("public abstract class BaseTest extends TestCase {\n");
+			buf.append("}\n");
+			base.createCompilationUnit("BaseTest.java", buf.toString(), false, null);
+
+			IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+			buf= new StringBuffer();
+			buf.append("package p;\n");
+			buf.append("import base.BaseTest;\n");
+			buf.append("\n");
+			buf.append("public class MyTest extends BaseTest {\n");
+			buf.append("        public void testFoo() {\n");
+			buf.append("        }\n");
+			buf.append("}\n");
+			p.createCompilationUnit("MyTest.java", buf.toString(), false, null);
+
+			assertTestFound(fProject, new String[] {});
+
+			JavaProjectHelper.addRequiredProject(fProject, baseProject);
+
+			assertTestFound(fProject, new String[] { "p.MyTest" });
+		} finally {
+			JavaProjectHelper.delete(baseProject);
+		}
+	}
+
 
 	private void assertTestFound(IJavaElement container, String[] expectedTypes) throws CoreException {
 		ITestKind testKind= TestKindRegistry.getContainerTestKind(container);
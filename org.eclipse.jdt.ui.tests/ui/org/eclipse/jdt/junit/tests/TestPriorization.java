@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,7 +17,13 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+
 import org.eclipse.jdt.internal.junit.runner.FailuresFirstPrioritizer;
+import org.eclipse.jdt.internal.junit.runner.HistoryPrioritizer;
+import org.eclipse.jdt.internal.junit.runner.TestHistory;
+import org.eclipse.jdt.internal.junit4.runner.HistorySorter;
 
 import junit.extensions.TestDecorator;
 import junit.extensions.TestSetup;
@@ -304,6 +310,112 @@ public class TestPriorization extends TestCase {
 		}
 	}
 
+	public void testReorderByHistory() {
+		// suite
+		//		suite1
+		//			X (30)
+		//			Y (10)
+		//			Z (20)
+		//		suite2
+		//			D (5)
+		//			E (new)
+		//			F (50, failed)
+		TestSuite suite= new TestSuite();
+		suite.addTest(createSuiteXYZ());
+		suite.addTest(createSuiteDEF());
+
+		TestHistory history= new TestHistory();
+		history.add("testX(org.eclipse.jdt.junit.tests.TestPriorizationSuite)", 30, false);
+		history.add("testY(org.eclipse.jdt.junit.tests.TestPriorizationSuite)", 10, false);
+		history.add("testZ(org.eclipse.jdt.junit.tests.TestPriorizationSuite)", 20, false);
+		history.add("testD(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 5, false);
+		history.add("testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)", 50, true);
+
+		Test prioritized= new HistoryPrioritizer(history).prioritize(suite);
+		List<String> order= new ArrayList<>();
+		collectOrder(prioritized, order);
+		String[] expected= {
+				"testF", "testE", "testD", "testY", "testZ", "testX"
+		};
+		checkOrder(expected, order);
+	}
+
+	public void testReorderByHistoryKeepsOrderOfEqualTests() {
+		TestSuite suite= createSuiteDEF();
+
+		Test prioritized= new HistoryPrioritizer(new TestHistory()).prioritize(suite);
+		List<String> order= new ArrayList<>();
+		collectOrder(prioritized, order);
+		String[] expected= {
+				"testD", "testE", "testF"
+		};
+		checkOrder(expected, order);
+	}
+
+	public void testSortByHistory() {
+		// classes
+		//		suite3
+		//			X (30)
+		//			Y (10)
+		//			Z (20)
+		//		suite4
+		//			D (5)
+		//			E (new)
+		//			F (50, failed)
+		TestHistory history= new TestHistory();
+		history.add("testX(org.eclipse.jdt.junit.tests.TestPriorizationSuite3)", 30, false);
+		history.add("testY(org.eclipse.jdt.junit.tests.TestPriorizationSuite3)", 10, false);
+		history.add("testZ(org.eclipse.jdt.junit.tests.TestPriorizationSuite3)", 20, false);
+		history.add("testD(org.eclipse.jdt.junit.tests.TestPriorizationSuite4)", 5, false);
+		history.add("testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite4)", 50, true);
+
+		Request request= Request.classes(TestPriorizationSuite3.class, TestPriorizationSuite4.class).sortWith(new HistorySorter(history));
+		List<String> order= new ArrayList<>();
+		collectOrder(request.getRunner().getDescription(), order);
+		String[] expected= {
+				"testF", "testE", "testD", "testY", "testZ", "testX"
+		};
+		checkOrder(expected, order);
+	}
+
+	public void testSortByHistoryUsesDurationOfKnownSuite() {
+		// classes
+		//		suite3 (6)
+		//			X (1)
+		//			Y (2)
+		//			Z (3)
+		//		suite4
+		//			D (4)
+		//			E (5)
+		//			F (6)
+		TestHistory history= new TestHistory();
+		history.add("org.eclipse.jdt.junit.tests.TestPriorizationSuite3", 6, false);
+		history.add("testX(org.eclipse.jdt.junit.tests.TestPriorizationSuite3)", 1, false);
+		history.add("testY(org.eclipse.jdt.junit.tests.TestPriorizationSuite3)", 2, false);
+		history.add("testZ(org.eclipse.jdt.junit.tests.TestPriorizationSuite3)", 3, false);
+		history.add("testD(org.eclipse.jdt.junit.tests.TestPriorizationSuite4)", 4, false);
+		history.add("testE(org.eclipse.jdt.junit.tests.TestPriorizationSuite4)", 5, false);
+		history.add("testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite4)", 6, false);
+
+		Request request= Request.classes(TestPriorizationSuite4.class, TestPriorizationSuite3.class).sortWith(new HistorySorter(history));
+		List<String> order= new ArrayList<>();
+		collectOrder(request.getRunner().getDescription(), order);
+		String[] expected= {
+				"testX", "testY", "testZ", "testD", "testE", "testF"
+		};
+		checkOrder(expected, order);
+	}
+
+	public void testSortByHistoryKeepsOrderOfEqualTests() {
+		List<String> unsorted= new ArrayList<>();
+		collectOrder(Request.aClass(TestPriorizationSuite4.class).getRunner().getDescription(), unsorted);
+
+		Request request= Request.aClass(TestPriorizationSuite4.class).sortWith(new HistorySorter(new TestHistory()));
+		List<String> order= new ArrayList<>();
+		collectOrder(request.getRunner().getDescription(), order);
+		assertEquals(unsorted, order);
+	}
+
 	private TestSuite createSuiteDEF() {
 		// suite
 		//		D
@@ -382,6 +494,16 @@ public class TestPriorization extends TestCase {
 		}
 	}
 
+	private void collectOrder(Description description, List<String> order) {
+		if (description.isTest()) {
+			order.add(description.getMethodName());
+		} else {
+			for (Description child : description.getChildren()) {
+				collectOrder(child, order);
+			}
+		}
+	}
+
 	private Test prioritize(Test suite, String[] priority) {
 		FailuresFirstPrioritizer prioritizer= new FailuresFirstPrioritizer(priority);
 		return prioritizer.prioritize(suite);
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import org.junit.Test;
+
+public class TestPriorizationSuite3 {
+	@Test
+	public void testX() {
+	}
+	@Test
+	public void testY() {
+	}
+	@Test
+	public void testZ() {
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jdt.internal.junit.launcher.TestShardBalancer;
+
+public class TestShardBalancerTest extends TestCase {
+
+	public void testBalanceByRecordedDurations() throws Exception {
+		String[] names= { "p.A", "p.B", "p.C", "p.D" };
+		Map<String, Double> durations= new HashMap<>();
+		durations.put("p.A", Double.valueOf(10));
+		durations.put("p.B", Double.valueOf(6));
+		durations.put("p.C", Double.valueOf(3));
+		durations.put("p.D", Double.valueOf(1));
+
+		int[] assignment= TestShardBalancer.balance(names, durations, 2);
+		assertEquals(0, assignment[0]);
+		assertEquals(1, assignment[1]);
+		assertEquals(1, assignment[2]);
+		assertEquals(1, assignment[3]);
+	}
+
+	public void testBalanceWithoutRecordedDurations() throws Exception {
+		String[] names= { "p.A", "p.B", "p.C", "p.D", "p.E" };
+
+		int[] assignment= TestShardBalancer.balance(names, new HashMap<String, Double>(), 3);
+		int[] sizes= new int[3];
+		for (int i= 0; i < assignment.length; i++)
+			sizes[assignment[i]]++;
+		assertEquals(2, sizes[0]);
+		assertEquals(2, sizes[1]);
+		assertEquals(1, sizes[2]);
+	}
+
+	public void testNoShardIsEmpty() throws Exception {
+		String[] names= { "p.A", "p.B", "p.C" };
+		Map<String, Double> durations= new HashMap<>();
+		durations.put("p.A", Double.valueOf(0));
+		durations.put("p.B", Double.valueOf(0));
+		durations.put("p.C", Double.valueOf(0));
+
+		int[] assignment= TestShardBalancer.balance(names, durations, 3);
+		assertEquals(0, assignment[0]);
+		assertEquals(1, assignment[1]);
+		assertEquals(2, assignment[2]);
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import java.io.ByteArrayInputStream;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.JavaElementLabels;
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelCache;
+
+/**
+ * Tests that the labels cached by {@link JavaElementLabelCache} are dropped when a Java element
+ * delta or a preference change can change them.
+ *
+ * @since 3.14
+ */
+public class JavaElementLabelCacheTest extends CoreTests {
+
+	private static final Class<JavaElementLabelCacheTest> THIS= JavaElementLabelCacheTest.class;
+
+	private IJavaProject fJProject1;
+	private IPackageFragmentRoot fSourceFolder;
+
+	public JavaElementLabelCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return setUpTest(new TestSuite(THIS));
+	}
+
+	public static Test setUpTest(Test test) {
+		return new ProjectTestSetup(test);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		fJProject1= ProjectTestSetup.getProject();
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		store.setValue(PreferenceConstants.APPEARANCE_COMPRESS_PACKAGE_NAMES, false);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, ProjectTestSetup.getDefaultClasspath());
+	}
+
+	private static JavaElementLabelCache getCache() {
+		JavaElementLabelCache cache= JavaElementLabelCache.getInstance();
+		assertNotNull("cache not installed", cache);
+		return cache;
+	}
+
+	public void testLabelInvalidatedOnElementDelta() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("org.test", false, null);
+		StringBuffer buf= new StringBuffer();
+		buf.append("package org.test;\n");
+		buf.append("public class A {\n");
+		buf.append("    public int foo() {\n");
+		buf.append("        return 0;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("A.java", buf.toString(), false, null);
+		IMethod method= cu.getType("A").getMethod("foo", new String[0]);
+		long flags= JavaElementLabels.M_APP_RETURNTYPE;
+
+		assertEqualString(JavaElementLabels.getElementLabel(method, flags), "foo() : int");
+		assertNotNull(getCache().getLabel(method, flags));
+
+		buf= new StringBuffer();
+		buf.append("package org.test;\n");
+		buf.append("public class A {\n");
+		buf.append("    public String foo() {\n");
+		buf.append("        return null;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		IFile file= (IFile) cu.getResource();
+		file.setContents(new ByteArrayInputStream(buf.toString().getBytes()), true, false, null);
+
+		assertNull(getCache().getLabel(method, flags));
+		assertEqualString(JavaElementLabels.getElementLabel(method, flags), "foo() : String");
+	}
+
+	public void testLabelInvalidatedOnPreferenceChange() throws Exception {
+		IPackageFragment pack= fSourceFolder.createPackageFragment("org.test.longname", false, null);
+		long flags= JavaElementLabels.P_COMPRESSED;
+
+		assertEqualString(JavaElementLabels.getElementLabel(pack, flags), "org.test.longname");
+		assertNotNull(getCache().getLabel(pack, flags));
+
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		store.setValue(PreferenceConstants.APPEARANCE_PKG_NAME_PATTERN_FOR_PKG_VIEW, "0");
+		try {
+			assertNull(getCache().getLabel(pack, flags));
+			assertEqualString(JavaElementLabels.getElementLabel(pack, flags), "org.test.longname");
+
+			store.setValue(PreferenceConstants.APPEARANCE_COMPRESS_PACKAGE_NAMES, true);
+
+			assertNull(getCache().getLabel(pack, flags));
+			assertEqualString(JavaElementLabels.getElementLabel(pack, flags), "longname");
+		} finally {
+			store.setToDefault(PreferenceConstants.APPEARANCE_PKG_NAME_PATTERN_FOR_PKG_VIEW);
+			store.setValue(PreferenceConstants.APPEARANCE_COMPRESS_PACKAGE_NAMES, false);
+		}
+	}
+}
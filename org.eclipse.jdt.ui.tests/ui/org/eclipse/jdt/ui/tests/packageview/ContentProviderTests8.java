@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.packageview;
+
+import java.io.ByteArrayInputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.TreeViewer;
+
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.ui.JavaUI;
+
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
+
+/**
+ * Tests that the refresh of collapsed elements, which the PackageExplorerContentProvider defers
+ * until the element is expanded, also happens when elements are expanded or revealed
+ * programmatically.
+ *
+ * @since 3.14
+ */
+public class ContentProviderTests8 extends TestCase {
+
+	private IJavaProject fJProject;
+	private IWorkbenchPage fPage;
+	private PackageExplorerPart fPackageExplorer;
+	private TreeViewer fViewer;
+
+	private IFolder fDocFolder;
+	private IFolder fSubFolder;
+	private IFile fAddedFile1;
+	private IFile fAddedFile2;
+
+	public ContentProviderTests8(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		TestSuite suite= new TestSuite(ContentProviderTests8.class.getName());
+		//$JUnit-BEGIN$
+		suite.addTestSuite(ContentProviderTests8.class);
+		//$JUnit-END$
+		return suite;
+	}
+
+	public void testRevealAfterDeferredRefresh() throws Exception {
+		addFilesWhileCollapsed();
+
+		fViewer.setSelection(new StructuredSelection(fAddedFile1), true);
+
+		IStructuredSelection selection= (IStructuredSelection) fViewer.getSelection();
+		assertEquals(1, selection.size());
+		assertEquals(fAddedFile1, selection.getFirstElement());
+	}
+
+	public void testExpandToLevelAfterDeferredRefresh() throws Exception {
+		addFilesWhileCollapsed();
+
+		fViewer.expandToLevel(fDocFolder, AbstractTreeViewer.ALL_LEVELS);
+
+		assertNotNull("Added file not shown", fViewer.testFindItem(fAddedFile1)); //$NON-NLS-1$
+		assertNotNull("Added file not shown", fViewer.testFindItem(fAddedFile2)); //$NON-NLS-1$
+	}
+
+	public void testExpandAllAfterDeferredRefresh() throws Exception {
+		addFilesWhileCollapsed();
+
+		fViewer.expandAll();
+
+		assertNotNull("Added file not shown", fViewer.testFindItem(fAddedFile1)); //$NON-NLS-1$
+		assertNotNull("Added file not shown", fViewer.testFindItem(fAddedFile2)); //$NON-NLS-1$
+	}
+
+	/*
+	 * Shows the children of the doc folder, collapses it and adds two files to its sub folder,
+	 * which makes the content provider refresh the collapsed doc folder.
+	 */
+	private void addFilesWhileCollapsed() throws Exception {
+		fViewer.expandToLevel(fSubFolder, 1);
+		processEvents();
+		assertNotNull("Sub folder not shown", fViewer.testFindItem(fSubFolder)); //$NON-NLS-1$
+
+		fViewer.collapseToLevel(fDocFolder, AbstractTreeViewer.ALL_LEVELS);
+		processEvents();
+
+		ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				fAddedFile1.create(new ByteArrayInputStream(new byte[0]), true, null);
+				fAddedFile2.create(new ByteArrayInputStream(new byte[0]), true, null);
+			}
+		}, null);
+		processEvents();
+	}
+
+	private void processEvents() {
+		while (fViewer.getControl().getDisplay().readAndDispatch()) {
+		}
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin"); //$NON-NLS-1$//$NON-NLS-2$
+		JavaProjectHelper.addSourceContainer(fJProject, "src"); //$NON-NLS-1$
+
+		fDocFolder= fJProject.getProject().getFolder("doc"); //$NON-NLS-1$
+		fDocFolder.create(true, true, null);
+		fSubFolder= fDocFolder.getFolder("sub"); //$NON-NLS-1$
+		fSubFolder.create(true, true, null);
+		fSubFolder.getFile("a.txt").create(new ByteArrayInputStream(new byte[0]), true, null); //$NON-NLS-1$
+		fAddedFile1= fSubFolder.getFile("b.txt"); //$NON-NLS-1$
+		fAddedFile2= fSubFolder.getFile("c.txt"); //$NON-NLS-1$
+
+		fPage= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		fPackageExplorer= (PackageExplorerPart) fPage.showView(JavaUI.ID_PACKAGES);
+		fViewer= fPackageExplorer.getTreeViewer();
+		processEvents();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fPage.hideView(fPackageExplorer);
+		JavaProjectHelper.delete(fJProject);
+		fViewer= null;
+		fPackageExplorer= null;
+		fPage= null;
+		fJProject= null;
+		super.tearDown();
+	}
+}
@@ -26,6 +26,7 @@ public class PackageExplorerTests {
 		suite.addTest(ContentProviderTests5.suite());
 		suite.addTest(ContentProviderTests6.suite());
 		suite.addTest(ContentProviderTests7.suite());
+		suite.addTest(ContentProviderTests8.suite());
 		suite.addTest(PackageExplorerShowInTests.suite());
 		suite.addTestSuite(WorkingSetDropAdapterTest.class);
 		suite.addTest(HierarchicalContentProviderTests.suite());
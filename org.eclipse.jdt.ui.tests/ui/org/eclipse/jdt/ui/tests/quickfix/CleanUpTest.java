@@ -8866,6 +8866,77 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringResultAsExpected(new ICompilationUnit[] { cu1 }, new String[] { expected1 });
 	}
 
+	public void testOrganizeImportsSameNamesInUnitsOfPackage() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test", false, null);
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n");
+		buf.append("public class E1 {\n");
+		buf.append("    ArrayList list;\n");
+		buf.append("    A a;\n");
+		buf.append("}\n");
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", buf.toString(), false, null);
+
+		buf= new StringBuffer();
+		buf.append("package test;\n");
+		buf.append("public class E2 {\n");
+		buf.append("    ArrayList list;\n");
+		buf.append("    A a;\n");
+		buf.append("}\n");
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", buf.toString(), false, null);
+
+		IPackageFragment pack2= fSourceFolder.createPackageFragment("test1", false, null);
+		buf= new StringBuffer();
+		buf.append("package test1;\n");
+		buf.append("public class A {}\n");
+		pack2.createCompilationUnit("A.java", buf.toString(), false, null);
+
+		IPackageFragment pack3= fSourceFolder.createPackageFragment("test2", false, null);
+		buf= new StringBuffer();
+		buf.append("package test2;\n");
+		buf.append("public class A {}\n");
+		pack3.createCompilationUnit("A.java", buf.toString(), false, null);
+
+		enable(CleanUpConstants.ORGANIZE_IMPORTS);
+
+		buf= new StringBuffer();
+		buf.append("package test;\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("\n");
+		buf.append("public class E1 {\n");
+		buf.append("    ArrayList list;\n");
+		buf.append("    A a;\n");
+		buf.append("}\n");
+		String expected1= buf.toString();
+
+		buf= new StringBuffer();
+		buf.append("package test;\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("\n");
+		buf.append("public class E2 {\n");
+		buf.append("    ArrayList list;\n");
+		buf.append("    A a;\n");
+		buf.append("}\n");
+		String expected2= buf.toString();
+
+		RefactoringStatus status= assertRefactoringResultAsExpected(new ICompilationUnit[] { cu1, cu2 }, new String[] { expected1, expected2 });
+		RefactoringStatusEntry[] entries= status.getEntries();
+		assertEquals(2, entries.length);
+		boolean[] reported= new boolean[2];
+		for (int i= 0; i < entries.length; i++) {
+			String message= entries[i].getMessage();
+			assertTrue(message, entries[i].isInfo());
+			assertTrue(message, message.indexOf("ambiguous") != -1);
+			if (message.indexOf("E1.java") != -1)
+				reported[0]= true;
+			if (message.indexOf("E2.java") != -1)
+				reported[1]= true;
+		}
+		assertTrue("ambiguity of E1 not reported", reported[0]);
+		assertTrue("ambiguity of E2 not reported", reported[1]);
+	}
+
 	public void testCorrectIndetation01() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
 		StringBuffer buf= new StringBuffer();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,9 +17,12 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.TestOptions;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
@@ -29,10 +32,13 @@ import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
 import org.eclipse.jface.text.source.ISourceViewer;
 
 import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IMarkerResolution;
+import org.eclipse.ui.views.markers.WorkbenchMarkerResolution;
 
 import org.eclipse.ui.texteditor.ITextEditor;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -46,6 +52,7 @@ import org.eclipse.jdt.ui.tests.core.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.correction.CorrectionMarkerResolutionGenerator;
 import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionAssistant;
 import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionProcessor;
 
@@ -240,4 +247,93 @@ public class MarkerResolutionTest extends QuickFixTest {
 		}
 	}
 
+	public void testBatchResolution() throws Exception {
+		fJProject1.setOption(JavaCore.COMPILER_PB_EMPTY_STATEMENT, JavaCore.WARNING);
+		try {
+			IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+			StringBuffer buf= new StringBuffer();
+			buf.append("package test1;\n");
+			buf.append("public class E {\n");
+			buf.append("    int a;;\n");
+			buf.append("}\n");
+			ICompilationUnit cu1= pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+			buf= new StringBuffer();
+			buf.append("package test1;\n");
+			buf.append("public class F {\n");
+			buf.append("    int b;;\n");
+			buf.append("}\n");
+			ICompilationUnit cu2= pack1.createCompilationUnit("F.java", buf.toString(), false, null);
+
+			IMarker[] markers= buildAndFindProblemMarkers();
+			assertEquals(2, markers.length);
+
+			WorkbenchMarkerResolution resolution= findResolution(markers[0], "Remove semicolon");
+			IMarker[] others= resolution.findOtherMarkers(markers);
+			assertEquals(1, others.length);
+			assertEquals(markers[1], others[0]);
+
+			resolution.run(markers, new NullProgressMonitor());
+
+			buf= new StringBuffer();
+			buf.append("package test1;\n");
+			buf.append("public class E {\n");
+			buf.append("    int a;\n");
+			buf.append("}\n");
+			assertEqualString(cu1.getSource(), buf.toString());
+
+			buf= new StringBuffer();
+			buf.append("package test1;\n");
+			buf.append("public class F {\n");
+			buf.append("    int b;\n");
+			buf.append("}\n");
+			assertEqualString(cu2.getSource(), buf.toString());
+		} finally {
+			fJProject1.setOption(JavaCore.COMPILER_PB_EMPTY_STATEMENT, JavaCore.IGNORE);
+		}
+	}
+
+	public void testBatchResolutionOnlyForTextEditProposals() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("    void foo() {\n");
+		buf.append("        x= 1;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+		buf= new StringBuffer();
+		buf.append("package test1;\n");
+		buf.append("public class F {\n");
+		buf.append("    void foo() {\n");
+		buf.append("        x= 1;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		pack1.createCompilationUnit("F.java", buf.toString(), false, null);
+
+		IMarker[] markers= buildAndFindProblemMarkers();
+		assertEquals(2, markers.length);
+
+		// creating a local variable enters linked mode, it is not applied to other markers
+		WorkbenchMarkerResolution resolution= findResolution(markers[0], "Create local variable 'x'");
+		assertEquals(0, resolution.findOtherMarkers(markers).length);
+	}
+
+	private IMarker[] buildAndFindProblemMarkers() throws CoreException {
+		fJProject1.getProject().build(IncrementalProjectBuilder.FULL_BUILD, null);
+		return fSourceFolder.getResource().findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+	}
+
+	private WorkbenchMarkerResolution findResolution(IMarker marker, String label) {
+		IMarkerResolution[] resolutions= new CorrectionMarkerResolutionGenerator().getResolutions(marker);
+		for (int i= 0; i < resolutions.length; i++) {
+			if (label.equals(resolutions[i].getLabel()))
+				return (WorkbenchMarkerResolution) resolutions[i];
+		}
+		fail("no resolution '" + label + "' in " + Arrays.asList(resolutions));
+		return null;
+	}
+
 }
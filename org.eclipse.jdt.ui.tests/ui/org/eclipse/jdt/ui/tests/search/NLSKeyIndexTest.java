@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.search;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.ui.refactoring.nls.search.NLSKeyIndex;
+
+public class NLSKeyIndexTest extends TestCase {
+
+	private static final Pattern JAVA_FILES= Pattern.compile(".*\\.java"); //$NON-NLS-1$
+
+	private IJavaProject fJProject;
+	private IFolder fFolder;
+	private NLSKeyIndex fIndex;
+
+	public NLSKeyIndexTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(NLSKeyIndexTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		fFolder= fJProject.getProject().getFolder("src");
+		fFolder.create(true, true, null);
+		fJProject.getProject().setDefaultCharset("ISO-8859-1", null);
+		fIndex= new NLSKeyIndex();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fIndex.dispose();
+		JavaProjectHelper.delete(fJProject);
+		super.tearDown();
+	}
+
+	private IFile write(String fileName, String content) throws CoreException {
+		IFile file= fFolder.getFile(fileName);
+		if (file.exists())
+			file.setContents(new ByteArrayInputStream(content.getBytes()), true, false, null);
+		else
+			file.create(new ByteArrayInputStream(content.getBytes()), true, null);
+		return file;
+	}
+
+	private List<IFile> findFilesWithQuotedKey(String key) throws CoreException {
+		return Arrays.asList(fIndex.findFilesWithQuotedKey(fFolder, JAVA_FILES, key, null));
+	}
+
+	public void testKeyPositionWithLF() throws Exception {
+		IFile file= write("Messages.properties", "a=1\nbb=2\nc=3\n");
+
+		NLSKeyIndex.PropertiesFileEntry entry= fIndex.getPropertiesFileEntry(file);
+		assertEquals(0, entry.findPropertyNameStartPosition("a"));
+		assertEquals(4, entry.findPropertyNameStartPosition("bb"));
+		assertEquals(9, entry.findPropertyNameStartPosition("c"));
+		assertEquals(-1, entry.findPropertyNameStartPosition("d"));
+	}
+
+	public void testKeyPositionWithCRLF() throws Exception {
+		IFile file= write("Messages.properties", "a=1\r\nbb=2\r\nc=3\r\n");
+
+		NLSKeyIndex.PropertiesFileEntry entry= fIndex.getPropertiesFileEntry(file);
+		assertEquals(0, entry.findPropertyNameStartPosition("a"));
+		assertEquals(5, entry.findPropertyNameStartPosition("bb"));
+		assertEquals(11, entry.findPropertyNameStartPosition("c"));
+	}
+
+	public void testKeyPositionWithCR() throws Exception {
+		IFile file= write("Messages.properties", "a=1\rbb=2\rc=3\r");
+
+		NLSKeyIndex.PropertiesFileEntry entry= fIndex.getPropertiesFileEntry(file);
+		assertEquals(0, entry.findPropertyNameStartPosition("a"));
+		assertEquals(4, entry.findPropertyNameStartPosition("bb"));
+		assertEquals(9, entry.findPropertyNameStartPosition("c"));
+	}
+
+	public void testKeyPositionWithMixedDelimiters() throws Exception {
+		IFile file= write("Messages.properties", "a=1\r\rbb=2\r\n\nc=3\n");
+
+		NLSKeyIndex.PropertiesFileEntry entry= fIndex.getPropertiesFileEntry(file);
+		assertEquals(5, entry.findPropertyNameStartPosition("bb"));
+		assertEquals(12, entry.findPropertyNameStartPosition("c"));
+	}
+
+	public void testKeyPositionInLastLineWithoutDelimiter() throws Exception {
+		IFile file= write("Messages.properties", "a=1\r\nbb=2\r\nc=3");
+
+		NLSKeyIndex.PropertiesFileEntry entry= fIndex.getPropertiesFileEntry(file);
+		assertEquals(5, entry.findPropertyNameStartPosition("bb"));
+		assertEquals(11, entry.findPropertyNameStartPosition("c"));
+	}
+
+	public void testPropertiesFileEntryInvalidatedOnContentChange() throws Exception {
+		IFile file= write("Messages.properties", "a=1\nbb=2\n");
+
+		NLSKeyIndex.PropertiesFileEntry entry= fIndex.getPropertiesFileEntry(file);
+		assertSame(entry, fIndex.getPropertiesFileEntry(file));
+		assertEquals(-1, entry.findPropertyNameStartPosition("c"));
+
+		write("Messages.properties", "a=1\nc=3\nbb=2\n");
+
+		NLSKeyIndex.PropertiesFileEntry changed= fIndex.getPropertiesFileEntry(file);
+		assertNotSame(entry, changed);
+		assertEquals(4, changed.findPropertyNameStartPosition("c"));
+		assertEquals(8, changed.findPropertyNameStartPosition("bb"));
+	}
+
+	public void testQuotedKey() throws Exception {
+		IFile withKey= write("A.java", "class A { String s= \"key\"; }\n");
+		write("B.java", "class B { String s= \"otherkey\"; String t= \"key \"; }\n");
+		write("C.properties", "s=\"key\"\n");
+
+		assertEquals(Arrays.asList(withKey), findFilesWithQuotedKey("key"));
+	}
+
+	public void testQuotedKeyInAdjacentStrings() throws Exception {
+		IFile concatenated= write("A.java", "class A { String s= \"a\"+\"key\"+\"b\"; }\n");
+		IFile adjacent= write("B.java", "class B { String s= \"a\"\"key\"\"b\"; }\n");
+		IFile empty= write("C.java", "class C { String s= \"\"; String t= \"key\"; }\n");
+
+		List<IFile> files= findFilesWithQuotedKey("key");
+		assertTrue(files.contains(concatenated));
+		assertTrue(files.contains(adjacent));
+		assertTrue(files.contains(empty));
+	}
+
+	public void testQuotedKeyAfterEscapedQuotes() throws Exception {
+		IFile afterEscaped= write("A.java", "class A { String s= \"\\\"\"; String t= \"key\"; }\n");
+		IFile afterEscapedInString= write("B.java", "class B { String s= \"say \\\"hello\\\"\"; String t= \"key\"; }\n");
+		IFile quoteChar= write("C.java", "class C { char c= '\"'; String t= \"key\"; }\n");
+
+		List<IFile> files= findFilesWithQuotedKey("key");
+		assertTrue(files.contains(afterEscaped));
+		assertTrue(files.contains(afterEscapedInString));
+		assertTrue(files.contains(quoteChar));
+	}
+
+	public void testKeyWithQuoteNotIndexed() throws Exception {
+		write("A.java", "class A { String s= \"a\\\"b\"; }\n");
+
+		assertNull(fIndex.findFilesWithQuotedKey(fFolder, JAVA_FILES, "a\"b", null));
+	}
+
+	public void testQuotedKeyInvalidatedOnContentChange() throws Exception {
+		IFile file= write("A.java", "class A { String s= \"other\"; }\n");
+		assertEquals(0, findFilesWithQuotedKey("key").size());
+
+		write("A.java", "class A { String s= \"key\"; }\n");
+		assertEquals(Arrays.asList(file), findFilesWithQuotedKey("key"));
+
+		write("A.java", "class A { String s= \"other\"; }\n");
+		assertEquals(0, findFilesWithQuotedKey("key").size());
+	}
+
+	public void testQuotedKeyInvalidatedOnRemove() throws Exception {
+		IFile file= write("A.java", "class A { String s= \"other\"; }\n");
+		assertEquals(0, findFilesWithQuotedKey("key").size());
+
+		file.delete(true, null);
+		assertEquals(0, findFilesWithQuotedKey("key").size());
+
+		write("A.java", "class A { String s= \"key\"; }\n");
+		assertEquals(Arrays.asList(file), findFilesWithQuotedKey("key"));
+	}
+
+	public void testMoreFilesThanFitInIndex() throws Exception {
+		IFile[] files= new IFile[10];
+		for (int i= 0; i < files.length; i++) {
+			files[i]= write("A" + i + ".java", "class A" + i + " { String s= \"key" + i + "\"; }\n");
+		}
+
+		NLSKeyIndex index= new NLSKeyIndex(5);
+		try {
+			List<IFile> indexed= new ArrayList<>();
+			for (int round= 0; round < 2; round++) {
+				for (int i= 0; i < files.length; i++) {
+					IFile[] result= index.findFilesWithQuotedKey(fFolder, JAVA_FILES, "key" + i, null);
+					assertEquals(Arrays.asList(files[i]), Arrays.asList(result));
+				}
+				List<IFile> current= new ArrayList<>();
+				for (int i= 0; i < files.length; i++) {
+					if (index.isIndexed(files[i]))
+						current.add(files[i]);
+				}
+				assertEquals(5, current.size());
+				if (round == 0)
+					indexed= current;
+				else
+					assertEquals("indexed files must stay in the index", indexed, current); //$NON-NLS-1$
+			}
+
+			// a changed file makes room for another file
+			IFile changed= indexed.get(0);
+			write(changed.getName(), "class X { }\n");
+			assertFalse(index.isIndexed(changed));
+			index.findFilesWithQuotedKey(fFolder, JAVA_FILES, "key", null);
+			int count= 0;
+			for (int i= 0; i < files.length; i++) {
+				if (index.isIndexed(files[i]))
+					count++;
+			}
+			assertEquals(6, count);
+		} finally {
+			index.dispose();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,6 +23,7 @@ public class SearchTest {
 		suite.addTest(ParticipantTest.suite());
 		suite.addTest(FileAdapterTest.suite());
 		suite.addTest(NLSSearchTest.suite());
+		suite.addTest(NLSKeyIndexTest.suite());
 		return suite;
 	}
 }
@@ -88,6 +88,84 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		TypeNameMatch[] chooseImports(TypeNameMatch[][] openChoices, ISourceRange[] ranges);
 	}
 
+	/**
+	 * Caches the types found for unresolved simple type names, so that organizing the imports of
+	 * several compilation units of a project searches each simple name only once. A cache must only
+	 * be used as long as the types of its projects don't change, e.g. for one clean up run.
+	 * <p>
+	 * The cache is thread safe.
+	 * </p>
+	 *
+	 * @since 3.14
+	 */
+	public static class TypeNameMatchCache {
+
+		private final Map<IJavaProject, Map<String, List<TypeNameMatch>>> fMatches= new HashMap<>();
+
+		/**
+		 * Finds the types with the given simple names in the given project and its class path.
+		 *
+		 * @param project the project
+		 * @param simpleNames the simple type names
+		 * @param monitor the progress monitor
+		 * @return the found types
+		 * @throws JavaModelException if the search failed
+		 */
+		List<TypeNameMatch> findTypes(IJavaProject project, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException {
+			List<TypeNameMatch> result= new ArrayList<>();
+			List<String> missingNames= new ArrayList<>();
+			synchronized (fMatches) {
+				Map<String, List<TypeNameMatch>> projectMatches= fMatches.get(project);
+				for (String simpleName : simpleNames) {
+					List<TypeNameMatch> matches= projectMatches != null ? projectMatches.get(simpleName) : null;
+					if (matches != null) {
+						result.addAll(matches);
+					} else {
+						missingNames.add(simpleName);
+					}
+				}
+			}
+			if (missingNames.isEmpty()) {
+				return result;
+			}
+
+			List<TypeNameMatch> found= searchTypes(project, missingNames, monitor);
+			Map<String, List<TypeNameMatch>> foundByName= new HashMap<>();
+			for (String simpleName : missingNames) {
+				foundByName.put(simpleName, new ArrayList<TypeNameMatch>(1));
+			}
+			for (TypeNameMatch match : found) {
+				List<TypeNameMatch> matches= foundByName.get(match.getSimpleTypeName());
+				if (matches != null) {
+					matches.add(match);
+				}
+			}
+			synchronized (fMatches) {
+				Map<String, List<TypeNameMatch>> projectMatches= fMatches.get(project);
+				if (projectMatches == null) {
+					projectMatches= new HashMap<>();
+					fMatches.put(project, projectMatches);
+				}
+				projectMatches.putAll(foundByName);
+			}
+			result.addAll(found);
+			return result;
+		}
+	}
+
+	private static List<TypeNameMatch> searchTypes(IJavaProject project, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException {
+		char[][] allTypes= new char[simpleNames.size()][];
+		int i= 0;
+		for (Iterator<String> iter= simpleNames.iterator(); iter.hasNext();) {
+			allTypes[i++]= iter.next().toCharArray();
+		}
+		final ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project });
+		TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
+		new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		return typesFound;
+	}
+
 	/**
 	 * Matches unresolvable import declarations (those having associated
 	 * {@link IProblem#ImportNotFound} problems) to unresolved simple names.
@@ -220,6 +298,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 		private final UnresolvableImportMatcher fUnresolvableImportMatcher;
 
+		private final TypeNameMatchCache fTypeNameMatchCache;
+
 		private IPackageFragment fCurrPackage;
 
 		private ScopeAnalyzer fAnalyzer;
@@ -231,12 +311,13 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		private SourceRange[] fSourceRanges;
 
 
-		public TypeReferenceProcessor(Set<String> oldSingleImports, Set<String> oldDemandImports, CompilationUnit root, ImportRewrite impStructure, boolean ignoreLowerCaseNames, UnresolvableImportMatcher unresolvableImportMatcher) {
+		public TypeReferenceProcessor(Set<String> oldSingleImports, Set<String> oldDemandImports, CompilationUnit root, ImportRewrite impStructure, boolean ignoreLowerCaseNames, UnresolvableImportMatcher unresolvableImportMatcher, TypeNameMatchCache typeNameMatchCache) {
 			fOldSingleImports= oldSingleImports;
 			fOldDemandImports= oldDemandImports;
 			fImpStructure= impStructure;
 			fDoIgnoreLowerCaseNames= ignoreLowerCaseNames;
 			fUnresolvableImportMatcher= unresolvableImportMatcher;
+			fTypeNameMatchCache= typeNameMatchCache;
 
 			ICompilationUnit cu= impStructure.getCompilationUnit();
 
@@ -342,20 +423,17 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 				if (nUnresolved == 0) {
 					return false;
 				}
-				char[][] allTypes= new char[nUnresolved][];
-				int i= 0;
-				for (Iterator<String> iter= fUnresolvedTypes.keySet().iterator(); iter.hasNext();) {
-					allTypes[i++]= iter.next().toCharArray();
-				}
-				final ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
 				final IJavaProject project= fCurrPackage.getJavaProject();
-				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project });
-				TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
-				new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				List<TypeNameMatch> typesFound;
+				if (fTypeNameMatchCache != null) {
+					typesFound= fTypeNameMatchCache.findTypes(project, fUnresolvedTypes.keySet(), monitor);
+				} else {
+					typesFound= searchTypes(project, fUnresolvedTypes.keySet(), monitor);
+				}
 
 				boolean is50OrHigher= JavaModelUtil.is50OrHigher(project);
 
-				for (i= 0; i < typesFound.size(); i++) {
+				for (int i= 0; i < typesFound.size(); i++) {
 					TypeNameMatch curr= typesFound.get(i);
 					UnresolvedTypeData data= fUnresolvedTypes.get(curr.getSimpleTypeName());
 					if (data != null && isVisible(curr) && isOfKind(curr, data.typeKinds, is50OrHigher)) {
@@ -504,7 +582,26 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 	private final boolean fAllowSyntaxErrors;
 
+	private final TypeNameMatchCache fTypeNameMatchCache;
+
 	public OrganizeImportsOperation(ICompilationUnit cu, CompilationUnit astRoot, boolean ignoreLowerCaseNames, boolean save, boolean allowSyntaxErrors, IChooseImportQuery chooseImportQuery) {
+		this(cu, astRoot, ignoreLowerCaseNames, save, allowSyntaxErrors, chooseImportQuery, null);
+	}
+
+	/**
+	 * Creates an operation that looks up unresolved simple type names in the given cache.
+	 *
+	 * @param cu the compilation unit
+	 * @param astRoot the AST of the compilation unit, or <code>null</code> to use the shared AST
+	 * @param ignoreLowerCaseNames whether to ignore unresolved names starting with a lower case letter
+	 * @param save whether to save the compilation unit
+	 * @param allowSyntaxErrors whether to organize the imports of a compilation unit with syntax errors
+	 * @param chooseImportQuery the query to resolve ambiguous imports, or <code>null</code>
+	 * @param typeNameMatchCache the cache of the types found for simple type names, shared with
+	 *            the operations on other compilation units, or <code>null</code>
+	 * @since 3.14
+	 */
+	public OrganizeImportsOperation(ICompilationUnit cu, CompilationUnit astRoot, boolean ignoreLowerCaseNames, boolean save, boolean allowSyntaxErrors, IChooseImportQuery chooseImportQuery, TypeNameMatchCache typeNameMatchCache) {
 		fCompilationUnit= cu;
 		fASTRoot= astRoot;
 
@@ -512,6 +609,7 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		fIgnoreLowerCaseNames= ignoreLowerCaseNames;
 		fAllowSyntaxErrors= allowSyntaxErrors;
 		fChooseImportQuery= chooseImportQuery;
+		fTypeNameMatchCache= typeNameMatchCache;
 
 		fNumberOfImportsAdded= 0;
 		fNumberOfImportsRemoved= 0;
@@ -583,7 +681,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 					astRoot,
 					importsRewrite,
 					fIgnoreLowerCaseNames,
-					unresolvableImportMatcher);
+					unresolvableImportMatcher,
+					fTypeNameMatchCache);
 
 			Iterator<SimpleName> refIterator= typeReferences.iterator();
 			while (refIterator.hasNext()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1392,7 +1392,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 		return RefactoringCoreMessages.ChangeSignatureRefactoring_restructure_parameters;
 	}
 
-	private TextChangeManager createChangeManager(IProgressMonitor pm, RefactoringStatus result) throws CoreException {
+	private TextChangeManager createChangeManager(IProgressMonitor pm, final RefactoringStatus result) throws CoreException {
 		pm.beginTask(RefactoringCoreMessages.ChangeSignatureRefactoring_preview, 2);
 		fChangeManager= new TextChangeManager();
 		boolean isNoArgConstructor= isNoArgConstructor();
@@ -1403,55 +1403,73 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 		}else{
 			pm.worked(1);
 		}
+		final Map<ICompilationUnit, SearchResultGroup> groups= new HashMap<>();
 		for (int i= 0; i < fOccurrences.length; i++) {
-			if (pm.isCanceled())
-				throw new OperationCanceledException();
 			SearchResultGroup group= fOccurrences[i];
 			ICompilationUnit cu= group.getCompilationUnit();
 			if (cu == null)
 				continue;
-			CompilationUnitRewrite cuRewrite;
 			if (cu.equals(getCu())) {
-				cuRewrite= fBaseCuRewrite;
+				createChange(group, fBaseCuRewrite, namedSubclassMapping, result);
 			} else {
-				cuRewrite= new CompilationUnitRewrite(cu);
-				cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
+				groups.put(cu, group);
 			}
-			ASTNode[] nodes= ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot());
+		}
 
-			//IntroduceParameterObjectRefactoring needs to update declarations first:
-			List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
-			for (int j= 0; j < nodes.length; j++) {
-				OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(nodes[j], cuRewrite, result);
-				if (update instanceof DeclarationUpdate) {
-					update.updateNode();
-				} else {
-					deferredUpdates.add(update);
-				}
-			}
-			for (Iterator<OccurrenceUpdate<? extends ASTNode>> iter= deferredUpdates.iterator(); iter.hasNext();) {
-				iter.next().updateNode();
+		// parse the other compilation units in batches instead of one by one:
+		final Map<ICompilationUnit, Set<IType>> subclassMapping= namedSubclassMapping;
+		CompilationUnitRewriteBatch batch= new CompilationUnitRewriteBatch() {
+			@Override
+			protected CompilationUnitRewrite createRewrite(ICompilationUnit unit, CompilationUnit root) {
+				CompilationUnitRewrite cuRewrite= super.createRewrite(unit, root);
+				cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
+				return cuRewrite;
 			}
 
-			if (isNoArgConstructor && namedSubclassMapping.containsKey(cu)){
-				//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
-				Set<IType> subtypes= namedSubclassMapping.get(cu);
-				for (Iterator<IType> iter= subtypes.iterator(); iter.hasNext();) {
-					IType subtype= iter.next();
-					AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
-					if (subtypeNode != null)
-						modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
-				}
+			@Override
+			protected void acceptRewrite(CompilationUnitRewrite cuRewrite) throws CoreException {
+				createChange(groups.get(cuRewrite.getCu()), cuRewrite, subclassMapping, result);
 			}
-			TextChange change= cuRewrite.createChange(true);
-			if (change != null)
-				fChangeManager.manage(cu, change);
-		}
+		};
+		batch.process(groups.keySet().toArray(new ICompilationUnit[groups.size()]), new SubProgressMonitor(pm, 1));
 
 		pm.done();
 		return fChangeManager;
 	}
 
+	private void createChange(SearchResultGroup group, CompilationUnitRewrite cuRewrite, Map<ICompilationUnit, Set<IType>> namedSubclassMapping, RefactoringStatus result) throws CoreException {
+		ICompilationUnit cu= cuRewrite.getCu();
+		ASTNode[] nodes= ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot());
+
+		//IntroduceParameterObjectRefactoring needs to update declarations first:
+		List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
+		for (int j= 0; j < nodes.length; j++) {
+			OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(nodes[j], cuRewrite, result);
+			if (update instanceof DeclarationUpdate) {
+				update.updateNode();
+			} else {
+				deferredUpdates.add(update);
+			}
+		}
+		for (Iterator<OccurrenceUpdate<? extends ASTNode>> iter= deferredUpdates.iterator(); iter.hasNext();) {
+			iter.next().updateNode();
+		}
+
+		if (namedSubclassMapping != null && namedSubclassMapping.containsKey(cu)){
+			//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
+			Set<IType> subtypes= namedSubclassMapping.get(cu);
+			for (Iterator<IType> iter= subtypes.iterator(); iter.hasNext();) {
+				IType subtype= iter.next();
+				AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
+				if (subtypeNode != null)
+					modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
+			}
+		}
+		TextChange change= cuRewrite.createChange(true);
+		if (change != null)
+			fChangeManager.manage(cu, change);
+	}
+
 	private Map<ICompilationUnit, Set<IType>> createNamedSubclassMapping(IProgressMonitor pm) throws JavaModelException{
 		IType[] subclasses= getCachedTypeHierarchy(new SubProgressMonitor(pm, 1)).getSubclasses(fMethod.getDeclaringType());
 		Map<ICompilationUnit, Set<IType>> result= new HashMap<>();
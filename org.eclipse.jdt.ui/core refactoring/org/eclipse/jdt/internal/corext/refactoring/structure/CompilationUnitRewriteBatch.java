@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.structure;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+/**
+ * Creates {@link CompilationUnitRewrite}s for a set of compilation units from ASTs that are
+ * created in batches by an {@link ASTBatchParser}, instead of letting each rewrite parse its
+ * compilation unit on its own.
+ * <p>
+ * The ASTs of a batch share the binding environment of the parser, which is not thread-safe.
+ * The rewrites are therefore passed one after the other to {@link #acceptRewrite(CompilationUnitRewrite)}
+ * as soon as their AST is available. Clients must not keep references to a rewrite or its AST
+ * afterwards, such that the memory of a batch can be freed before the next batch is parsed.
+ * </p>
+ *
+ * @since 3.14
+ */
+public abstract class CompilationUnitRewriteBatch {
+
+	private static class RewriteException extends RuntimeException {
+
+		private static final long serialVersionUID= 1L;
+
+		private final CoreException fException;
+
+		public RewriteException(CoreException exception) {
+			fException= exception;
+		}
+
+		public CoreException getException() {
+			return fException;
+		}
+	}
+
+	private final WorkingCopyOwner fOwner;
+
+	public CompilationUnitRewriteBatch() {
+		this(null);
+	}
+
+	/**
+	 * @param owner the working copy owner of the compilation units, or <code>null</code> for
+	 *            the primary owner
+	 */
+	public CompilationUnitRewriteBatch(WorkingCopyOwner owner) {
+		fOwner= owner;
+	}
+
+	/**
+	 * Creates the rewrites of the given compilation units and passes them to
+	 * {@link #acceptRewrite(CompilationUnitRewrite)} in no particular order.
+	 *
+	 * @param units the compilation units
+	 * @param pm the progress monitor, or <code>null</code>
+	 * @throws CoreException if {@link #acceptRewrite(CompilationUnitRewrite)} failed
+	 * @throws OperationCanceledException if the operation has been canceled
+	 */
+	public final void process(ICompilationUnit[] units, IProgressMonitor pm) throws CoreException {
+		if (pm == null)
+			pm= new NullProgressMonitor();
+
+		ASTBatchParser parser= new ASTBatchParser() {
+			@Override
+			protected ASTParser createParser(IJavaProject project) {
+				ASTParser result= super.createParser(project);
+				result.setStatementsRecovery(true);
+				if (fOwner != null)
+					result.setWorkingCopyOwner(fOwner);
+				result.setCompilerOptions(RefactoringASTParser.getCompilerOptions(project));
+				return result;
+			}
+		};
+		final IProgressMonitor monitor= pm;
+		ASTRequestor requestor= new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				try {
+					acceptRewrite(createRewrite(source, ast));
+				} catch (CoreException e) {
+					throw new RewriteException(e);
+				}
+			}
+		};
+		try {
+			parser.createASTs(units, new String[0], requestor, pm);
+		} catch (RewriteException e) {
+			throw e.getException();
+		}
+	}
+
+	/**
+	 * Creates the rewrite of a compilation unit. Subclasses may extend to configure the rewrite.
+	 *
+	 * @param unit the compilation unit
+	 * @param root the AST of the compilation unit
+	 * @return the rewrite
+	 */
+	protected CompilationUnitRewrite createRewrite(ICompilationUnit unit, CompilationUnit root) {
+		return new CompilationUnitRewrite(fOwner, unit, root);
+	}
+
+	/**
+	 * Processes the rewrite of a compilation unit.
+	 *
+	 * @param rewrite the rewrite
+	 * @throws CoreException if the rewrite could not be processed
+	 */
+	protected abstract void acceptRewrite(CompilationUnitRewrite rewrite) throws CoreException;
+}
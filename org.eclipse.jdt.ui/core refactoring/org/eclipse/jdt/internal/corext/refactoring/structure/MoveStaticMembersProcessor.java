@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -719,11 +719,11 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		return fChange;
 	}
 
-	private void createChange(List<ICompilationUnit> modifiedCus, RefactoringStatus status, IProgressMonitor monitor) throws CoreException {
+	private void createChange(List<ICompilationUnit> modifiedCus, final RefactoringStatus status, IProgressMonitor monitor) throws CoreException {
 		monitor.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_creating, 5);
 		fChange= new DynamicValidationRefactoringChange(createDescriptor(), RefactoringCoreMessages.MoveMembersRefactoring_move_members);
 		fTarget= getCuRewrite(fDestinationType.getCompilationUnit());
-		ITypeBinding targetBinding= getDestinationBinding();
+		final ITypeBinding targetBinding= getDestinationBinding();
 		if (targetBinding == null) {
 			status.addFatalError(Messages.format(RefactoringCoreMessages.MoveMembersRefactoring_compile_errors, BasicElementLabels.getFileName(fTarget.getCu())));
 			monitor.done();
@@ -731,7 +731,7 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		}
 
 		try {
-			Map<IMember, IncomingMemberVisibilityAdjustment> adjustments= new HashMap<>();
+			final Map<IMember, IncomingMemberVisibilityAdjustment> adjustments= new HashMap<>();
 			IMember member= null;
 			SubProgressMonitor sub= new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
 			sub.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_creating, fMembersToMove.length);
@@ -803,21 +803,35 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 			final MemberVisibilityAdjustor adjustor= new MemberVisibilityAdjustor(fDestinationType, fDestinationType);
 			sub= new SubProgressMonitor(monitor, 1);
 			sub.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_creating, units.length);
+			List<ICompilationUnit> otherUnits= new ArrayList<>(units.length);
 			for (int index= 0; index < units.length; index++) {
 				ICompilationUnit unit= units[index];
-				CompilationUnitRewrite rewrite= getCuRewrite(unit);
-				adjustor.setRewrites(Collections.singletonMap(unit, rewrite));
-				adjustor.setAdjustments(adjustments);
-				adjustor.rewriteVisibility(unit, new SubProgressMonitor(sub, 1));
-				ReferenceAnalyzer analyzer= new ReferenceAnalyzer(rewrite, fMemberBindings, targetBinding, fSourceBinding);
-				rewrite.getRoot().accept(analyzer);
-				status.merge(analyzer.getStatus());
-				if (status.hasFatalError()) {
-					fChange= null;
-					return;
+				if (fSource.getCu().equals(unit) || fTarget.getCu().equals(unit)) {
+					updateReferences(getCuRewrite(unit), adjustor, adjustments, targetBinding, status, new SubProgressMonitor(sub, 1));
+					if (status.hasFatalError()) {
+						fChange= null;
+						return;
+					}
+				} else {
+					otherUnits.add(unit);
+				}
+			}
+
+			// parse the other compilation units in batches instead of one by one:
+			CompilationUnitRewriteBatch batch= new CompilationUnitRewriteBatch() {
+				@Override
+				protected void acceptRewrite(CompilationUnitRewrite rewrite) throws CoreException {
+					if (status.hasFatalError())
+						return;
+					updateReferences(rewrite, adjustor, adjustments, targetBinding, status, new NullProgressMonitor());
+					if (!status.hasFatalError())
+						fChange.add(rewrite.createChange(true));
 				}
-				if (!(fSource.getCu().equals(unit) || fTarget.getCu().equals(unit)))
-					fChange.add(rewrite.createChange(true));
+			};
+			batch.process(otherUnits.toArray(new ICompilationUnit[otherUnits.size()]), new SubProgressMonitor(sub, otherUnits.size()));
+			if (status.hasFatalError()) {
+				fChange= null;
+				return;
 			}
 			status.merge(moveMembers(fMemberDeclarations, memberSources));
 			fChange.add(fSource.createChange(true));
@@ -832,6 +846,16 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		}
 	}
 
+	private void updateReferences(CompilationUnitRewrite rewrite, MemberVisibilityAdjustor adjustor, Map<IMember, IncomingMemberVisibilityAdjustment> adjustments, ITypeBinding targetBinding, RefactoringStatus status, IProgressMonitor monitor) throws JavaModelException {
+		ICompilationUnit unit= rewrite.getCu();
+		adjustor.setRewrites(Collections.singletonMap(unit, rewrite));
+		adjustor.setAdjustments(adjustments);
+		adjustor.rewriteVisibility(unit, monitor);
+		ReferenceAnalyzer analyzer= new ReferenceAnalyzer(rewrite, fMemberBindings, targetBinding, fSourceBinding);
+		rewrite.getRoot().accept(analyzer);
+		status.merge(analyzer.getStatus());
+	}
+
 	private MoveStaticMembersDescriptor createDescriptor() {
 		final IMember[] members= getMembersToMove();
 		String project= null;
@@ -0,0 +1,479 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.refactoring.nls.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Index of the NLS keys in the workspace, shared by the NLS search and the properties key
+ * hyperlink.
+ * <p>
+ * For a properties file, the index holds the declared keys and the lines of the file, so that the
+ * position of a key is found without reading the file again. For other text files, it holds the
+ * hash codes of the strings enclosed in double quotes, so that the files that may reference a key
+ * are found without reading all files of a project.
+ * </p>
+ * <p>
+ * The entry of a file is dropped when a resource delta reports a change of the file, and is
+ * recomputed on the next query. Files that are connected to a text file buffer are never looked up
+ * in the index, since their buffer may differ from their contents.
+ * </p>
+ * <p>
+ * Only the entries of the most recently used properties files are kept. The entries of other text
+ * files are kept until a delta drops them. Since a query visits all files of a container in the
+ * same order, evicting the least recently used entries would drop each entry before it is used
+ * again. Instead, files are no longer added once the entries hold a maximum number of hash codes,
+ * and the files that did not fit are read on each query.
+ * </p>
+ *
+ * @since 3.14
+ */
+public class NLSKeyIndex implements IResourceChangeListener {
+
+	/**
+	 * Strings enclosed in double quotes that are longer are not indexed. Keys that are longer are
+	 * looked up in all files.
+	 */
+	private static final int MAX_QUOTED_LENGTH= 256;
+
+	/**
+	 * The maximum number of properties files in the index.
+	 */
+	private static final int MAX_PROPERTIES_FILES= 100;
+
+	/**
+	 * The default maximum number of hash codes of all text files in the index.
+	 */
+	private static final int MAX_HASH_CODES= 2000000;
+
+	/**
+	 * The keys and lines of a properties file.
+	 */
+	public static class PropertiesFileEntry {
+		private final long fModificationStamp;
+		private final Properties fProperties;
+		private final Set<Object> fDuplicateKeys;
+		private final String[] fLines;
+		private final int[] fLineOffsets;
+
+		PropertiesFileEntry(long modificationStamp, Properties properties, Set<Object> duplicateKeys, String[] lines, int[] lineOffsets) {
+			fModificationStamp= modificationStamp;
+			fProperties= properties;
+			fDuplicateKeys= duplicateKeys;
+			fLines= lines;
+			fLineOffsets= lineOffsets;
+		}
+
+		/**
+		 * @return the properties, must not be modified
+		 */
+		Properties getProperties() {
+			return fProperties;
+		}
+
+		/**
+		 * @return the keys that are declared more than once, must not be modified
+		 */
+		Set<Object> getDuplicateKeys() {
+			return fDuplicateKeys;
+		}
+
+		/**
+		 * Finds the start position of a property name. We assume that the key is the first match
+		 * on a line.
+		 *
+		 * @param propertyName the escaped property name
+		 * @return the start position of the property name in the file, -1 if not found
+		 */
+		public int findPropertyNameStartPosition(String propertyName) {
+			int keyLength= propertyName.length();
+			for (int i= 0; i < fLines.length; i++) {
+				String line= fLines[i];
+				int index= line.indexOf(propertyName);
+				if (index == -1)
+					continue;
+				int charPos= index + keyLength;
+				boolean hasNoValue= (charPos >= line.length());
+				char terminatorChar= hasNoValue ? 0 : line.charAt(charPos);
+				if (line.trim().startsWith(propertyName) && (hasNoValue || Character.isWhitespace(terminatorChar) || terminatorChar == '='))
+					return fLineOffsets[i] + index;
+			}
+			return -1; //key not found in file. See bug 63794. This can happen if the key contains escaped characters.
+		}
+	}
+
+	/**
+	 * The sorted hash codes of the strings enclosed in double quotes in a text file.
+	 */
+	private static class QuotedStringsEntry {
+		private final long fModificationStamp;
+		private final int[] fHashCodes;
+
+		QuotedStringsEntry(long modificationStamp, int[] hashCodes) {
+			fModificationStamp= modificationStamp;
+			fHashCodes= hashCodes;
+		}
+
+		boolean mayContain(String string) {
+			return Arrays.binarySearch(fHashCodes, string.hashCode()) >= 0;
+		}
+	}
+
+	private final Map<IFile, PropertiesFileEntry> fPropertiesFiles= new LinkedHashMap<IFile, PropertiesFileEntry>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IFile, PropertiesFileEntry> eldest) {
+			return size() > MAX_PROPERTIES_FILES;
+		}
+	};
+	private final Map<IFile, QuotedStringsEntry> fTextFiles= new HashMap<>();
+	private final int fMaxHashCodes;
+	private int fHashCodeCount;
+
+	public NLSKeyIndex() {
+		this(MAX_HASH_CODES);
+	}
+
+	/**
+	 * Creates an index that holds at most the given number of hash codes of text files.
+	 *
+	 * @param maxHashCodes the maximum number of hash codes
+	 */
+	public NLSKeyIndex(int maxHashCodes) {
+		fMaxHashCodes= maxHashCodes;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		synchronized (this) {
+			fPropertiesFiles.clear();
+			fTextFiles.clear();
+			fHashCodeCount= 0;
+		}
+	}
+
+	/**
+	 * Returns the keys and lines of the given properties file.
+	 *
+	 * @param propertiesFile the properties file
+	 * @return the entry of the properties file; empty if the file could not be read
+	 */
+	public PropertiesFileEntry getPropertiesFileEntry(IFile propertiesFile) {
+		ITextFileBuffer buffer= getTextFileBuffer(propertiesFile);
+		if (buffer != null)
+			return createPropertiesFileEntry(IResource.NULL_STAMP, buffer.getDocument().get().getBytes(), buffer.getDocument().get());
+
+		long stamp= propertiesFile.getModificationStamp();
+		synchronized (this) {
+			PropertiesFileEntry entry= fPropertiesFiles.get(propertiesFile);
+			if (entry != null && entry.fModificationStamp == stamp)
+				return entry;
+		}
+
+		String encoding;
+		try {
+			encoding= propertiesFile.getCharset();
+		} catch (CoreException e) {
+			encoding= "ISO-8859-1"; //$NON-NLS-1$
+		}
+		PropertiesFileEntry entry;
+		try {
+			byte[] contents= readContents(propertiesFile);
+			entry= createPropertiesFileEntry(stamp, contents, new String(contents, encoding));
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+			return createEmptyEntry();
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return createEmptyEntry();
+		}
+		synchronized (this) {
+			fPropertiesFiles.put(propertiesFile, entry);
+		}
+		return entry;
+	}
+
+	private static PropertiesFileEntry createEmptyEntry() {
+		return new PropertiesFileEntry(IResource.NULL_STAMP, new Properties(), new HashSet<>(), new String[0], new int[0]);
+	}
+
+	private static PropertiesFileEntry createPropertiesFileEntry(long stamp, byte[] contents, String text) {
+		Set<Object> duplicateKeys= new HashSet<>();
+		Properties properties= new Properties(duplicateKeys);
+		try {
+			properties.load(new ByteArrayInputStream(contents));
+		} catch (IOException e) {
+			properties= new Properties();
+		}
+
+		List<String> lines= new ArrayList<>();
+		List<Integer> lineOffsets= new ArrayList<>();
+		int start= 0;
+		for (int i= 0; i < text.length(); i++) {
+			char ch= text.charAt(i);
+			if (ch == '\n' || ch == '\r') {
+				lines.add(text.substring(start, i));
+				lineOffsets.add(Integer.valueOf(start));
+				if (ch == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n')
+					i++;
+				start= i + 1;
+			}
+		}
+		if (start < text.length()) {
+			lines.add(text.substring(start));
+			lineOffsets.add(Integer.valueOf(start));
+		}
+		int[] offsets= new int[lineOffsets.size()];
+		for (int i= 0; i < offsets.length; i++) {
+			offsets[i]= lineOffsets.get(i).intValue();
+		}
+		return new PropertiesFileEntry(stamp, properties, duplicateKeys, lines.toArray(new String[lines.size()]), offsets);
+	}
+
+	/**
+	 * Returns the files below the given container that may contain the given key enclosed in double
+	 * quotes. Derived resources are not considered.
+	 * <p>
+	 * The result is a superset of the files containing the key. Files that are connected to a text
+	 * file buffer are always included.
+	 * </p>
+	 *
+	 * @param container the container to search
+	 * @param fileNamePattern the pattern the names of the files must match
+	 * @param key the key, not enclosed in double quotes
+	 * @param pm the progress monitor, or <code>null</code>
+	 * @return the files that may contain the key, or <code>null</code> if the key cannot be looked
+	 *         up in the index and all files must be searched
+	 * @throws CoreException if the container cannot be traversed
+	 */
+	public IFile[] findFilesWithQuotedKey(IContainer container, final Pattern fileNamePattern, String key, IProgressMonitor pm) throws CoreException {
+		if (key.length() > MAX_QUOTED_LENGTH || key.indexOf('"') != -1)
+			return null;
+		if (pm == null)
+			pm= new NullProgressMonitor();
+
+		final List<IFile> files= new ArrayList<>();
+		container.accept(new IResourceProxyVisitor() {
+			@Override
+			public boolean visit(IResourceProxy proxy) throws CoreException {
+				if (proxy.isDerived())
+					return false;
+				if (proxy.getType() == IResource.FILE) {
+					if (fileNamePattern.matcher(proxy.getName()).matches())
+						files.add((IFile) proxy.requestResource());
+					return false;
+				}
+				return true;
+			}
+		}, IResource.NONE);
+
+		pm.beginTask("", files.size()); //$NON-NLS-1$
+		try {
+			List<IFile> result= new ArrayList<>();
+			for (Iterator<IFile> iter= files.iterator(); iter.hasNext();) {
+				if (pm.isCanceled())
+					throw new OperationCanceledException();
+				IFile file= iter.next();
+				QuotedStringsEntry entry= getTextFileBuffer(file) == null ? getQuotedStringsEntry(file) : null;
+				if (entry == null || entry.mayContain(key))
+					result.add(file);
+				pm.worked(1);
+			}
+			return result.toArray(new IFile[result.size()]);
+		} finally {
+			pm.done();
+		}
+	}
+
+	/*
+	 * Returns null if the file could not be read.
+	 */
+	private QuotedStringsEntry getQuotedStringsEntry(IFile file) {
+		long stamp= file.getModificationStamp();
+		synchronized (this) {
+			QuotedStringsEntry entry= fTextFiles.get(file);
+			if (entry != null && entry.fModificationStamp == stamp)
+				return entry;
+		}
+
+		String text;
+		try {
+			text= new String(readContents(file), file.getCharset());
+		} catch (CoreException e) {
+			return null;
+		} catch (IOException e) {
+			return null;
+		}
+		QuotedStringsEntry entry= new QuotedStringsEntry(stamp, computeQuotedStringHashCodes(text));
+		synchronized (this) {
+			removeTextFile(file);
+			if (fHashCodeCount + entry.fHashCodes.length <= fMaxHashCodes) {
+				fTextFiles.put(file, entry);
+				fHashCodeCount+= entry.fHashCodes.length;
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Tells whether the hash codes of the given text file are in the index.
+	 *
+	 * @param file the file
+	 * @return <code>true</code> if the file is in the index
+	 */
+	public synchronized boolean isIndexed(IFile file) {
+		return fTextFiles.containsKey(file);
+	}
+
+	/*
+	 * Hashes the text between any two consecutive double quotes, since a key enclosed in double
+	 * quotes does not contain double quotes.
+	 */
+	private static int[] computeQuotedStringHashCodes(String text) {
+		int[] hashCodes= new int[16];
+		int count= 0;
+		int start= text.indexOf('"');
+		while (start != -1) {
+			int end= text.indexOf('"', start + 1);
+			if (end == -1)
+				break;
+			if (end - start - 1 <= MAX_QUOTED_LENGTH) {
+				int hashCode= 0;
+				for (int i= start + 1; i < end; i++) {
+					hashCode= 31 * hashCode + text.charAt(i);
+				}
+				if (count == hashCodes.length)
+					hashCodes= Arrays.copyOf(hashCodes, count * 2);
+				hashCodes[count++]= hashCode;
+			}
+			start= end;
+		}
+		Arrays.sort(hashCodes, 0, count);
+		int unique= 0;
+		for (int i= 0; i < count; i++) {
+			if (unique == 0 || hashCodes[unique - 1] != hashCodes[i])
+				hashCodes[unique++]= hashCodes[i];
+		}
+		return Arrays.copyOf(hashCodes, unique);
+	}
+
+	private static ITextFileBuffer getTextFileBuffer(IFile file) {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		return manager != null ? manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) : null;
+	}
+
+	private static byte[] readContents(IFile file) throws CoreException, IOException {
+		InputStream stream= file.getContents();
+		try {
+			ByteArrayOutputStream out= new ByteArrayOutputStream();
+			byte[] buffer= new byte[8192];
+			int read;
+			while ((read= stream.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		synchronized (this) {
+			if (delta == null || fPropertiesFiles.isEmpty() && fTextFiles.isEmpty())
+				return;
+		}
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+				@Override
+				public boolean visit(IResourceDelta child) throws CoreException {
+					IResource resource= child.getResource();
+					if (resource.getType() == IResource.FILE) {
+						if (child.getKind() == IResourceDelta.REMOVED || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0)
+							remove((IFile) resource);
+						return false;
+					}
+					if (resource.getType() == IResource.PROJECT && (child.getKind() == IResourceDelta.REMOVED || (child.getFlags() & IResourceDelta.OPEN) != 0)) {
+						removeAll((IProject) resource);
+						return false;
+					}
+					return true;
+				}
+			});
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	private synchronized void remove(IFile file) {
+		fPropertiesFiles.remove(file);
+		removeTextFile(file);
+	}
+
+	private void removeTextFile(IFile file) {
+		QuotedStringsEntry entry= fTextFiles.remove(file);
+		if (entry != null)
+			fHashCodeCount-= entry.fHashCodes.length;
+	}
+
+	private synchronized void removeAll(IProject project) {
+		for (Iterator<IFile> iter= fPropertiesFiles.keySet().iterator(); iter.hasNext();) {
+			if (project.equals(iter.next().getProject()))
+				iter.remove();
+		}
+		for (Iterator<Map.Entry<IFile, QuotedStringsEntry>> iter= fTextFiles.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<IFile, QuotedStringsEntry> entry= iter.next();
+			if (project.equals(entry.getKey().getProject())) {
+				fHashCodeCount-= entry.getValue().fHashCodes.length;
+				iter.remove();
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -105,6 +105,7 @@ import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.SaveParticipantReg
 import org.eclipse.jdt.internal.ui.preferences.MembersOrderPreferenceCache;
 import org.eclipse.jdt.internal.ui.preferences.formatter.FormatterProfileStore;
 import org.eclipse.jdt.internal.ui.propertiesfileeditor.PropertiesFileDocumentProvider;
+import org.eclipse.jdt.internal.ui.refactoring.nls.search.NLSKeyIndex;
 import org.eclipse.jdt.internal.ui.text.PreferencesAdapter;
 import org.eclipse.jdt.internal.ui.text.folding.JavaFoldingStructureProviderRegistry;
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory;
@@ -112,6 +113,7 @@ import org.eclipse.jdt.internal.ui.text.java.hover.JavaEditorTextHoverDescriptor
 import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImagesOnFileSystemRegistry;
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelCache;
 import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
 import org.eclipse.jdt.internal.ui.wizards.buildpaths.ClasspathAttributeConfigurationDescriptors;
 
@@ -213,6 +215,10 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	private MembersOrderPreferenceCache fMembersOrderPreferenceCache;
 
+	private JavaElementLabelCache fJavaElementLabelCache;
+
+	private NLSKeyIndex fNLSKeyIndex;
+
 	private JavaEditorTextHoverDescriptor[] fJavaEditorTextHoverDescriptors;
 
 	/**
@@ -394,6 +400,10 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		fMembersOrderPreferenceCache= new MembersOrderPreferenceCache();
 		fMembersOrderPreferenceCache.install(store);
 
+		// installed on startup so that labels are invalidated before views refresh
+		fJavaElementLabelCache= new JavaElementLabelCache();
+		fJavaElementLabelCache.install(store);
+
 		FormatterProfileStore.checkCurrentOptionsVersion();
 		
 		// make sure org.eclipse.jdt.core.manipulation is loaded too
@@ -486,6 +496,16 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 				fMembersOrderPreferenceCache= null;
 			}
 
+			if (fJavaElementLabelCache != null) {
+				fJavaElementLabelCache.dispose();
+				fJavaElementLabelCache= null;
+			}
+
+			if (fNLSKeyIndex != null) {
+				fNLSKeyIndex.dispose();
+				fNLSKeyIndex= null;
+			}
+
 			if (fSaveParticipantRegistry != null) {
 				fSaveParticipantRegistry.dispose();
 				fSaveParticipantRegistry= null;
@@ -577,6 +597,18 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		return fProblemMarkerManager;
 	}
 
+	/**
+	 * Returns the index of the NLS keys in the workspace.
+	 *
+	 * @return the NLS key index
+	 * @since 3.14
+	 */
+	public synchronized NLSKeyIndex getNLSKeyIndex() {
+		if (fNLSKeyIndex == null)
+			fNLSKeyIndex= new NLSKeyIndex();
+		return fNLSKeyIndex;
+	}
+
 	public synchronized JavaTextTools getJavaTextTools() {
 		if (fJavaTextTools == null)
 			fJavaTextTools= new JavaTextTools(getPreferenceStore(), getJavaCorePluginPreferences());
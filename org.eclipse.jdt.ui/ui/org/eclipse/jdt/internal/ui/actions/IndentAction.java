@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -56,15 +56,15 @@ import org.eclipse.jdt.ui.text.IJavaPartitions;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.JavaBracketIndex;
 import org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner;
 import org.eclipse.jdt.internal.ui.text.JavaIndenter;
 
 
 /**
  * Indents a line or range of lines in a Java document to its correct position. No complete
- * AST must be present, the indentation is computed using heuristics. The algorithm used is fast for
- * single lines, but does not store any information and therefore not so efficient for large line
- * ranges.
+ * AST must be present, the indentation is computed using heuristics. For ranges of lines, the
+ * brackets of the document are indexed once so that scopes can be skipped without scanning.
  *
  * @see org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner
  * @see org.eclipse.jdt.internal.ui.text.JavaIndenter
@@ -165,10 +165,12 @@ public class IndentAction extends TextEditorAction {
 					if (target != null)
 						target.beginCompoundChange();
 
+					final boolean multiLine= nLines > 1;
+					JavaBracketIndex bracketIndex= multiLine ? JavaBracketIndex.create(document) : null;
 					try {
 						JavaHeuristicScanner scanner= new JavaHeuristicScanner(document);
+						scanner.setBracketIndex(bracketIndex);
 						JavaIndenter indenter= new JavaIndenter(document, scanner, getJavaProject());
-						final boolean multiLine= nLines > 1;
 						boolean hasChanged= false;
 						for (int i= 0; i < nLines; i++) {
 							hasChanged |= indentLine(document, firstLine + i, offset, indenter, scanner, multiLine);
@@ -196,6 +198,8 @@ public class IndentAction extends TextEditorAction {
 						JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IStatus.OK, "ConcurrentModification in IndentAction", e)); //$NON-NLS-1$
 
 					} finally {
+						if (bracketIndex != null)
+							bracketIndex.dispose();
 						if (target != null)
 							target.endCompoundChange();
 					}
@@ -263,20 +267,27 @@ public class IndentAction extends TextEditorAction {
 		int minusOne= length == 0 ? 0 : 1;
 		int numberOfLines= document.getLineOfOffset(offset + length - minusOne) - firstLine + 1;
 
-		int shift= 0;
-		for (int i= 0; i < numberOfLines; i++) {
-			ReplaceData data= computeReplaceData(document, firstLine + i, indenter, scanner, numberOfLines > 1, false, project);
-
-			int replaceLength= data.end - data.offset;
-			String currentIndent= document.get(data.offset, replaceLength);
-
-			// only change the document if it is a real change
-			if (!data.indent.equals(currentIndent)) {
-				edits.add(new ReplaceEdit(data.offset + shift, replaceLength, data.indent));
-				//We need to change the document, the indenter depends on it.
-				document.replace(data.offset, replaceLength, data.indent);
-				shift-= data.indent.length() - replaceLength;
+		JavaBracketIndex bracketIndex= numberOfLines > 1 ? JavaBracketIndex.create(document) : null;
+		scanner.setBracketIndex(bracketIndex);
+		try {
+			int shift= 0;
+			for (int i= 0; i < numberOfLines; i++) {
+				ReplaceData data= computeReplaceData(document, firstLine + i, indenter, scanner, numberOfLines > 1, false, project);
+
+				int replaceLength= data.end - data.offset;
+				String currentIndent= document.get(data.offset, replaceLength);
+
+				// only change the document if it is a real change
+				if (!data.indent.equals(currentIndent)) {
+					edits.add(new ReplaceEdit(data.offset + shift, replaceLength, data.indent));
+					//We need to change the document, the indenter depends on it.
+					document.replace(data.offset, replaceLength, data.indent);
+					shift-= data.indent.length() - replaceLength;
+				}
 			}
+		} finally {
+			if (bracketIndex != null)
+				bracketIndex.dispose();
 		}
 
 		if (edits.size() == 0)
@@ -33,6 +33,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.PerformanceStats;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -1026,6 +1027,19 @@ public class CompilationUnitEditor extends JavaEditor implements IJavaReconcilin
 
 	private CorrectionCommandInstaller fCorrectionCommands;
 
+	/**
+	 * The name of the performance event used to time the reconciling listeners.
+	 * @since 3.14
+	 */
+	private static final String PERF_RECONCILING_LISTENER= JavaPlugin.getPluginId() + "/perf/reconcile/listeners"; //$NON-NLS-1$
+
+	/**
+	 * If <code>true</code>, execution time of the reconciling listeners is measured and the data
+	 * forwarded to core's {@link PerformanceStats} service.
+	 * @since 3.14
+	 */
+	private static final boolean MEASURE_PERFORMANCE= PerformanceStats.isEnabled(PERF_RECONCILING_LISTENER);
+
 	/**
 	 * Reconciling listeners.
 	 * @since 3.0
@@ -1683,9 +1697,19 @@ public class CompilationUnitEditor extends JavaEditor implements IJavaReconcilin
 		// Always notify AST provider
 		javaPlugin.getASTProvider().reconciled(ast, getInputJavaElement(), progressMonitor);
 
-		// Notify listeners
+		// Notify listeners, in order and in the reconciler thread
 		for (IJavaReconcilingListener listener : fReconcilingListeners) {
-			listener.reconciled(ast, forced, progressMonitor);
+			PerformanceStats stats= null;
+			if (MEASURE_PERFORMANCE) {
+				stats= PerformanceStats.getStats(PERF_RECONCILING_LISTENER, listener);
+				stats.startRun();
+			}
+			try {
+				listener.reconciled(ast, forced, progressMonitor);
+			} finally {
+				if (stats != null)
+					stats.endRun();
+			}
 		}
 
 		// Update Java Outline page selection
@@ -24,6 +24,12 @@ import org.eclipse.jdt.ui.JavaUI;
  */
 public abstract class SemanticHighlighting {
 
+	/**
+	 * Binding kind passed to {@link #consumesBindingKind(int)} for names that do not resolve.
+	 * @since 3.14
+	 */
+	public static final int NO_BINDING= 0;
+
 	/**
 	 * @return the preference key, will be augmented by a prefix and a suffix for each preference
 	 */
@@ -108,6 +114,25 @@ public abstract class SemanticHighlighting {
 		return false;
 	}
 
+	/**
+	 * Tells whether this semantic highlighting can consume the token of a
+	 * {@link org.eclipse.jdt.core.dom.SimpleName} whose binding has the given kind.
+	 * <p>
+	 * The reconciler dispatches simple names only to the semantic highlightings that return
+	 * <code>true</code> for the kind of the name's binding. Implementors must return
+	 * <code>true</code> for every kind for which {@link #consumes(SemanticToken)} can return
+	 * <code>true</code>. The default implementation returns <code>true</code>.
+	 * </p>
+	 *
+	 * @param bindingKind the kind as returned by {@link org.eclipse.jdt.core.dom.IBinding#getKind()}
+	 *            or {@link #NO_BINDING} if the name does not resolve
+	 * @return <code>true</code> if tokens with the given binding kind can be consumed
+	 * @since 3.14
+	 */
+	public boolean consumesBindingKind(int bindingKind) {
+		return true;
+	}
+
 	private String getThemeColorKey() {
 		return JavaUI.ID_PLUGIN + "." + getPreferenceKey() + "Highlighting";  //$NON-NLS-1$//$NON-NLS-2$
 	}
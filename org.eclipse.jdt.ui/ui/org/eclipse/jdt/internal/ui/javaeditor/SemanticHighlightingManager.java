@@ -161,6 +161,20 @@ public class SemanticHighlightingManager implements IPropertyChangeListener {
 			}
 		}
 
+		/**
+		 * Is this position disjoint from the given range? Synchronizes on position updater.
+		 *
+		 * @param off The range offset
+		 * @param len The range length
+		 * @return <code>true</code> iff this position is not deleted and does not overlap the given range.
+		 * @since 3.14
+		 */
+		public boolean isOutside(int off, int len) {
+			synchronized (fLock) {
+				return !isDeleted() && (getOffset() + getLength() <= off || off + len <= getOffset());
+			}
+		}
+
 		public void update(int off, int len) {
 			synchronized (fLock) {
 				super.setOffset(off);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
 package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
@@ -22,25 +23,37 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 
 import org.eclipse.ui.IWorkbenchPartSite;
 
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.BooleanLiteral;
 import org.eclipse.jdt.core.dom.CharacterLiteral;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.NumberLiteral;
 import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 
 import org.eclipse.jdt.internal.corext.dom.GenericVisitor;
 
@@ -164,7 +177,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
+			int[] candidates= getCandidates(fToken.getBinding());
+			for (int j= 0, n= candidates.length; j < n; j++) {
+				int i= candidates[j];
 				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
 					int offset= node.getStartPosition();
@@ -178,6 +193,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			return false;
 		}
 
+		/**
+		 * Returns the indices of the semantic highlightings that can consume a simple name with
+		 * the given binding, in the order of {@link SemanticHighlightingReconciler#fJobSemanticHighlightings}.
+		 *
+		 * @param binding the binding of the simple name or <code>null</code>
+		 * @return the indices of the candidate semantic highlightings
+		 */
+		private int[] getCandidates(IBinding binding) {
+			int kind= binding != null ? binding.getKind() : SemanticHighlighting.NO_BINDING;
+			if (kind >= 0 && kind < fJobNameDispatchTable.length - 1)
+				return fJobNameDispatchTable[kind];
+			return fJobNameDispatchTable[fJobNameDispatchTable.length - 1];
+		}
+
 		/**
 		 * Add a position with the given range and highlighting iff it does not exist already.
 		 * @param offset The range offset
@@ -222,9 +251,123 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 	}
 
+	/**
+	 * Tracks the document range that has been modified since the last completed reconcile.
+	 *
+	 * @since 3.14
+	 */
+	private static class DirtyRegionTracker implements IDocumentListener, ITextInputListener {
+
+		/** Start offset of the dirty range, <code>-1</code> if the document is unchanged */
+		private int fStart= -1;
+		/** End offset (exclusive) of the dirty range */
+		private int fEnd= -1;
+		/** <code>true</code> if the changes are not known and a full reconcile is needed */
+		private boolean fIsInvalid= true;
+
+		/*
+		 * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+		 */
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		/*
+		 * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+		 */
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			if (fIsInvalid)
+				return;
+
+			int offset= event.getOffset();
+			int removedEnd= offset + event.getLength();
+			String text= event.getText();
+			int insertedEnd= offset + (text == null ? 0 : text.length());
+			if (fStart == -1) {
+				fStart= offset;
+				fEnd= insertedEnd;
+				return;
+			}
+
+			// map the old dirty range into the new document, then merge with the change
+			int delta= insertedEnd - removedEnd;
+			int start= fStart < offset ? fStart : fStart >= removedEnd ? fStart + delta : offset;
+			int end= fEnd <= offset ? fEnd : fEnd >= removedEnd ? fEnd + delta : insertedEnd;
+			fStart= Math.min(start, offset);
+			fEnd= Math.max(end, insertedEnd);
+		}
+
+		/*
+		 * @see org.eclipse.jface.text.ITextInputListener#inputDocumentAboutToBeChanged(org.eclipse.jface.text.IDocument, org.eclipse.jface.text.IDocument)
+		 */
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+			invalidate();
+		}
+
+		/*
+		 * @see org.eclipse.jface.text.ITextInputListener#inputDocumentChanged(org.eclipse.jface.text.IDocument, org.eclipse.jface.text.IDocument)
+		 */
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+		}
+
+		/**
+		 * Forces the next reconcile to process the whole AST.
+		 */
+		public synchronized void invalidate() {
+			fIsInvalid= true;
+			fStart= -1;
+			fEnd= -1;
+		}
+
+		/**
+		 * Returns the dirty range and starts tracking changes anew.
+		 *
+		 * @return the dirty range, {@link SemanticHighlightingReconciler#UNCHANGED} if the document
+		 *         is unchanged, or <code>null</code> if the whole AST must be processed
+		 */
+		public synchronized IRegion takeDirtyRegion() {
+			IRegion region;
+			if (fIsInvalid)
+				region= null;
+			else if (fStart == -1)
+				region= UNCHANGED;
+			else
+				region= new Region(fStart, fEnd - fStart);
+			fIsInvalid= false;
+			fStart= -1;
+			fEnd= -1;
+			return region;
+		}
+	}
+
 	/** Position collector */
 	private PositionCollector fCollector= new PositionCollector();
 
+	/**
+	 * Number of table entries for {@link IBinding} kinds, including {@link SemanticHighlighting#NO_BINDING}.
+	 * @since 3.14
+	 */
+	private static final int BINDING_KINDS= IBinding.MODULE + 1;
+
+	/**
+	 * Dirty region returned by the tracker if the document has not been changed.
+	 * @since 3.14
+	 */
+	private static final IRegion UNCHANGED= new Region(0, 0);
+
+	/**
+	 * Dirty region tracker, <code>null</code> if changes are not tracked.
+	 * @since 3.14
+	 */
+	private DirtyRegionTracker fDirtyRegionTracker;
+
 	/** The Java editor this semantic highlighting reconciler is installed on */
 	private JavaEditor fEditor;
 	/** The source viewer this semantic highlighting reconciler is installed on */
@@ -272,6 +415,18 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private Highlighting fJobDeprecatedMemberHighlighting;
 
+	/**
+	 * For each binding kind, the indices of the semantic highlightings that can consume a simple name
+	 * with a binding of that kind. The last entry is used for unknown kinds.
+	 * @since 3.14
+	 */
+	private int[][] fNameDispatchTable;
+	/**
+	 * Name dispatch table - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.14
+	 */
+	private int[][] fJobNameDispatchTable;
+
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
 	 */
@@ -295,9 +450,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fJobPresenter= fPresenter;
 		fJobSemanticHighlightings= fSemanticHighlightings;
 		fJobHighlightings= fHighlightings;
+		fJobNameDispatchTable= fNameDispatchTable;
+		DirtyRegionTracker tracker= fDirtyRegionTracker;
+		IRegion dirtyRegion= tracker != null ? tracker.takeDirtyRegion() : null;
+		boolean isComplete= false;
 
 		try {
-			if (fJobPresenter == null || fJobSemanticHighlightings == null || fJobHighlightings == null)
+			if (fJobPresenter == null || fJobSemanticHighlightings == null || fJobHighlightings == null || fJobNameDispatchTable == null)
 				return;
 
 			fJobPresenter.setCanceled(progressMonitor.isCanceled());
@@ -305,9 +464,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
-			if (subtrees.length == 0)
+			ASTNode[] subtrees= getAffectedSubtrees(ast, forced ? null : dirtyRegion);
+			if (subtrees.length == 0) {
+				isComplete= true;
 				return;
+			}
 
 			startReconcilingPositions();
 
@@ -327,14 +488,19 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
+			if (!fJobPresenter.isCanceled()) {
 				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				isComplete= true;
+			}
 
 			stopReconcilingPositions();
 		} finally {
+			if (!isComplete && tracker != null)
+				tracker.invalidate();
 			fJobPresenter= null;
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
+			fJobNameDispatchTable= null;
 			fJobDeprecatedMemberHighlighting= null;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
@@ -343,12 +509,52 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * Returns the subtrees that may be affected by the document changes since the last reconcile.
+	 * <p>
+	 * Changes inside a method body, an initializer body or a field initializer cannot change
+	 * the bindings of names outside of it, so only the enclosing body is returned. Any other
+	 * change, for example to a declaration header, an import or a syntax error that may have
+	 * changed the recovered structure of the unit, requires a visit of the whole AST.
+	 * </p>
+	 *
+	 * @param ast the AST root node
+	 * @param dirtyRegion the changed range in the document or <code>null</code> if not known
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, IRegion dirtyRegion) {
+		if (dirtyRegion == null || hasSyntaxErrors(ast))
+			return new ASTNode[] { ast };
+		if (dirtyRegion == UNCHANGED)
+			return new ASTNode[0];
+
+		int start= dirtyRegion.getOffset();
+		int end= start + dirtyRegion.getLength();
+		ASTNode node= NodeFinder.perform(ast, start, dirtyRegion.getLength());
+		while (node != null) {
+			StructuralPropertyDescriptor location= node.getLocationInParent();
+			if (location == MethodDeclaration.BODY_PROPERTY || location == Initializer.BODY_PROPERTY) {
+				// the braces of the body must not have been touched
+				if (node.getStartPosition() < start && end < node.getStartPosition() + node.getLength())
+					return new ASTNode[] { node };
+				break;
+			}
+			if (location == VariableDeclarationFragment.INITIALIZER_PROPERTY && node.getParent().getParent() instanceof FieldDeclaration) {
+				if (node.getStartPosition() <= start && end <= node.getStartPosition() + node.getLength())
+					return new ASTNode[] { node };
+				break;
+			}
+			node= node.getParent();
+		}
+		return new ASTNode[] { ast };
+	}
+
+	private static boolean hasSyntaxErrors(CompilationUnit ast) {
+		IProblem[] problems= ast.getProblems();
+		for (int i= 0; i < problems.length; i++) {
+			if ((problems[i].getID() & IProblem.Syntax) != 0)
+				return true;
+		}
+		return false;
 	}
 
 	/**
@@ -365,9 +571,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
+		if (subtrees.length != 1 || subtrees[0].getParent() != null)
+			retainPositionsOutside(subtrees);
 
 		for (int i= 0, n= subtrees.length; i < n; i++)
 			subtrees[i].accept(fCollector);
@@ -381,6 +586,54 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fRemovedPositions= newPositions;
 	}
 
+	/**
+	 * Retain the positions that do not overlap any of the given subtrees. These positions
+	 * are not affected by the changes and are not visited again.
+	 *
+	 * @param subtrees the AST subtrees that will be visited
+	 * @since 3.14
+	 */
+	private void retainPositionsOutside(ASTNode[] subtrees) {
+		for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
+			if (position == null)
+				continue;
+			boolean isOutside= true;
+			for (int j= 0; j < subtrees.length && isOutside; j++)
+				isOutside= position.isOutside(subtrees[j].getStartPosition(), subtrees[j].getLength());
+			if (isOutside) {
+				fRemovedPositions.set(i, null);
+				fNOfRemovedPositions--;
+			}
+		}
+	}
+
+	/**
+	 * Creates the table that maps binding kinds to the semantic highlightings that can
+	 * consume simple names with such a binding.
+	 *
+	 * @param semanticHighlightings the semantic highlightings
+	 * @return the dispatch table
+	 * @since 3.14
+	 */
+	private static int[][] createNameDispatchTable(SemanticHighlighting[] semanticHighlightings) {
+		int[][] table= new int[BINDING_KINDS + 1][];
+		for (int kind= 0; kind < BINDING_KINDS; kind++) {
+			int[] candidates= new int[semanticHighlightings.length];
+			int count= 0;
+			for (int i= 0; i < semanticHighlightings.length; i++) {
+				if (semanticHighlightings[i].consumesBindingKind(kind))
+					candidates[count++]= i;
+			}
+			table[kind]= Arrays.copyOf(candidates, count);
+		}
+		int[] all= new int[semanticHighlightings.length];
+		for (int i= 0; i < all.length; i++)
+			all[i]= i;
+		table[BINDING_KINDS]= all;
+		return table;
+	}
+
 	/**
 	 * Update the presentation.
 	 *
@@ -433,11 +686,17 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fPresenter= presenter;
 		fSemanticHighlightings= semanticHighlightings;
 		fHighlightings= highlightings;
+		fNameDispatchTable= createNameDispatchTable(semanticHighlightings);
 
 		fEditor= editor;
 		fSourceViewer= sourceViewer;
 
 		if (fEditor instanceof CompilationUnitEditor) {
+			fDirtyRegionTracker= new DirtyRegionTracker();
+			fSourceViewer.addTextInputListener(fDirtyRegionTracker);
+			IDocument document= fSourceViewer.getDocument();
+			if (document != null)
+				document.addDocumentListener(fDirtyRegionTracker);
 			((CompilationUnitEditor)fEditor).addReconcileListener(this);
 		} else if (fEditor == null) {
 			fSourceViewer.addTextInputListener(this);
@@ -453,9 +712,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fPresenter.setCanceled(true);
 
 		if (fEditor != null) {
-			if (fEditor instanceof CompilationUnitEditor)
+			if (fEditor instanceof CompilationUnitEditor) {
 				((CompilationUnitEditor)fEditor).removeReconcileListener(this);
-			else
+				fSourceViewer.removeTextInputListener(fDirtyRegionTracker);
+				IDocument document= fSourceViewer.getDocument();
+				if (document != null)
+					document.removeDocumentListener(fDirtyRegionTracker);
+				fDirtyRegionTracker= null;
+			} else
 				fSourceViewer.removeTextInputListener(this);
 			fEditor= null;
 		}
@@ -463,6 +727,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fSourceViewer= null;
 		fSemanticHighlightings= null;
 		fHighlightings= null;
+		fNameDispatchTable= null;
 		fPresenter= null;
 	}
 
@@ -472,6 +737,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private void scheduleJob() {
 		final ITypeRoot element= fEditor.getInputJavaElement();
 
+		DirtyRegionTracker tracker= fDirtyRegionTracker;
+		if (tracker != null)
+			tracker.invalidate();
+
 		synchronized (fJobLock) {
 			final Job oldJob= fJob;
 			if (fJob != null) {
@@ -255,6 +255,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_staticFinalField;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.VARIABLE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -318,6 +326,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_staticField;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.VARIABLE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -381,6 +397,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_field;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.VARIABLE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -615,6 +639,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_staticMethodInvocation;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.METHOD;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -683,6 +715,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_annotationElementReference;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.METHOD;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -753,6 +793,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_abstractMethodInvocation;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.METHOD;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -831,6 +879,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_inheritedMethodInvocation;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.METHOD;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -1040,6 +1096,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_localVariable;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.VARIABLE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1107,6 +1171,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_parameterVariable;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.VARIABLE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1269,6 +1341,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_typeVariables;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.TYPE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1341,6 +1421,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_classes;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.TYPE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1420,6 +1508,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_enums;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.TYPE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1500,6 +1596,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_interfaces;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.TYPE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1579,6 +1683,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_annotations;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.TYPE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1807,6 +1919,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_abstractClasses;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.TYPE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1892,6 +2012,14 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_inheritedField;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int bindingKind) {
+			return bindingKind == IBinding.VARIABLE;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,8 +12,12 @@ package org.eclipse.jdt.internal.ui.packageview;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -33,6 +37,8 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.jface.viewers.IBasicPropertyConstants;
+import org.eclipse.jface.viewers.ITreeViewerListener;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 
@@ -85,10 +91,36 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	private boolean fShowLibrariesNode;
 	private boolean fFoldPackages;
 
+	/**
+	 * Maximal time in milliseconds that the update job spends in the UI thread at once. Remaining
+	 * updates are run in the next frame.
+	 */
+	private static final long UPDATE_FRAME_TIME= 50;
+
 	private Collection<Runnable> fPendingUpdates;
 
 	private UIJob fUpdateJob;
 
+	/**
+	 * Elements whose refresh has been deferred because they were collapsed. They are refreshed when
+	 * expanded. Only accessed in the UI thread.
+	 */
+	private final Set<Object> fStaleElements= new HashSet<>();
+
+	private final ITreeViewerListener fTreeListener= new ITreeViewerListener() {
+		@Override
+		public void treeExpanded(TreeExpansionEvent event) {
+			Object element= event.getElement();
+			if (fStaleElements.remove(element)) {
+				fViewer.refresh(element, true);
+			}
+		}
+
+		@Override
+		public void treeCollapsed(TreeExpansionEvent event) {
+		}
+	};
+
 	/**
 	 * We use a cache to know whether a package has a single child for the hierarchical representation.
 	 * This avoids looping over all packages for each call to
@@ -149,21 +181,32 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			synchronized (this) {
 				hasPendingUpdates= fPendingUpdates != null && !fPendingUpdates.isEmpty();
 			}
-			//Are we in the UIThread? If so spin it until we are done
+			//Are we in the UIThread? If so run the updates of the first frame right away
 			if (!hasPendingUpdates && ctrl.getDisplay().getThread() == Thread.currentThread() && !fViewer.isBusy()) {
-				runUpdates(runnables);
-			} else {
-				synchronized (this) {
-					if (fPendingUpdates == null) {
-						fPendingUpdates= runnables;
-					} else {
-						fPendingUpdates.addAll(runnables);
-					}
+				List<Runnable> remaining= runUpdates(coalesce(runnables), System.currentTimeMillis() + UPDATE_FRAME_TIME);
+				if (!remaining.isEmpty()) {
+					addPendingUpdates(remaining, true);
+					postAsyncUpdate(ctrl.getDisplay());
 				}
+			} else {
+				addPendingUpdates(runnables, false);
 				postAsyncUpdate(ctrl.getDisplay());
 			}
 		}
 	}
+
+	private synchronized void addPendingUpdates(Collection<Runnable> runnables, boolean first) {
+		if (fPendingUpdates == null) {
+			fPendingUpdates= runnables;
+		} else if (first) {
+			ArrayList<Runnable> updates= new ArrayList<>(runnables);
+			updates.addAll(fPendingUpdates);
+			fPendingUpdates= updates;
+		} else {
+			fPendingUpdates.addAll(runnables);
+		}
+	}
+
 	private void postAsyncUpdate(final Display display) {
 		if (fUpdateJob == null) {
 			fUpdateJob= new UIJob(display, PackagesMessages.PackageExplorerContentProvider_update_job_description) {
@@ -173,7 +216,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 					if (viewer != null && viewer.isBusy()) {
 						schedule(100); // reschedule when viewer is busy: bug 184991
 					} else {
-						runPendingUpdates();
+						runPendingUpdates(System.currentTimeMillis() + UPDATE_FRAME_TIME);
 					}
 					return Status.OK_STATUS;
 				}
@@ -184,9 +227,52 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	/**
-	 * Run all of the runnables that are the widget updates. Must be called in the display thread.
+	 * Run all of the runnables that are the widget updates, and refresh the elements whose refresh
+	 * has been deferred because they were collapsed. Must be called in the display thread.
 	 */
 	public void runPendingUpdates() {
+		runPendingUpdates(Long.MAX_VALUE);
+		if (!fStaleElements.isEmpty() && fViewer != null && !fViewer.getControl().isDisposed()) {
+			Object[] staleElements= fStaleElements.toArray();
+			fStaleElements.clear();
+			for (int i= 0; i < staleElements.length; i++) {
+				fViewer.refresh(staleElements[i], true);
+			}
+		}
+	}
+
+	/**
+	 * Refreshes the elements whose refresh has been deferred and that are the given element, one of
+	 * its ancestors or one of its descendants. The viewer calls this before it expands elements
+	 * programmatically, e.g. to reveal an element, as no tree expansion event is sent in that case.
+	 * Must be called in the display thread.
+	 *
+	 * @param element the element that is about to be expanded or revealed, or <code>null</code>
+	 *            to refresh all deferred elements
+	 */
+	public void refreshStaleElements(Object element) {
+		if (fStaleElements.isEmpty() || fViewer == null || fViewer.getControl().isDisposed())
+			return;
+		List<Object> toRefresh= new ArrayList<>();
+		for (Iterator<Object> iter= fStaleElements.iterator(); iter.hasNext();) {
+			Object stale= iter.next();
+			if (element == null || stale.equals(element) || isParent(stale, element) || isParent(element, stale)) {
+				toRefresh.add(stale);
+				iter.remove();
+			}
+		}
+		for (Iterator<Object> iter= toRefresh.iterator(); iter.hasNext();) {
+			fViewer.refresh(iter.next(), true);
+		}
+	}
+
+	/**
+	 * Runs the pending widget updates until the given deadline has passed, and schedules the update
+	 * job for the remaining ones. Must be called in the display thread.
+	 *
+	 * @param deadline the time in milliseconds after which no more updates are run in this frame
+	 */
+	private void runPendingUpdates(long deadline) {
 		Collection<Runnable> pendingUpdates;
 		synchronized (this) {
 			pendingUpdates= fPendingUpdates;
@@ -195,16 +281,101 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		if (pendingUpdates != null && fViewer != null) {
 			Control control = fViewer.getControl();
 			if (control != null && !control.isDisposed()) {
-				runUpdates(pendingUpdates);
+				List<Runnable> remaining= runUpdates(coalesce(pendingUpdates), deadline);
+				if (!remaining.isEmpty()) {
+					addPendingUpdates(remaining, true);
+					postAsyncUpdate(control.getDisplay());
+				}
 			}
 		}
 	}
 
-	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+	/**
+	 * Runs the given updates until the deadline has passed.
+	 *
+	 * @param runnables the updates to run
+	 * @param deadline the time in milliseconds after which no more updates are run
+	 * @return the updates that have not been run
+	 */
+	private List<Runnable> runUpdates(List<Runnable> runnables, long deadline) {
+		int size= runnables.size();
+		int i= 0;
+		while (i < size) {
+			runnables.get(i++).run();
+			if (i < size && System.currentTimeMillis() >= deadline)
+				break;
 		}
+		return new ArrayList<>(runnables.subList(i, size));
+	}
+
+	/**
+	 * Merges the refreshes in the given updates. Refreshes of the same element are merged into the
+	 * first one, and a refresh of an element is dropped if an ancestor of the element is refreshed
+	 * as well. The other updates are kept in order; as all updates read the current state of the
+	 * model, running them after a refresh that already covers them is harmless.
+	 *
+	 * @param runnables the updates
+	 * @return the merged updates
+	 */
+	private List<Runnable> coalesce(Collection<Runnable> runnables) {
+		Map<Object, RefreshRunnable> refreshes= new HashMap<>();
+		boolean merge= false;
+		for (Iterator<Runnable> iter= runnables.iterator(); iter.hasNext();) {
+			Runnable runnable= iter.next();
+			if (runnable instanceof RefreshRunnable) {
+				RefreshRunnable refresh= (RefreshRunnable) runnable;
+				RefreshRunnable first= refreshes.get(refresh.fElement);
+				if (first == null) {
+					refreshes.put(refresh.fElement, refresh);
+				} else {
+					first.fUpdateLabels|= refresh.fUpdateLabels;
+					merge= true;
+				}
+			}
+		}
+		if (!merge && refreshes.size() < 2)
+			return new ArrayList<>(runnables);
+
+		List<Runnable> result= new ArrayList<>(runnables.size());
+		for (Iterator<Runnable> iter= runnables.iterator(); iter.hasNext();) {
+			Runnable runnable= iter.next();
+			if (runnable instanceof RefreshRunnable) {
+				RefreshRunnable refresh= (RefreshRunnable) runnable;
+				if (refreshes.get(refresh.fElement) != refresh)
+					continue; // merged into the first refresh of the element
+
+				RefreshRunnable ancestor= findRefreshedAncestor(refresh.fElement, refreshes);
+				if (ancestor != null) {
+					ancestor.fUpdateLabels|= refresh.fUpdateLabels;
+					continue;
+				}
+			}
+			result.add(runnable);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the refresh of the top-most ancestor of the given element.
+	 *
+	 * @param element the element
+	 * @param refreshes the refreshes, mapped by the element they refresh
+	 * @return the refresh, or <code>null</code> if no ancestor of the element is refreshed
+	 */
+	private RefreshRunnable findRefreshedAncestor(Object element, Map<Object, RefreshRunnable> refreshes) {
+		if (element == null)
+			return null;
+
+		RefreshRunnable result= null;
+		Object parent= getParent(element);
+		while (parent != null) {
+			RefreshRunnable refresh= refreshes.get(parent);
+			if (refresh != null)
+				result= refresh;
+			parent= getParent(parent);
+		}
+		RefreshRunnable rootRefresh= refreshes.get(null);
+		return rootRefresh != null ? rootRefresh : result;
 	}
 
 
@@ -407,7 +578,14 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
 		super.inputChanged(viewer, oldInput, newInput);
-		fViewer= (TreeViewer)viewer;
+		if (fViewer != viewer) {
+			if (fViewer != null)
+				fViewer.removeTreeListener(fTreeListener);
+			fViewer= (TreeViewer)viewer;
+			if (fViewer != null)
+				fViewer.addTreeListener(fTreeListener);
+		}
+		fStaleElements.clear();
 		if (oldInput == null && newInput != null) {
 			JavaCore.addElementChangedListener(this);
 		} else if (oldInput != null && newInput == null) {
@@ -973,18 +1151,69 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(new Runnable() {
-			@Override
-			public void run() {
-				Object[] elements= toRefresh.toArray();
-				for (int i= 0; i < elements.length; i++) {
-					Object element= elements[i];
-					if (element == null || fViewer.testFindItems(element).length > 0) {
-						fViewer.refresh(element, updateLabels);
-					}
-				}
+		for (Iterator<Object> iter= toRefresh.iterator(); iter.hasNext();) {
+			runnables.add(new RefreshRunnable(iter.next(), updateLabels));
+		}
+	}
+
+	/**
+	 * Refreshes an element. Refreshes can be merged, see {@link PackageExplorerContentProvider#coalesce(Collection)}.
+	 * The refresh of a collapsed element whose children have already been created is deferred until
+	 * the element is expanded; only its label is updated right away.
+	 */
+	private class RefreshRunnable implements Runnable {
+
+		private final Object fElement;
+		private boolean fUpdateLabels;
+
+		public RefreshRunnable(Object element, boolean updateLabels) {
+			fElement= element;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			if (fElement == null) {
+				fViewer.refresh(null, fUpdateLabels);
+				fStaleElements.clear();
+				return;
 			}
-		});
+
+			Widget[] items= fViewer.testFindItems(fElement);
+			if (items.length == 0)
+				return;
+
+			if (isCollapsed(items)) {
+				fStaleElements.add(fElement);
+				if (fUpdateLabels)
+					fViewer.update(fElement, null);
+			} else {
+				fViewer.refresh(fElement, fUpdateLabels);
+				removeStaleElements(fElement);
+			}
+		}
+
+		private boolean isCollapsed(Widget[] items) {
+			for (int i= 0; i < items.length; i++) {
+				if (!(items[i] instanceof TreeItem))
+					return false;
+				TreeItem item= (TreeItem) items[i];
+				// an item that has never been expanded only has a dummy child without data
+				if (item.isDisposed() || item.getExpanded() || item.getItemCount() == 0 || item.getItem(0).getData() == null)
+					return false;
+			}
+			return true;
+		}
+
+		private void removeStaleElements(Object refreshed) {
+			if (fStaleElements.isEmpty())
+				return;
+			for (Iterator<Object> iter= fStaleElements.iterator(); iter.hasNext();) {
+				Object stale= iter.next();
+				if (stale.equals(refreshed) || isParent(refreshed, stale))
+					iter.remove();
+			}
+		}
 	}
 
 	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
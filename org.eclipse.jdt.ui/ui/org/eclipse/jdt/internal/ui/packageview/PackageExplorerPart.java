@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,7 +25,9 @@ import org.eclipse.swt.events.KeyAdapter;
 import org.eclipse.swt.events.KeyEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Widget;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
@@ -62,6 +64,7 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITreeViewerListener;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeExpansionEvent;
+import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 
@@ -269,6 +272,27 @@ public class PackageExplorerPart extends ViewPart
 			}
 		}
 
+		/*
+		 * Elements whose refresh has been deferred while they were collapsed must be refreshed before
+		 * they are expanded or revealed programmatically, as no tree expansion event is sent then.
+		 */
+		@Override
+		protected Widget internalExpand(Object elementOrPath, boolean expand) {
+			if (fContentProvider != null) {
+				Object element= elementOrPath instanceof TreePath ? ((TreePath) elementOrPath).getLastSegment() : elementOrPath;
+				fContentProvider.refreshStaleElements(element);
+			}
+			return super.internalExpand(elementOrPath, expand);
+		}
+
+		@Override
+		protected void internalExpandToLevel(Widget widget, int level) {
+			if (fContentProvider != null) {
+				fContentProvider.refreshStaleElements(widget instanceof Item ? widget.getData() : null);
+			}
+			super.internalExpandToLevel(widget, level);
+		}
+
 		@Override
 		protected boolean evaluateExpandableWithFilters(Object parent) {
 			if (parent instanceof IJavaProject
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import org.eclipse.core.runtime.PlatformObject;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IStorage;
 
@@ -490,7 +491,21 @@ public class PropertyKeyHyperlink implements IHyperlink {
 									 * </p>
 									*/
 									if (fStorage instanceof IResource) {
-										engine.search(createScope(((IResource)fStorage).getProject()), collector, searchPattern, new SubProgressMonitor(monitor, 4));
+										Pattern fileNamePattern= createFileNamePattern();
+										IResource[] roots= new IResource[] { ((IResource)fStorage).getProject() };
+										if (useDoubleQuotedKey && !hasWildcards(key)) {
+											// only search the files that may contain the key
+											try {
+												IFile[] files= JavaPlugin.getDefault().getNLSKeyIndex().findFilesWithQuotedKey(((IResource)fStorage).getProject(), fileNamePattern, key, new SubProgressMonitor(monitor, 1));
+												if (files != null)
+													roots= files;
+											} catch (CoreException e) {
+												throw new InvocationTargetException(e);
+											}
+										} else {
+											monitor.worked(1);
+										}
+										engine.search(TextSearchScope.newSearchScope(roots, fileNamePattern, false), collector, searchPattern, new SubProgressMonitor(monitor, 3));
 									}
 								} else {
 									monitor.worked(1);
@@ -511,7 +526,18 @@ public class PropertyKeyHyperlink implements IHyperlink {
 		return result.toArray(new KeyReference[result.size()]);
 	}
 
-	private static TextSearchScope createScope(IResource scope) {
+	/**
+	 * Tells whether the key contains characters that have a special meaning in the search pattern.
+	 *
+	 * @param key the properties key
+	 * @return <code>true</code> if the key contains wildcards or escapes
+	 * @since 3.14
+	 */
+	private static boolean hasWildcards(String key) {
+		return key.indexOf('*') != -1 || key.indexOf('?') != -1 || key.indexOf('\\') != -1;
+	}
+
+	private static Pattern createFileNamePattern() {
 		ArrayList<String> fileNamePatternStrings= new ArrayList<>();
 
 		// XXX: Should be configurable via preference, see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81117
@@ -522,9 +548,7 @@ public class PropertyKeyHyperlink implements IHyperlink {
 		fileNamePatternStrings.add("*.ini"); //$NON-NLS-1$
 
 		String[] allPatternStrings= fileNamePatternStrings.toArray(new String[fileNamePatternStrings.size()]);
-		Pattern fileNamePattern= PatternConstructor.createPattern(allPatternStrings, false, false);
-
-		return TextSearchScope.newSearchScope(new IResource[] { scope }, fileNamePattern, false);
+		return PatternConstructor.createPattern(allPatternStrings, false, false);
 	}
 
 	/*
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,10 +17,12 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -57,6 +59,13 @@ public class JavaSearchQuery implements ISearchQuery {
 
 	private static final String PERF_SEARCH_PARTICIPANT= "org.eclipse.jdt.ui/perf/search/participants"; //$NON-NLS-1$
 
+	/**
+	 * Time in milliseconds after which participants that did not finish are canceled, counted from
+	 * the start of the search.
+	 */
+	private static final long PARTICIPANT_TIME_LIMIT= 60000;
+	private static final long PARTICIPANT_POLL_INTERVAL= 50;
+
 	private ISearchResult fResult;
 	private final List<QuerySpecification> fPatternDataList;
 
@@ -78,8 +87,11 @@ public class JavaSearchQuery implements ISearchQuery {
 	private static class SearchRequestor implements ISearchRequestor {
 		private IQueryParticipant fParticipant;
 		private JavaSearchResult fSearchResult;
+		private volatile boolean fCanceled;
 		@Override
 		public void reportMatch(Match match) {
+			if (fCanceled)
+				return;
 			IMatchPresentation participant= fParticipant.getUIParticipant();
 			if (participant == null || match.getElement() instanceof IJavaElement || match.getElement() instanceof IResource) {
 				fSearchResult.addMatch(match);
@@ -93,6 +105,75 @@ public class JavaSearchQuery implements ISearchQuery {
 			fParticipant= participant;
 			fSearchResult= result;
 		}
+
+		/**
+		 * Ignores the matches that are reported from now on.
+		 */
+		void cancel() {
+			fCanceled= true;
+		}
+	}
+
+	/**
+	 * Runs a query participant in the background, concurrently with the core search and the other
+	 * participants.
+	 */
+	private class ParticipantJob extends Job {
+		private final SearchParticipantRecord fRecord;
+		private final SearchRequestor fRequestor;
+
+		public ParticipantJob(SearchParticipantRecord record, JavaSearchResult result) {
+			super(SearchMessages.JavaSearchQuery_label);
+			fRecord= record;
+			fRequestor= new SearchRequestor(record.getParticipant(), result);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(final IProgressMonitor monitor) {
+			ISafeRunnable runnable= new ISafeRunnable() {
+				@Override
+				public void handleException(Throwable exception) {
+					if (exception instanceof OperationCanceledException)
+						return;
+					fRecord.getDescriptor().disable();
+					String message= SearchMessages.JavaSearchQuery_error_participant_search;
+					JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), 0, message, exception));
+				}
+
+				@Override
+				public void run() throws Exception {
+
+					final IQueryParticipant participant= fRecord.getParticipant();
+
+					final PerformanceStats stats= PerformanceStats.getStats(PERF_SEARCH_PARTICIPANT, participant);
+					stats.startRun();
+
+					for (QuerySpecification querySpecification : fPatternDataList) {
+						if (monitor.isCanceled())
+							break;
+						participant.search(fRequestor, querySpecification, monitor);
+					}
+
+					stats.endRun();
+				}
+			};
+
+			SafeRunner.run(runnable);
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		/**
+		 * Cancels the job and ignores the matches the participant reports from now on.
+		 */
+		public void cancelSearch() {
+			fRequestor.cancel();
+			cancel();
+		}
+
+		public boolean isDone() {
+			return getState() == Job.NONE;
+		}
 	}
 
 	@Override
@@ -172,39 +253,39 @@ public class JavaSearchQuery implements ISearchQuery {
 			NewSearchResultCollector collector= new NewSearchResultCollector(textResult, ignorePotentials);
 
 
-			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, getFirstSpecification().getScope(), collector, subMonitor.split(1000));
+			// participants run concurrently with the core search
+			ParticipantJob[] participantJobs= new ParticipantJob[participantDescriptors.length];
 			for (int i= 0; i < participantDescriptors.length; i++) {
-				final ISearchRequestor requestor= new SearchRequestor(participantDescriptors[i].getParticipant(), textResult);
-				final IProgressMonitor participantPM= subMonitor.split(ticks[i]);
-
-				final int iPrime= i;
-				ISafeRunnable runnable= new ISafeRunnable() {
-					@Override
-					public void handleException(Throwable exception) {
-						participantDescriptors[iPrime].getDescriptor().disable();
-						String message= SearchMessages.JavaSearchQuery_error_participant_search;
-						JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), 0, message, exception));
-					}
-
-					@Override
-					public void run() throws Exception {
-
-						final IQueryParticipant participant= participantDescriptors[iPrime].getParticipant();
-
-						final PerformanceStats stats= PerformanceStats.getStats(PERF_SEARCH_PARTICIPANT, participant);
-						stats.startRun();
-
-						for (QuerySpecification querySpecification : fPatternDataList) {
-							participant.search(requestor, querySpecification, participantPM);
-						}
-
-						stats.endRun();
-					}
-				};
-
-				SafeRunner.run(runnable);
+				participantJobs[i]= new ParticipantJob(participantDescriptors[i], textResult);
+			}
+			long deadline= System.currentTimeMillis() + PARTICIPANT_TIME_LIMIT;
+			List<String> timedOut= new ArrayList<>();
+			for (int i= 0; i < participantJobs.length; i++) {
+				participantJobs[i].schedule();
+			}
+			try {
+				try {
+					engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, getFirstSpecification().getScope(), collector, subMonitor.split(1000));
+				} finally {
+					collector.flush();
+				}
+				for (int i= 0; i < participantJobs.length; i++) {
+					if (!waitForParticipant(participantJobs[i], deadline, subMonitor))
+						timedOut.add(participantJobs[i].fRecord.getDescriptor().getID());
+					subMonitor.worked(ticks[i]);
+				}
+			} finally {
+				for (int i= 0; i < participantJobs.length; i++) {
+					if (!participantJobs[i].isDone())
+						participantJobs[i].cancelSearch();
+				}
 			}
 
+			if (!timedOut.isEmpty()) {
+				String participants= String.join(", ", timedOut); //$NON-NLS-1$
+				String message= Messages.format(SearchMessages.JavaSearchQuery_status_incomplete_message, new Object[] { String.valueOf(textResult.getMatchCount()), participants, String.valueOf(PARTICIPANT_TIME_LIMIT / 1000) });
+				return new Status(IStatus.WARNING, JavaPlugin.getPluginId(), 0, message, null);
+			}
 		} catch (CoreException e) {
 			return e.getStatus();
 		}
@@ -212,6 +293,29 @@ public class JavaSearchQuery implements ISearchQuery {
 		return new Status(IStatus.OK, JavaPlugin.getPluginId(), 0, message, null);
 	}
 
+	/*
+	 * Returns false if the participant did not finish before the deadline and has been canceled.
+	 */
+	private static boolean waitForParticipant(ParticipantJob job, long deadline, IProgressMonitor monitor) {
+		while (!job.isDone()) {
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+			if (System.currentTimeMillis() >= deadline) {
+				job.cancelSearch();
+				String message= Messages.format(SearchMessages.JavaSearchQuery_error_participant_timeout, new Object[] { job.fRecord.getDescriptor().getID(), String.valueOf(PARTICIPANT_TIME_LIMIT / 1000) });
+				JavaPlugin.log(new Status(IStatus.WARNING, JavaPlugin.getPluginId(), 0, message, null));
+				return false;
+			}
+			try {
+				Thread.sleep(PARTICIPANT_POLL_INTERVAL);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+		return true;
+	}
+
 	private int getMatchMode(String pattern) {
 		if (pattern.indexOf('*') != -1 || pattern.indexOf('?') != -1) {
 			return SearchPattern.R_PATTERN_MATCH;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -137,15 +137,24 @@ public class LevelTreeContentProvider extends JavaSearchContentProvider implemen
 		}
 	}
 
+	/**
+	 * Inserts the given element and its missing ancestors.
+	 *
+	 * @param toAdd collects the inserted elements by parent, or <code>null</code>
+	 * @param toUpdate collects the element if it already was in the tree, so that only its match
+	 *            count needs to be updated, or <code>null</code>
+	 * @param child the element with matches
+	 */
 	protected void insert(Map<Object, Set<Object>> toAdd, Set<Object> toUpdate, Object child) {
+		Object element= child;
 		Object parent= getParent(child);
 		while (parent != null) {
 			if (insertChild(parent, child)) {
 				if (toAdd != null)
 					insertInto(parent, child, toAdd);
 			} else {
-				if (toUpdate != null)
-					toUpdate.add(parent);
+				if (toUpdate != null && child == element)
+					toUpdate.add(element);
 				return;
 			}
 			child= parent;
@@ -154,6 +163,9 @@ public class LevelTreeContentProvider extends JavaSearchContentProvider implemen
 		if (insertChild(getSearchResult(), child)) {
 			if (toAdd != null)
 				insertInto(getSearchResult(), child, toAdd);
+		} else {
+			if (toUpdate != null && child == element)
+				toUpdate.add(element);
 		}
 	}
 
@@ -247,10 +259,11 @@ public class LevelTreeContentProvider extends JavaSearchContentProvider implemen
 
 		Set<Object> toRemove= new HashSet<>();
 		Set<Object> toUpdate= new HashSet<>();
+		Set<Object> toUpdateMatchCount= new HashSet<>();
 		Map<Object, Set<Object>> toAdd= new HashMap<>();
 		for (int i= 0; i < updatedElements.length; i++) {
 			if (getPage().getDisplayedMatchCount(updatedElements[i]) > 0)
-				insert(toAdd, toUpdate, updatedElements[i]);
+				insert(toAdd, toUpdateMatchCount, updatedElements[i]);
 			else
 				remove(toRemove, toUpdate, updatedElements[i]);
 		}
@@ -264,6 +277,9 @@ public class LevelTreeContentProvider extends JavaSearchContentProvider implemen
 		for (Iterator<Object> elementsToUpdate= toUpdate.iterator(); elementsToUpdate.hasNext();) {
 			viewer.refresh(elementsToUpdate.next());
 		}
+		// elements that only got new matches keep their children
+		toUpdateMatchCount.removeAll(toUpdate);
+		viewer.update(toUpdateMatchCount.toArray(), new String[] { SearchLabelProvider.PROPERTY_MATCH_COUNT });
 
 	}
 
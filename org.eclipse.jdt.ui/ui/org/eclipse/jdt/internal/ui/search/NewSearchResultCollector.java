@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,9 +10,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.Match;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.search.FieldDeclarationMatch;
@@ -24,9 +28,22 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+/**
+ * Collects the matches of a search into a search result.
+ * <p>
+ * Matches are added in batches, so that the search result fires one change event per batch instead
+ * of one per match. A batch is added when it is full, when the previous batch has been added more
+ * than {@link #FLUSH_INTERVAL} milliseconds ago, and when the search ends.
+ * </p>
+ */
 public class NewSearchResultCollector extends SearchRequestor {
+	private static final int BATCH_SIZE= 1000;
+	private static final long FLUSH_INTERVAL= 200;
+
 	private AbstractTextSearchResult fSearch;
 	private boolean fIgnorePotentials;
+	private final List<Match> fPendingMatches= new ArrayList<>();
+	private long fLastFlush;
 
 	public NewSearchResultCollector(AbstractTextSearchResult search, boolean ignorePotentials) {
 		super();
@@ -60,16 +77,33 @@ public class NewSearchResultCollector extends SearchRequestor {
 				MethodReferenceMatch methodRef= (MethodReferenceMatch) match;
 				isSuperInvocation= methodRef.isSuperInvocation();
 			}
-			fSearch.addMatch(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+			fPendingMatches.add(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+			if (fPendingMatches.size() >= BATCH_SIZE || System.currentTimeMillis() - fLastFlush >= FLUSH_INTERVAL)
+				flush();
 		}
 	}
 
+	/**
+	 * Adds the collected matches that have not been added yet to the search result.
+	 *
+	 * @since 3.14
+	 */
+	public void flush() {
+		fLastFlush= System.currentTimeMillis();
+		if (fPendingMatches.isEmpty())
+			return;
+		fSearch.addMatches(fPendingMatches.toArray(new Match[fPendingMatches.size()]));
+		fPendingMatches.clear();
+	}
+
 	@Override
 	public void beginReporting() {
+		fLastFlush= System.currentTimeMillis();
 	}
 
 	@Override
 	public void endReporting() {
+		flush();
 	}
 
 	@Override
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+
+/**
+ * The bracket structure of a Java document, computed in a single forward pass over the
+ * partitions of the document.
+ * <p>
+ * {@link JavaHeuristicScanner#findOpeningPeer(int, int, char, char)} scans backwards character by
+ * character, so indenting a range of lines with the {@link JavaIndenter} is quadratic in the size
+ * of the range. If the scanner has an index, the opening peer of a position is found with a binary
+ * search instead. The results are the same as those of the scanning search.
+ * </p>
+ * <p>
+ * The index follows document changes that replace the leading white space of lines in increasing
+ * order of offsets, which is what bulk indentation does. Any other change invalidates
+ * the index, and the scanner falls back to scanning. Clients must call {@link #dispose()} when the
+ * index is no longer needed.
+ * </p>
+ *
+ * @since 3.14
+ */
+public final class JavaBracketIndex implements IDocumentListener {
+
+	/**
+	 * The brackets of one kind, e.g. all '{' and '}' in the indexed partition.
+	 */
+	private static final class Brackets {
+
+		private final char fOpening;
+		/** The original offsets of the brackets in ascending order. */
+		private int[] fOffsets= new int[64];
+		/**
+		 * For each bracket, the index of the opening peer found by a backward search that starts
+		 * at the bracket, or <code>-1</code> if there is none.
+		 */
+		private int[] fOpeningPeers= new int[64];
+		/** For each opening bracket, the index of the opening bracket that encloses it, or <code>-1</code>. */
+		private int[] fEnclosing= new int[64];
+		private int fCount;
+		/** The stack of unmatched opening brackets while the index is built. */
+		private int[] fStack= new int[64];
+		private int fDepth;
+
+		Brackets(char opening) {
+			fOpening= opening;
+		}
+
+		void add(int offset, char ch) {
+			if (fCount == fOffsets.length) {
+				fOffsets= grow(fOffsets);
+				fOpeningPeers= grow(fOpeningPeers);
+				fEnclosing= grow(fEnclosing);
+			}
+			int index= fCount++;
+			fOffsets[index]= offset;
+			if (ch == fOpening) {
+				fOpeningPeers[index]= index;
+				fEnclosing[index]= fDepth > 0 ? fStack[fDepth - 1] : -1;
+				if (fDepth == fStack.length)
+					fStack= grow(fStack);
+				fStack[fDepth++]= index;
+			} else if (fDepth > 0) {
+				// skipping the scope of the matching peer leads to the enclosing opening bracket
+				fOpeningPeers[index]= fEnclosing[fStack[--fDepth]];
+			} else {
+				fOpeningPeers[index]= -1;
+			}
+		}
+
+		void endBuild() {
+			fEnclosing= null;
+			fStack= null;
+		}
+
+		/**
+		 * Returns the original offset of the opening peer for a backward search starting at the
+		 * given original offset.
+		 *
+		 * @param originalOffset the original offset of the first character to search
+		 * @return the original offset of the opening peer, or <code>-1</code> if there is none
+		 */
+		int findOpeningPeer(int originalOffset) {
+			int index= lastIndexAtOrBefore(fOffsets, fCount, originalOffset);
+			if (index == -1)
+				return -1;
+			int peer= fOpeningPeers[index];
+			return peer == -1 ? -1 : fOffsets[peer];
+		}
+	}
+
+	private final IDocument fDocument;
+	private final Brackets fBraces= new Brackets('{');
+	private final Brackets fParentheses= new Brackets('(');
+	private final Brackets fSquareBrackets= new Brackets('[');
+	private boolean fIsValid;
+
+	/*
+	 * The white space replacements applied since the index was built, in increasing order of
+	 * offsets. Together they map offsets between the current and the original document.
+	 */
+
+	/** The current offsets of the replacements. */
+	private int[] fEditOffsets= new int[64];
+	/** The original offsets of the replacements. */
+	private int[] fEditOriginalOffsets= new int[64];
+	/** The current lengths of the replacements. */
+	private int[] fEditLengths= new int[64];
+	/** The accumulated change in length up to and including each replacement. */
+	private int[] fEditDeltas= new int[64];
+	private int fEditCount;
+
+	/**
+	 * Computes the bracket index of the Java partition of the given document and starts tracking
+	 * changes to the document.
+	 *
+	 * @param document the document, must have a Java partitioning installed
+	 * @return the index
+	 */
+	public static JavaBracketIndex create(IDocument document) {
+		return create(document, IJavaPartitions.JAVA_PARTITIONING, IDocument.DEFAULT_CONTENT_TYPE);
+	}
+
+	/**
+	 * Computes the bracket index of a partition of the given document and starts tracking changes
+	 * to the document.
+	 *
+	 * @param document the document, the index is invalid if the partitioning is not installed
+	 * @param partitioning the partitioning to use
+	 * @param partition the partition that contains the brackets to index
+	 * @return the index
+	 */
+	public static JavaBracketIndex create(IDocument document, String partitioning, String partition) {
+		JavaBracketIndex index= new JavaBracketIndex(document);
+		index.build(partitioning, partition);
+		document.addDocumentListener(index);
+		return index;
+	}
+
+	private JavaBracketIndex(IDocument document) {
+		Assert.isLegal(document != null);
+		fDocument= document;
+	}
+
+	private void build(String partitioning, String partition) {
+		if (!(fDocument instanceof IDocumentExtension3) || ((IDocumentExtension3) fDocument).getDocumentPartitioner(partitioning) == null)
+			return;
+
+		try {
+			ITypedRegion[] regions= TextUtilities.computePartitioning(fDocument, partitioning, 0, fDocument.getLength(), false);
+			String content= fDocument.get();
+			for (int i= 0; i < regions.length; i++) {
+				ITypedRegion region= regions[i];
+				if (!partition.equals(region.getType()))
+					continue;
+				int end= region.getOffset() + region.getLength();
+				for (int offset= region.getOffset(); offset < end; offset++) {
+					char ch= content.charAt(offset);
+					switch (ch) {
+						case '{':
+						case '}':
+							fBraces.add(offset, ch);
+							break;
+						case '(':
+						case ')':
+							fParentheses.add(offset, ch);
+							break;
+						case '[':
+						case ']':
+							fSquareBrackets.add(offset, ch);
+							break;
+						default:
+							break;
+					}
+				}
+			}
+			fIsValid= true;
+		} catch (BadLocationException e) {
+			fIsValid= false;
+		} finally {
+			fBraces.endBuild();
+			fParentheses.endBuild();
+			fSquareBrackets.endBuild();
+		}
+	}
+
+	/**
+	 * Stops tracking changes to the document. The index is invalid afterwards.
+	 */
+	public void dispose() {
+		fDocument.removeDocumentListener(this);
+		fIsValid= false;
+	}
+
+	/**
+	 * Tells whether the index still reflects the document.
+	 *
+	 * @return <code>true</code> if the index can be used
+	 */
+	public boolean isValid() {
+		return fIsValid;
+	}
+
+	/**
+	 * Tells whether the given peers are indexed.
+	 *
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return <code>true</code> if the index can find the opening peer
+	 */
+	public boolean isIndexed(char openingPeer, char closingPeer) {
+		return getBrackets(openingPeer, closingPeer) != null;
+	}
+
+	/**
+	 * Returns the position of the opening peer character, see
+	 * {@link JavaHeuristicScanner#findOpeningPeer(int, int, char, char)}.
+	 *
+	 * @param start the first character position to search
+	 * @param bound the first position not to consider any more, or
+	 *            {@link JavaHeuristicScanner#UNBOUND}
+	 * @param openingPeer the opening peer character, must be indexed
+	 * @param closingPeer the closing peer character, must be indexed
+	 * @return the matching peer character position, or {@link JavaHeuristicScanner#NOT_FOUND}
+	 */
+	public int findOpeningPeer(int start, int bound, char openingPeer, char closingPeer) {
+		Assert.isTrue(fIsValid);
+		Brackets brackets= getBrackets(openingPeer, closingPeer);
+		Assert.isLegal(brackets != null);
+
+		if (start < 0)
+			return JavaHeuristicScanner.NOT_FOUND;
+		int peer= brackets.findOpeningPeer(toOriginal(start));
+		if (peer == -1)
+			return JavaHeuristicScanner.NOT_FOUND;
+		peer= toCurrent(peer);
+		if (bound != JavaHeuristicScanner.UNBOUND && peer <= bound)
+			return JavaHeuristicScanner.NOT_FOUND;
+		return peer;
+	}
+
+	private Brackets getBrackets(char openingPeer, char closingPeer) {
+		if (openingPeer == '{' && closingPeer == '}')
+			return fBraces;
+		if (openingPeer == '(' && closingPeer == ')')
+			return fParentheses;
+		if (openingPeer == '[' && closingPeer == ']')
+			return fSquareBrackets;
+		return null;
+	}
+
+	private int toOriginal(int offset) {
+		int edit= lastIndexAtOrBefore(fEditOffsets, fEditCount, offset);
+		if (edit == -1)
+			return offset;
+		if (offset < fEditOffsets[edit] + fEditLengths[edit]) {
+			// inside the new white space: no bracket between the line start and the offset
+			return fEditOriginalOffsets[edit] - 1;
+		}
+		return offset - fEditDeltas[edit];
+	}
+
+	private int toCurrent(int originalOffset) {
+		int edit= lastIndexAtOrBefore(fEditOriginalOffsets, fEditCount, originalOffset);
+		if (edit == -1)
+			return originalOffset;
+		return originalOffset + fEditDeltas[edit];
+	}
+
+	/*
+	 * @see org.eclipse.jface.text.IDocumentListener#documentAboutToBeChanged(org.eclipse.jface.text.DocumentEvent)
+	 */
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		if (!fIsValid)
+			return;
+
+		int offset= event.getOffset();
+		int length= event.getLength();
+		String text= event.getText();
+		int newLength= text == null ? 0 : text.length();
+		if (length == 0 && newLength == 0)
+			return;
+
+		try {
+			int last= fEditCount - 1;
+			if (last >= 0 && offset < fEditOffsets[last] + fEditLengths[last] || !isLineStart(offset)
+					|| !isLineWhitespace(fDocument.get(offset, length)) || text != null && !isLineWhitespace(text)) {
+				fIsValid= false;
+				return;
+			}
+		} catch (BadLocationException e) {
+			fIsValid= false;
+			return;
+		}
+
+		if (fEditCount == fEditOffsets.length) {
+			fEditOffsets= grow(fEditOffsets);
+			fEditOriginalOffsets= grow(fEditOriginalOffsets);
+			fEditLengths= grow(fEditLengths);
+			fEditDeltas= grow(fEditDeltas);
+		}
+		int delta= fEditCount == 0 ? 0 : fEditDeltas[fEditCount - 1];
+		fEditOffsets[fEditCount]= offset;
+		fEditOriginalOffsets[fEditCount]= offset - delta;
+		fEditLengths[fEditCount]= newLength;
+		fEditDeltas[fEditCount]= delta + newLength - length;
+		fEditCount++;
+	}
+
+	/*
+	 * @see org.eclipse.jface.text.IDocumentListener#documentChanged(org.eclipse.jface.text.DocumentEvent)
+	 */
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		// the replacement has been recorded before the change
+	}
+
+	private boolean isLineStart(int offset) throws BadLocationException {
+		if (offset == 0)
+			return true;
+		char previous= fDocument.getChar(offset - 1);
+		return previous == '\n' || previous == '\r';
+	}
+
+	/**
+	 * Tells whether the given text only consists of white space that does not end a line. Replacing
+	 * such text at the start of a line neither moves a bracket to another partition nor changes the
+	 * bracket structure.
+	 *
+	 * @param text the text
+	 * @return <code>true</code> if the text is white space within a line
+	 */
+	private static boolean isLineWhitespace(String text) {
+		for (int i= 0; i < text.length(); i++) {
+			char ch= text.charAt(i);
+			if (ch == '\n' || ch == '\r' || !Character.isWhitespace(ch))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the last element that is less than or equal to the given value.
+	 *
+	 * @param values the values in ascending order
+	 * @param count the number of values
+	 * @param value the value to search
+	 * @return the index of the last element that is not greater than <code>value</code>, or
+	 *         <code>-1</code> if there is none
+	 */
+	private static int lastIndexAtOrBefore(int[] values, int count, int value) {
+		int low= 0;
+		int high= count - 1;
+		while (low <= high) {
+			int mid= (low + high) >>> 1;
+			if (values[mid] <= value)
+				low= mid + 1;
+			else
+				high= mid - 1;
+		}
+		return high;
+	}
+
+	private static int[] grow(int[] array) {
+		int[] grown= new int[array.length * 2];
+		System.arraycopy(array, 0, grown, 0, array.length);
+		return grown;
+	}
+}
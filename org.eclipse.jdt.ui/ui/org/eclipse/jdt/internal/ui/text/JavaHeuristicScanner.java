@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -261,6 +261,11 @@ public final class JavaHeuristicScanner implements Symbols {
 	 * @since 3.2
 	 */
 	private ITypedRegion fCachedPartition= new TypedRegion(-1, 0, "__no_partition_at_all"); //$NON-NLS-1$
+	/**
+	 * The index used to find opening peers, or <code>null</code> to scan for them.
+	 * @since 3.14
+	 */
+	private JavaBracketIndex fBracketIndex;
 
 	/* preset stop conditions */
 	private final StopCondition fNonWSDefaultPart= new NonWhitespaceDefaultPartition();
@@ -292,6 +297,30 @@ public final class JavaHeuristicScanner implements Symbols {
 		this(document, IJavaPartitions.JAVA_PARTITIONING, IDocument.DEFAULT_CONTENT_TYPE);
 	}
 
+	/**
+	 * Sets the index used to find opening peers. The index must have been created for the
+	 * document, partitioning and partition of this scanner. As long as the index is valid,
+	 * {@link #findOpeningPeer(int, int, char, char)} does not need to scan the document.
+	 *
+	 * @param index the bracket index, or <code>null</code> to always scan
+	 * @since 3.14
+	 */
+	public void setBracketIndex(JavaBracketIndex index) {
+		fBracketIndex= index;
+	}
+
+	/**
+	 * Tells whether opening peers of the given kind are found with a valid bracket index.
+	 *
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return <code>true</code> if {@link #findOpeningPeer(int, int, char, char)} uses the index
+	 * @since 3.14
+	 */
+	public boolean hasBracketIndex(char openingPeer, char closingPeer) {
+		return fBracketIndex != null && fBracketIndex.isValid() && fBracketIndex.isIndexed(openingPeer, closingPeer);
+	}
+
 	/**
 	 * Returns the most recent internal scan position.
 	 *
@@ -613,6 +642,9 @@ public final class JavaHeuristicScanner implements Symbols {
 	public int findOpeningPeer(int start, int bound, char openingPeer, char closingPeer) {
 		Assert.isLegal(start < fDocument.getLength());
 
+		if (hasBracketIndex(openingPeer, closingPeer))
+			return fBracketIndex.findOpeningPeer(start, bound, openingPeer, closingPeer);
+
 		try {
 			final CharacterMatch match= new CharacterMatch(new char[] {openingPeer, closingPeer});
 			int depth= 1;
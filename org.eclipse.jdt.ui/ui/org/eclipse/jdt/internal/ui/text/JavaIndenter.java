@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -2156,6 +2156,11 @@ public final class JavaIndenter {
 	 */
 	private boolean skipScope(int openToken, int closeToken) {
 
+		char openingPeer= getPeerCharacter(openToken);
+		char closingPeer= getPeerCharacter(closeToken);
+		if (openingPeer != 0 && fScanner.hasBracketIndex(openingPeer, closingPeer))
+			return skipIndexedScope(openToken, openingPeer, closingPeer);
+
 		int depth= 1;
 
 		while (true) {
@@ -2172,4 +2177,66 @@ public final class JavaIndenter {
 			}
 		}
 	}
+
+	/**
+	 * Skips the scope of the current closing token like {@link #skipScope(int, int)}, but finds
+	 * the opening peer with the bracket index of the scanner. The internal state is the same as
+	 * if the tokens had been read one by one.
+	 *
+	 * @param openToken the opening peer token
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return <code>true</code> if a matching token was found, <code>false</code>
+	 *         otherwise
+	 * @since 3.14
+	 */
+	private boolean skipIndexedScope(int openToken, char openingPeer, char closingPeer) {
+		int closingPosition= fPosition;
+		int peer= fScanner.findOpeningPeer(closingPosition - 1, openingPeer, closingPeer);
+		boolean found= peer != JavaHeuristicScanner.NOT_FOUND;
+
+		// the previous position is the start of the token read just before the peer (or the EOF)
+		int previousPos= fScanner.findNonWhitespaceForward(found ? peer + 1 : 0, closingPosition + 1);
+		fPreviousPos= previousPos == JavaHeuristicScanner.NOT_FOUND ? closingPosition : previousPos;
+		if (found) {
+			fToken= openToken;
+			fPosition= peer;
+		} else {
+			fToken= Symbols.TokenEOF;
+			fPosition= 0;
+		}
+		try {
+			fLine= fDocument.getLineOfOffset(fPosition);
+		} catch (BadLocationException e) {
+			fLine= -1;
+		}
+		return found;
+	}
+
+	/**
+	 * Returns the peer character of a bracket token.
+	 *
+	 * @param token the token
+	 * @return the bracket character, or <code>0</code> if the token is no
+	 *         parenthesis, brace or square bracket
+	 * @since 3.14
+	 */
+	private static char getPeerCharacter(int token) {
+		switch (token) {
+			case Symbols.TokenLPAREN:
+				return '(';
+			case Symbols.TokenRPAREN:
+				return ')';
+			case Symbols.TokenLBRACE:
+				return '{';
+			case Symbols.TokenRBRACE:
+				return '}';
+			case Symbols.TokenLBRACKET:
+				return '[';
+			case Symbols.TokenRBRACKET:
+				return ']';
+			default:
+				return 0;
+		}
+	}
 }
@@ -19,6 +19,10 @@ import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -165,9 +169,12 @@ public class JavaReconciler extends MonoReconciler {
 			if (event.getDelta().getFlags() == IJavaElementDelta.F_AST_AFFECTED || canIgnore(event.getDelta().getAffectedChildren()))
 				return;
 
+			if (!getJavaReconcilingStrategy().getDependencies().isAffectedBy(event.getDelta()))
+				return;
+
 			setJavaModelChanged(true);
 			if (isEditorActive())
-				JavaReconciler.this.forceReconciling();
+				scheduleForcedReconciling();
 		}
 
 		/**
@@ -233,7 +240,7 @@ public class JavaReconciler extends MonoReconciler {
 					int i= deltas.length;
 					while (--i >= 0) {
 						if (deltas[i].isSubtypeOf(IMarker.PROBLEM)) {
-							forceReconciling();
+							scheduleForcedReconciling();
 							return;
 						}
 					}
@@ -287,6 +294,18 @@ public class JavaReconciler extends MonoReconciler {
 	 */
 	private ITypeRoot fReconciledElement;
 
+	/**
+	 * The job that coalesces forced reconciles triggered by bursts of Java model and marker changes.
+	 * @since 3.14
+	 */
+	private Job fForcedReconcileJob;
+
+	/**
+	 * Delay in milliseconds used to coalesce forced reconciles.
+	 * @since 3.14
+	 */
+	private static final long FORCED_RECONCILE_DELAY= 300;
+
 	/**
 	 * Creates a new reconciler.
 	 *
@@ -347,6 +366,17 @@ public class JavaReconciler extends MonoReconciler {
 		JavaPlugin.getDefault().getCombinedPreferenceStore().addPropertyChangeListener(fPropertyChangeListener);
 
 		fReconciledElement= EditorUtility.getEditorInputJavaElement(fTextEditor, false);
+
+		fForcedReconcileJob= new Job(TextMessages.JavaReconciler_forcedReconcile_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				if (!monitor.isCanceled())
+					forceReconciling();
+				return Status.OK_STATUS;
+			}
+		};
+		fForcedReconcileJob.setSystem(true);
+		fForcedReconcileJob.setPriority(Job.DECORATE);
 	}
 
 	/*
@@ -355,6 +385,9 @@ public class JavaReconciler extends MonoReconciler {
 	@Override
 	public void uninstall() {
 
+		fForcedReconcileJob.cancel();
+		fForcedReconcileJob= null;
+
 		IWorkbenchPartSite site= fTextEditor.getSite();
 		IWorkbenchWindow window= site.getWorkbenchWindow();
 		window.getPartService().removePartListener(fPartListener);
@@ -391,6 +424,28 @@ public class JavaReconciler extends MonoReconciler {
 		strategy.notifyListeners(false);
 	}
 
+	/**
+	 * Forces a reconcile after a short delay. Requests that arrive before the pending reconcile
+	 * has started are merged into it, so that a burst of deltas results in a single reconcile.
+	 *
+	 * @since 3.14
+	 */
+	private void scheduleForcedReconciling() {
+		Job job= fForcedReconcileJob;
+		if (job != null)
+			job.schedule(FORCED_RECONCILE_DELAY);
+	}
+
+	/**
+	 * Returns the Java reconciling strategy of this reconciler.
+	 *
+	 * @return the Java reconciling strategy
+	 * @since 3.14
+	 */
+	private JavaCompositeReconcilingStrategy getJavaReconcilingStrategy() {
+		return (JavaCompositeReconcilingStrategy) getReconcilingStrategy(IDocument.DEFAULT_CONTENT_TYPE);
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.reconciler.AbstractReconciler#aboutToReconcile()
 	 * @since 3.0
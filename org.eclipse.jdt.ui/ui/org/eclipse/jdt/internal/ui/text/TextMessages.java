@@ -32,6 +32,7 @@ final class TextMessages extends NLS {
 	public static String JavaOutlineInformationControl_GoIntoTopLevelType_label;
 	public static String JavaOutlineInformationControl_GoIntoTopLevelType_tooltip;
 	public static String JavaOutlineInformationControl_GoIntoTopLevelType_description;
+	public static String JavaReconciler_forcedReconcile_job_name;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, TextMessages.class);
@@ -387,7 +387,7 @@ public class AdvancedQuickAssistProcessor implements IQuickAssistProcessor {
 		if (!(covering instanceof IfStatement)) {
 			return false;
 		}
-		IfStatement ifStatement= (IfStatement) covering;
+		final IfStatement ifStatement= (IfStatement) covering;
 		if (ifStatement.getElseStatement() == null) {
 			return false;
 		}
@@ -395,31 +395,35 @@ public class AdvancedQuickAssistProcessor implements IQuickAssistProcessor {
 		if (resultingCollections == null) {
 			return true;
 		}
-		//
-		AST ast= covering.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-		Statement thenStatement= ifStatement.getThenStatement();
-		Statement elseStatement= ifStatement.getElseStatement();
+		// add correction proposal, the rewrite is only created when the proposal is previewed or applied
+		String label= CorrectionMessages.AdvancedQuickAssistProcessor_inverseIf_description;
+		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.INVERSE_IF_STATEMENT, image) {
+			@Override
+			protected ASTRewrite getRewrite() throws CoreException {
+				AST ast= ifStatement.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				Statement thenStatement= ifStatement.getThenStatement();
+				Statement elseStatement= ifStatement.getElseStatement();
 
-		// prepare original nodes
-		Expression inversedExpression= getInversedExpression(rewrite, ifStatement.getExpression());
+				// prepare original nodes
+				Expression inversedExpression= getInversedExpression(rewrite, ifStatement.getExpression());
 
-		Statement newElseStatement= (Statement) rewrite.createMoveTarget(thenStatement);
-		Statement newThenStatement= (Statement) rewrite.createMoveTarget(elseStatement);
-		// set new nodes
-		rewrite.set(ifStatement, IfStatement.EXPRESSION_PROPERTY, inversedExpression, null);
+				Statement newElseStatement= (Statement) rewrite.createMoveTarget(thenStatement);
+				Statement newThenStatement= (Statement) rewrite.createMoveTarget(elseStatement);
+				// set new nodes
+				rewrite.set(ifStatement, IfStatement.EXPRESSION_PROPERTY, inversedExpression, null);
 
-		if (elseStatement instanceof IfStatement) {// bug 79507 && bug 74580
-			Block elseBlock= ast.newBlock();
-			elseBlock.statements().add(newThenStatement);
-			newThenStatement= elseBlock;
-		}
-		rewrite.set(ifStatement, IfStatement.THEN_STATEMENT_PROPERTY, newThenStatement, null);
-		rewrite.set(ifStatement, IfStatement.ELSE_STATEMENT_PROPERTY, newElseStatement, null);
-		// add correction proposal
-		String label= CorrectionMessages.AdvancedQuickAssistProcessor_inverseIf_description;
-		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.INVERSE_IF_STATEMENT, image);
+				if (elseStatement instanceof IfStatement) {// bug 79507 && bug 74580
+					Block elseBlock= ast.newBlock();
+					elseBlock.statements().add(newThenStatement);
+					newThenStatement= elseBlock;
+				}
+				rewrite.set(ifStatement, IfStatement.THEN_STATEMENT_PROPERTY, newThenStatement, null);
+				rewrite.set(ifStatement, IfStatement.ELSE_STATEMENT_PROPERTY, newElseStatement, null);
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
@@ -1249,25 +1253,29 @@ public class AdvancedQuickAssistProcessor implements IQuickAssistProcessor {
 		if (!(covering instanceof ConditionalExpression)) {
 			return false;
 		}
-		ConditionalExpression expression= (ConditionalExpression) covering;
+		final ConditionalExpression expression= (ConditionalExpression) covering;
 		//  we could produce quick assist
 		if (resultingCollections == null) {
 			return true;
 		}
-		//
-		AST ast= covering.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-		// prepare new conditional expression
-		ConditionalExpression newExpression= ast.newConditionalExpression();
-		newExpression.setExpression(getInversedExpression(rewrite, expression.getExpression()));
-		newExpression.setThenExpression((Expression) rewrite.createCopyTarget(expression.getElseExpression()));
-		newExpression.setElseExpression((Expression) rewrite.createCopyTarget(expression.getThenExpression()));
-		// replace old expression with new
-		rewrite.replace(expression, newExpression, null);
-		// add correction proposal
+		// add correction proposal, the rewrite is only created when the proposal is previewed or applied
 		String label= CorrectionMessages.AdvancedQuickAssistProcessor_inverseConditionalExpression_description;
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.INVERSE_CONDITIONAL_EXPRESSION, image);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.INVERSE_CONDITIONAL_EXPRESSION, image) {
+			@Override
+			protected ASTRewrite getRewrite() throws CoreException {
+				AST ast= expression.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				// prepare new conditional expression
+				ConditionalExpression newExpression= ast.newConditionalExpression();
+				newExpression.setExpression(getInversedExpression(rewrite, expression.getExpression()));
+				newExpression.setThenExpression((Expression) rewrite.createCopyTarget(expression.getElseExpression()));
+				newExpression.setElseExpression((Expression) rewrite.createCopyTarget(expression.getThenExpression()));
+				// replace old expression with new
+				rewrite.replace(expression, newExpression, null);
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
@@ -1985,7 +1993,7 @@ public class AdvancedQuickAssistProcessor implements IQuickAssistProcessor {
 		}
 		covering= node;
 
-		StructuralPropertyDescriptor locationInParent= covering.getLocationInParent();
+		final StructuralPropertyDescriptor locationInParent= covering.getLocationInParent();
 		if (locationInParent == Assignment.RIGHT_HAND_SIDE_PROPERTY) {
 			if (covering.getParent().getLocationInParent() != ExpressionStatement.EXPRESSION_PROPERTY) {
 				return false;
@@ -1999,56 +2007,59 @@ public class AdvancedQuickAssistProcessor implements IQuickAssistProcessor {
 			return false;
 		}
 
-		ConditionalExpression conditional= (ConditionalExpression) covering;
+		final ConditionalExpression conditional= (ConditionalExpression) covering;
 		//  we could produce quick assist
 		if (resultingCollections == null) {
 			return true;
 		}
-		//
-		AST ast= covering.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-		// prepare new 'if' statement
-		Expression expression= conditional.getExpression();
-		while (expression instanceof ParenthesizedExpression) {
-			expression= ((ParenthesizedExpression) expression).getExpression();
-		}
-		IfStatement ifStatement= ast.newIfStatement();
-		ifStatement.setExpression((Expression) rewrite.createCopyTarget(expression));
-		if (locationInParent == Assignment.RIGHT_HAND_SIDE_PROPERTY) {
-			Assignment assignment= (Assignment) covering.getParent();
-			Expression assignee= assignment.getLeftHandSide();
-			Assignment.Operator op= assignment.getOperator();
-
-			ifStatement.setThenStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getThenExpression()));
-			ifStatement.setElseStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getElseExpression()));
-
-			// replace return conditional expression with if/then/else/return
-			rewrite.replace(covering.getParent().getParent(), ifStatement, null);
-
-		} else if (locationInParent == ReturnStatement.EXPRESSION_PROPERTY) {
-			ifStatement.setThenStatement(createReturnExpression(rewrite, conditional.getThenExpression()));
-			ifStatement.setElseStatement(createReturnExpression(rewrite, conditional.getElseExpression()));
-			//
-			// replace return conditional expression with if/then/else/return
-			rewrite.replace(conditional.getParent(), ifStatement, null);
-		} else if (locationInParent == VariableDeclarationFragment.INITIALIZER_PROPERTY) {
-			VariableDeclarationFragment frag= (VariableDeclarationFragment) covering.getParent();
-			Assignment.Operator op= Assignment.Operator.ASSIGN;
-
-			Expression assignee= frag.getName();
-			ifStatement.setThenStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getThenExpression()));
-			ifStatement.setElseStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getElseExpression()));
-
-			rewrite.set(frag, VariableDeclarationFragment.INITIALIZER_PROPERTY, null, null); // clear initializer
-
-			ASTNode statement= frag.getParent();
-			rewrite.getListRewrite(statement.getParent(), Block.STATEMENTS_PROPERTY).insertAfter(ifStatement, statement, null);
-		}
-
-		// add correction proposal
+		// add correction proposal, the rewrite is only created when the proposal is previewed or applied
 		String label= CorrectionMessages.AdvancedQuickAssistProcessor_replaceConditionalWithIf;
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.REPLACE_CONDITIONAL_WITH_IF_ELSE, image);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.REPLACE_CONDITIONAL_WITH_IF_ELSE, image) {
+			@Override
+			protected ASTRewrite getRewrite() throws CoreException {
+				AST ast= conditional.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				// prepare new 'if' statement
+				Expression expression= conditional.getExpression();
+				while (expression instanceof ParenthesizedExpression) {
+					expression= ((ParenthesizedExpression) expression).getExpression();
+				}
+				IfStatement ifStatement= ast.newIfStatement();
+				ifStatement.setExpression((Expression) rewrite.createCopyTarget(expression));
+				if (locationInParent == Assignment.RIGHT_HAND_SIDE_PROPERTY) {
+					Assignment assignment= (Assignment) conditional.getParent();
+					Expression assignee= assignment.getLeftHandSide();
+					Assignment.Operator op= assignment.getOperator();
+
+					ifStatement.setThenStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getThenExpression()));
+					ifStatement.setElseStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getElseExpression()));
+
+					// replace return conditional expression with if/then/else/return
+					rewrite.replace(conditional.getParent().getParent(), ifStatement, null);
+
+				} else if (locationInParent == ReturnStatement.EXPRESSION_PROPERTY) {
+					ifStatement.setThenStatement(createReturnExpression(rewrite, conditional.getThenExpression()));
+					ifStatement.setElseStatement(createReturnExpression(rewrite, conditional.getElseExpression()));
+					//
+					// replace return conditional expression with if/then/else/return
+					rewrite.replace(conditional.getParent(), ifStatement, null);
+				} else if (locationInParent == VariableDeclarationFragment.INITIALIZER_PROPERTY) {
+					VariableDeclarationFragment frag= (VariableDeclarationFragment) conditional.getParent();
+					Assignment.Operator op= Assignment.Operator.ASSIGN;
+
+					Expression assignee= frag.getName();
+					ifStatement.setThenStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getThenExpression()));
+					ifStatement.setElseStatement(createAssignmentStatement(rewrite, op, assignee, conditional.getElseExpression()));
+
+					rewrite.set(frag, VariableDeclarationFragment.INITIALIZER_PROPERTY, null, null); // clear initializer
+
+					ASTNode statement= frag.getParent();
+					rewrite.getListRewrite(statement.getParent(), Block.STATEMENTS_PROPERTY).insertAfter(ifStatement, statement, null);
+				}
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
@@ -14,31 +14,47 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.jface.dialogs.MessageDialog;
+
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IMarkerResolution;
 import org.eclipse.ui.IMarkerResolutionGenerator2;
 import org.eclipse.ui.IMarkerResolutionRelevance;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.views.markers.WorkbenchMarkerResolution;
 
 import org.eclipse.ui.texteditor.ITextEditor;
@@ -53,9 +69,18 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring.MultiFixTarget;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextEditUtil;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.corext.util.Resources;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.cleanup.ICleanUp;
@@ -63,6 +88,8 @@ import org.eclipse.jdt.ui.text.java.CompletionProposalComparator;
 import org.eclipse.jdt.ui.text.java.IInvocationContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
 import org.eclipse.jdt.ui.text.java.IProblemLocation;
+import org.eclipse.jdt.ui.text.java.correction.ASTRewriteCorrectionProposal;
+import org.eclipse.jdt.ui.text.java.correction.CUCorrectionProposal;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix;
@@ -70,6 +97,7 @@ import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaMarkerAnnotation;
 import org.eclipse.jdt.internal.ui.text.correction.proposals.CreatePackageInfoWithDefaultNullnessProposal;
 import org.eclipse.jdt.internal.ui.text.correction.proposals.FixCorrectionProposal;
+import org.eclipse.jdt.internal.ui.text.correction.proposals.ReplaceCorrectionProposal;
 
 
 public class CorrectionMarkerResolutionGenerator implements IMarkerResolutionGenerator2 {
@@ -78,6 +106,11 @@ public class CorrectionMarkerResolutionGenerator implements IMarkerResolutionGen
 
 		private static final IMarker[] NO_MARKERS= new IMarker[0];
 
+		/**
+		 * The proposal types that are applied by their text edits alone.
+		 */
+		private static final Class<?>[] BATCH_PROPOSAL_TYPES= { CUCorrectionProposal.class, ASTRewriteCorrectionProposal.class, ReplaceCorrectionProposal.class };
+
 		private ICompilationUnit fCompilationUnit;
 		private int fOffset;
 		private int fLength;
@@ -133,22 +166,27 @@ public class CorrectionMarkerResolutionGenerator implements IMarkerResolutionGen
 				return;
 			}
 
-			if (!(fProposal instanceof FixCorrectionProposal) && !(fProposal instanceof CreatePackageInfoWithDefaultNullnessProposal))
+			boolean batch= isBatchResolution();
+			if (!batch && !(fProposal instanceof FixCorrectionProposal) && !(fProposal instanceof CreatePackageInfoWithDefaultNullnessProposal))
 				return;
 
 			if (monitor == null)
 				monitor= new NullProgressMonitor();
 
 			try {
-				MultiFixTarget[] problems= getCleanUpTargets(markers);
+				if (batch) {
+					resolveInBatch(markers, monitor);
+				} else {
+					MultiFixTarget[] problems= getCleanUpTargets(markers);
+
+					if (fProposal instanceof CreatePackageInfoWithDefaultNullnessProposal) {
+						((CreatePackageInfoWithDefaultNullnessProposal) fProposal).resolve(problems, monitor);
+						return;
+					}
 
-				if (fProposal instanceof CreatePackageInfoWithDefaultNullnessProposal) {					
-					((CreatePackageInfoWithDefaultNullnessProposal) fProposal).resolve(problems, monitor);
-					return;
+					((FixCorrectionProposal)fProposal).resolve(problems, monitor);
 				}
 
-				((FixCorrectionProposal)fProposal).resolve(problems, monitor);
-
 				IEditorPart part= EditorUtility.isOpenInEditor(fCompilationUnit);
 				if (part instanceof ITextEditor) {
 					((ITextEditor) part).selectAndReveal(fOffset, fLength);
@@ -161,6 +199,179 @@ public class CorrectionMarkerResolutionGenerator implements IMarkerResolutionGen
 			}
 		}
 
+		/**
+		 * Tells whether this resolution is applied to multiple markers by computing the same
+		 * proposal for each marker, rather than by a multi fix clean up.
+		 * <p>
+		 * Only proposals whose change consists of their text edits alone qualify. Subclasses are
+		 * excluded, since they may do additional work when they are applied, e.g. open a dialog,
+		 * add imports or enter linked mode.
+		 * </p>
+		 *
+		 * @return <code>true</code> if the proposal is a pure text edit proposal
+		 */
+		private boolean isBatchResolution() {
+			for (int i= 0; i < BATCH_PROPOSAL_TYPES.length; i++) {
+				if (fProposal.getClass() == BATCH_PROPOSAL_TYPES[i])
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Applies the proposal to all given markers. Each affected compilation unit is parsed only
+		 * once, the edits of all markers in a compilation unit are merged, and the changes of all
+		 * compilation units are performed as one change with a single undo entry. A marker whose
+		 * edit overlaps with the edit of another marker in the same compilation unit is skipped, as
+		 * is a marker for which the proposal is no longer offered. The user is informed about
+		 * skipped markers, they can be fixed by running the resolution again.
+		 *
+		 * @param markers the markers to fix
+		 * @param monitor the progress monitor
+		 * @throws CoreException if computing or performing the change failed
+		 */
+		private void resolveInBatch(IMarker[] markers, IProgressMonitor monitor) throws CoreException {
+			monitor.beginTask("", 2); //$NON-NLS-1$
+
+			Map<IMarker, CUCorrectionProposal> proposals= findSameProposals(markers, new SubProgressMonitor(monitor, 1));
+			int skipped= markers.length - proposals.size();
+			Map<ICompilationUnit, TextEdit> edits= new LinkedHashMap<>();
+			for (Iterator<CUCorrectionProposal> iterator= proposals.values().iterator(); iterator.hasNext();) {
+				CUCorrectionProposal proposal= iterator.next();
+				TextEdit edit= proposal.getTextChange().getEdit();
+				if (edit == null) {
+					skipped++;
+					continue;
+				}
+
+				ICompilationUnit cu= proposal.getCompilationUnit();
+				TextEdit previous= edits.get(cu);
+				if (previous == null) {
+					edits.put(cu, edit);
+				} else if (!TextEditUtil.overlaps(previous, edit)) {
+					edits.put(cu, TextEditUtil.merge(previous, edit));
+				} else {
+					skipped++;
+				}
+			}
+			if (skipped > 0)
+				displaySkippedMessage(skipped, markers.length);
+			if (edits.isEmpty())
+				return;
+
+			List<IResource> resources= new ArrayList<>();
+			CompositeChange change= new CompositeChange(getLabel());
+			for (Iterator<Map.Entry<ICompilationUnit, TextEdit>> iterator= edits.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<ICompilationUnit, TextEdit> entry= iterator.next();
+				ICompilationUnit cu= entry.getKey();
+				CompilationUnitChange cuChange= new CompilationUnitChange(cu.getElementName(), cu);
+				cuChange.setEdit(entry.getValue());
+				change.add(cuChange);
+				resources.add(cu.getResource());
+			}
+
+			IStatus status= Resources.makeCommittable(resources.toArray(new IResource[resources.size()]), JavaPlugin.getActiveWorkbenchShell());
+			if (!status.isOK())
+				throw new CoreException(status);
+
+			PerformChangeOperation operation= new PerformChangeOperation(change);
+			operation.setUndoManager(RefactoringCore.getUndoManager(), change.getName());
+			operation.run(new SubProgressMonitor(monitor, 1));
+		}
+
+		private void displaySkippedMessage(final int skipped, final int total) {
+			final Display display= PlatformUI.getWorkbench().getDisplay();
+			if (display != null && !display.isDisposed()) {
+				display.asyncExec(new Runnable() {
+					@Override
+					public void run() {
+						if (!display.isDisposed()) {
+							Shell shell= display.getActiveShell();
+							String message= Messages.format(CorrectionMessages.CorrectionMarkerResolutionGenerator_skipped_message, new Object[] { String.valueOf(skipped), String.valueOf(total) });
+							MessageDialog.openInformation(shell, CorrectionMessages.CorrectionMarkerResolutionGenerator_skipped_title, message);
+						}
+					}
+				});
+			}
+		}
+
+		/**
+		 * Computes the proposal with the same kind and label as this resolution's proposal for each
+		 * of the given markers. The compilation units of the markers are parsed in a batch.
+		 *
+		 * @param markers the markers
+		 * @param monitor the progress monitor
+		 * @return the proposals, mapped by marker; markers without such a proposal are not contained
+		 * @throws OperationCanceledException if the monitor has been canceled
+		 */
+		private Map<IMarker, CUCorrectionProposal> findSameProposals(IMarker[] markers, final IProgressMonitor monitor) {
+			final Map<ICompilationUnit, List<IMarker>> unitMarkers= new LinkedHashMap<>();
+			for (int i= 0; i < markers.length; i++) {
+				IMarker marker= markers[i];
+				ICompilationUnit cu= getCompilationUnit(marker);
+				if (cu != null && !(marker.getResource() instanceof IFolder)) {
+					List<IMarker> list= unitMarkers.get(cu);
+					if (list == null) {
+						list= new ArrayList<>();
+						unitMarkers.put(cu, list);
+					}
+					list.add(marker);
+				}
+			}
+
+			final Map<IMarker, CUCorrectionProposal> result= new LinkedHashMap<>();
+			if (unitMarkers.isEmpty())
+				return result;
+
+			ASTBatchParser parser= new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser astParser= CleanUpRefactoring.createCleanUpASTParser();
+					astParser.setProject(project);
+					return astParser;
+				}
+			};
+			Set<ICompilationUnit> units= unitMarkers.keySet();
+			parser.createASTs(units.toArray(new ICompilationUnit[units.size()]), new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					if (monitor.isCanceled())
+						throw new OperationCanceledException();
+					List<IMarker> list= unitMarkers.get(source);
+					for (int i= 0, size= list.size(); i < size; i++) {
+						IMarker marker= list.get(i);
+						CUCorrectionProposal proposal= findSameProposal(source, ast, marker);
+						if (proposal != null)
+							result.put(marker, proposal);
+					}
+				}
+			}, monitor);
+			return result;
+		}
+
+		private CUCorrectionProposal findSameProposal(ICompilationUnit cu, CompilationUnit astRoot, IMarker marker) {
+			IEditorInput input= EditorUtility.getEditorInput(cu);
+			if (input == null)
+				return null;
+
+			IProblemLocation location= findProblemLocation(input, marker);
+			if (location == null || !hasProblem(astRoot.getProblems(), location))
+				return null;
+
+			AssistContext context= new AssistContext(cu, location.getOffset(), location.getLength());
+			context.setASTRoot(astRoot);
+
+			ArrayList<IJavaCompletionProposal> proposals= new ArrayList<>();
+			JavaCorrectionProcessor.collectCorrections(context, new IProblemLocation[] { location }, proposals);
+			String label= getLabel();
+			for (int i= 0; i < proposals.size(); i++) {
+				IJavaCompletionProposal proposal= proposals.get(i);
+				if (proposal.getClass() == fProposal.getClass() && label.equals(proposal.getDisplayString()))
+					return (CUCorrectionProposal) proposal;
+			}
+			return null;
+		}
+
 		public static MultiFixTarget[] getCleanUpTargets(IMarker[] markers) {
 			Hashtable<ICompilationUnit, List<IProblemLocation>> problemLocations= new Hashtable<>();
 			for (int i= 0; i < markers.length; i++) {
@@ -230,6 +441,9 @@ public class CorrectionMarkerResolutionGenerator implements IMarkerResolutionGen
 
 				return result.toArray(new IMarker[result.size()]);
 			}
+			if (isBatchResolution())
+				return findOtherMarkersInBatch(markers);
+
 			if (!(fProposal instanceof FixCorrectionProposal))
 				return NO_MARKERS;
 
@@ -271,6 +485,35 @@ public class CorrectionMarkerResolutionGenerator implements IMarkerResolutionGen
 			return result.toArray(new IMarker[result.size()]);
 		}
 
+		/**
+		 * Returns the markers in compilation units that have the same problem id as fMarker. The
+		 * markers are not checked for whether the quick fix offers the same proposal for them,
+		 * since that requires to parse their compilation units. This is done when the resolution
+		 * is run, see {@link #resolveInBatch(IMarker[], IProgressMonitor)}.
+		 *
+		 * @param markers the markers
+		 * @return the markers that can likely be fixed together with fMarker
+		 */
+		private IMarker[] findOtherMarkersInBatch(IMarker[] markers) {
+			int problemId= fMarker.getAttribute(IJavaModelMarker.ID, -1);
+			if (problemId == -1)
+				return NO_MARKERS;
+
+			List<IMarker> candidates= new ArrayList<>();
+			for (Iterator<List<IMarker>> iterator= getMarkersForFiles(markers).values().iterator(); iterator.hasNext();) {
+				List<IMarker> fileMarkers= iterator.next();
+				for (int i= 0, size= fileMarkers.size(); i < size; i++) {
+					IMarker marker= fileMarkers.get(i);
+					if (marker.getAttribute(IJavaModelMarker.ID, -1) == problemId && getCompilationUnit(marker) != null)
+						candidates.add(marker);
+				}
+			}
+			if (candidates.isEmpty())
+				return NO_MARKERS;
+
+			return candidates.toArray(new IMarker[candidates.size()]);
+		}
+
 		/**
 		 * Returns the markers with the same type as fMarker.getType for each IFile.
 		 * @param markers the markers
@@ -44,6 +44,7 @@ public final class CorrectionMessages extends NLS {
 	public static String ModifierCorrectionSubProcessor_remove_override;
 	public static String ModifierCorrectionSubProcessor_removefinal_description;
 	public static String ModifierCorrectionSubProcessor_removevolatile_description;
+	public static String QuickAssistLightBulbUpdater_job_name;
 	public static String QuickAssistProcessor_convert_anonym_to_nested;
 	public static String QuickAssistProcessor_convert_local_to_field_description;
 	public static String QuickAssistProcessor_convert_to_indexed_for_loop;
@@ -79,6 +80,8 @@ public final class CorrectionMessages extends NLS {
 	public static String ChangeCorrectionProposal_error_title;
 	public static String ChangeCorrectionProposal_error_message;
 	public static String ChangeCorrectionProposal_name_with_shortcut;
+	public static String CorrectionMarkerResolutionGenerator_skipped_title;
+	public static String CorrectionMarkerResolutionGenerator_skipped_message;
 	public static String CUCorrectionProposal_error_title;
 	public static String CUCorrectionProposal_error_message;
 	public static String ReorgCorrectionsSubProcessor_renametype_description;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,9 +16,12 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
@@ -69,6 +72,12 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	private static final String QUICKFIX_PROCESSOR_CONTRIBUTION_ID= "quickFixProcessors"; //$NON-NLS-1$
 	private static final String QUICKASSIST_PROCESSOR_CONTRIBUTION_ID= "quickAssistProcessors"; //$NON-NLS-1$
 
+	/**
+	 * The name of the performance event used to trace the latency of each quick fix and quick
+	 * assist processor.
+	 */
+	private static final String PERF_PROCESSORS= "org.eclipse.jdt.ui/perf/quickfix/processors"; //$NON-NLS-1$
+
 	private static ContributedProcessorDescriptor[] fgContributedAssistProcessors= null;
 	private static ContributedProcessorDescriptor[] fgContributedCorrectionProcessors= null;
 
@@ -147,10 +156,27 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	}
 
 	public static boolean hasAssists(IInvocationContext context) {
+		return hasAssists(context, new NullProgressMonitor());
+	}
+
+	/**
+	 * Tests if one of the contributed quick assist processors has assists for the given context.
+	 * The processors are asked one after the other, and the test stops when the monitor is
+	 * canceled.
+	 *
+	 * @param context the invocation context
+	 * @param monitor the progress monitor, only used for cancellation
+	 * @return <code>true</code> if there are assists, <code>false</code> if there are none or if
+	 *         the monitor has been canceled
+	 */
+	public static boolean hasAssists(IInvocationContext context, IProgressMonitor monitor) {
 		ContributedProcessorDescriptor[] processors= getAssistProcessors();
 		SafeHasAssist collector= new SafeHasAssist(context);
 
 		for (int i= 0; i < processors.length; i++) {
+			if (monitor.isCanceled()) {
+				return false;
+			}
 			collector.process(processors[i]);
 			if (collector.hasAssists()) {
 				return true;
@@ -381,7 +407,14 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		public void safeRun(ContributedProcessorDescriptor desc) throws Exception {
 			IQuickFixProcessor curr= (IQuickFixProcessor) desc.getProcessor(fContext.getCompilationUnit(), IQuickFixProcessor.class);
 			if (curr != null) {
-				IJavaCompletionProposal[] res= curr.getCorrections(fContext, fLocations);
+				PerformanceStats stats= PerformanceStats.getStats(PERF_PROCESSORS, curr);
+				IJavaCompletionProposal[] res;
+				stats.startRun();
+				try {
+					res= curr.getCorrections(fContext, fLocations);
+				} finally {
+					stats.endRun();
+				}
 				if (res != null) {
 					for (int k= 0; k < res.length; k++) {
 						fProposals.add(res[k]);
@@ -406,7 +439,14 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		public void safeRun(ContributedProcessorDescriptor desc) throws Exception {
 			IQuickAssistProcessor curr= (IQuickAssistProcessor) desc.getProcessor(fContext.getCompilationUnit(), IQuickAssistProcessor.class);
 			if (curr != null) {
-				IJavaCompletionProposal[] res= curr.getAssists(fContext, fLocations);
+				PerformanceStats stats= PerformanceStats.getStats(PERF_PROCESSORS, curr);
+				IJavaCompletionProposal[] res;
+				stats.startRun();
+				try {
+					res= curr.getAssists(fContext, fLocations);
+				} finally {
+					stats.endRun();
+				}
 				if (res != null) {
 					for (int k= 0; k < res.length; k++) {
 						fProposals.add(res[k]);
@@ -1544,29 +1544,37 @@ public class LocalCorrectionsSubProcessor {
 	public static void addFallThroughProposals(IInvocationContext context, IProblemLocation problem, Collection<ICommandAccess> proposals) {
 		ASTNode selectedNode= problem.getCoveringNode(context.getASTRoot());
 		if (selectedNode instanceof SwitchCase && selectedNode.getLocationInParent() == SwitchStatement.STATEMENTS_PROPERTY) {
-			AST ast= selectedNode.getAST();
-			ASTNode parent= selectedNode.getParent();
+			final SwitchCase switchCase= (SwitchCase) selectedNode;
 
 			// insert break:
-			ASTRewrite rewrite= ASTRewrite.create(ast);
-			ListRewrite listRewrite= rewrite.getListRewrite(parent, SwitchStatement.STATEMENTS_PROPERTY);
-			listRewrite.insertBefore(ast.newBreakStatement(), selectedNode, null);
-
 			String label= CorrectionMessages.LocalCorrectionsSubProcessor_insert_break_statement;
 			Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-			ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.INSERT_BREAK_STATEMENT, image);
+			ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.INSERT_BREAK_STATEMENT, image) {
+				@Override
+				protected ASTRewrite getRewrite() throws CoreException {
+					AST ast= switchCase.getAST();
+					ASTRewrite rewrite= ASTRewrite.create(ast);
+					ListRewrite listRewrite= rewrite.getListRewrite(switchCase.getParent(), SwitchStatement.STATEMENTS_PROPERTY);
+					listRewrite.insertBefore(ast.newBreakStatement(), switchCase, null);
+					return rewrite;
+				}
+			};
 			proposals.add(proposal);
 
 			// insert //$FALL-THROUGH$:
-			rewrite= ASTRewrite.create(ast);
-			rewrite.setTargetSourceRangeComputer(new NoCommentSourceRangeComputer());
-			listRewrite= rewrite.getListRewrite(parent, SwitchStatement.STATEMENTS_PROPERTY);
-			ASTNode fallThroughComment= rewrite.createStringPlaceholder("//$FALL-THROUGH$", ASTNode.EMPTY_STATEMENT); //$NON-NLS-1$
-			listRewrite.insertBefore(fallThroughComment, selectedNode, null);
-
 			label= CorrectionMessages.LocalCorrectionsSubProcessor_insert_fall_through;
 			image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-			proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.INSERT_FALL_THROUGH, image);
+			proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.INSERT_FALL_THROUGH, image) {
+				@Override
+				protected ASTRewrite getRewrite() throws CoreException {
+					ASTRewrite rewrite= ASTRewrite.create(switchCase.getAST());
+					rewrite.setTargetSourceRangeComputer(new NoCommentSourceRangeComputer());
+					ListRewrite listRewrite= rewrite.getListRewrite(switchCase.getParent(), SwitchStatement.STATEMENTS_PROPERTY);
+					ASTNode fallThroughComment= rewrite.createStringPlaceholder("//$FALL-THROUGH$", ASTNode.EMPTY_STATEMENT); //$NON-NLS-1$
+					listRewrite.insertBefore(fallThroughComment, switchCase, null);
+					return rewrite;
+				}
+			};
 			proposals.add(proposal);
 		}
 	}
@@ -1719,7 +1727,7 @@ public class LocalCorrectionsSubProcessor {
 		return hasDefault;
 	}
 
-	public static void createMissingCaseProposals(IInvocationContext context, SwitchStatement switchStatement, ArrayList<String> enumConstNames, Collection<ICommandAccess> proposals) {
+	public static void createMissingCaseProposals(IInvocationContext context, final SwitchStatement switchStatement, ArrayList<String> enumConstNames, Collection<ICommandAccess> proposals) {
 		List<Statement> statements= switchStatement.statements();
 		int defaultIndex= statements.size();
 		for (int i= 0; i < statements.size(); i++) {
@@ -1729,33 +1737,41 @@ public class LocalCorrectionsSubProcessor {
 				break;
 			}
 		}
-		boolean hasDefault= defaultIndex < statements.size();
+		final boolean hasDefault= defaultIndex < statements.size();
 
-		AST ast= switchStatement.getAST();
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
 
 		if (enumConstNames.size() > 0) {
-			ASTRewrite astRewrite= ASTRewrite.create(ast);
-			ListRewrite listRewrite= astRewrite.getListRewrite(switchStatement, SwitchStatement.STATEMENTS_PROPERTY);
-			for (int i= 0; i < enumConstNames.size(); i++) {
-				SwitchCase newSwitchCase= ast.newSwitchCase();
-				newSwitchCase.setExpression(ast.newName(enumConstNames.get(i)));
-				listRewrite.insertAt(newSwitchCase, defaultIndex, null);
-				defaultIndex++;
-				if (!hasDefault) {
-					listRewrite.insertAt(ast.newBreakStatement(), defaultIndex, null);
-					defaultIndex++;
-				}
-			}
-			if (!hasDefault) {
-				SwitchCase newSwitchCase= ast.newSwitchCase();
-				newSwitchCase.setExpression(null);
-				listRewrite.insertAt(newSwitchCase, defaultIndex, null);
-				defaultIndex++;
-				listRewrite.insertAt(ast.newBreakStatement(), defaultIndex, null);
-			}
+			final List<String> names= new ArrayList<>(enumConstNames);
+			final int insertIndex= defaultIndex;
 			String label= CorrectionMessages.LocalCorrectionsSubProcessor_add_missing_cases_description;
-			proposals.add(new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), astRewrite, IProposalRelevance.ADD_MISSING_CASE_STATEMENTS, image));
+			proposals.add(new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.ADD_MISSING_CASE_STATEMENTS, image) {
+				@Override
+				protected ASTRewrite getRewrite() throws CoreException {
+					AST ast= switchStatement.getAST();
+					ASTRewrite astRewrite= ASTRewrite.create(ast);
+					ListRewrite listRewrite= astRewrite.getListRewrite(switchStatement, SwitchStatement.STATEMENTS_PROPERTY);
+					int index= insertIndex;
+					for (int i= 0; i < names.size(); i++) {
+						SwitchCase newSwitchCase= ast.newSwitchCase();
+						newSwitchCase.setExpression(ast.newName(names.get(i)));
+						listRewrite.insertAt(newSwitchCase, index, null);
+						index++;
+						if (!hasDefault) {
+							listRewrite.insertAt(ast.newBreakStatement(), index, null);
+							index++;
+						}
+					}
+					if (!hasDefault) {
+						SwitchCase newSwitchCase= ast.newSwitchCase();
+						newSwitchCase.setExpression(null);
+						listRewrite.insertAt(newSwitchCase, index, null);
+						index++;
+						listRewrite.insertAt(ast.newBreakStatement(), index, null);
+					}
+					return astRewrite;
+				}
+			});
 		}
 		if (!hasDefault) {
 			createMissingDefaultProposal(context, switchStatement, image, proposals);
@@ -1776,18 +1792,22 @@ public class LocalCorrectionsSubProcessor {
 		}
 	}
 
-	private static void createMissingDefaultProposal(IInvocationContext context, SwitchStatement switchStatement, Image image, Collection<ICommandAccess> proposals) {
-		AST ast= switchStatement.getAST();
-		ASTRewrite astRewrite= ASTRewrite.create(ast);
-		ListRewrite listRewrite= astRewrite.getListRewrite(switchStatement, SwitchStatement.STATEMENTS_PROPERTY);
-
-		SwitchCase newSwitchCase= ast.newSwitchCase();
-		newSwitchCase.setExpression(null);
-		listRewrite.insertLast(newSwitchCase, null);
-		listRewrite.insertLast(ast.newBreakStatement(), null);
-
+	private static void createMissingDefaultProposal(IInvocationContext context, final SwitchStatement switchStatement, Image image, Collection<ICommandAccess> proposals) {
 		String label= CorrectionMessages.LocalCorrectionsSubProcessor_add_default_case_description;
-		proposals.add(new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), astRewrite, IProposalRelevance.ADD_MISSING_DEFAULT_CASE, image));
+		proposals.add(new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.ADD_MISSING_DEFAULT_CASE, image) {
+			@Override
+			protected ASTRewrite getRewrite() throws CoreException {
+				AST ast= switchStatement.getAST();
+				ASTRewrite astRewrite= ASTRewrite.create(ast);
+				ListRewrite listRewrite= astRewrite.getListRewrite(switchStatement, SwitchStatement.STATEMENTS_PROPERTY);
+
+				SwitchCase newSwitchCase= ast.newSwitchCase();
+				newSwitchCase.setExpression(null);
+				listRewrite.insertLast(newSwitchCase, null);
+				listRewrite.insertLast(ast.newBreakStatement(), null);
+				return astRewrite;
+			}
+		});
 	}
 
 	public static void addMissingHashCodeProposals(IInvocationContext context, IProblemLocation problem, Collection<ICommandAccess> proposals) {
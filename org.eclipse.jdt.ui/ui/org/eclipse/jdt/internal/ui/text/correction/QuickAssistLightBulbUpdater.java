@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,9 @@
 package org.eclipse.jdt.internal.ui.text.correction;
 
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.GC;
@@ -20,6 +22,11 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Canvas;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 
@@ -55,10 +62,19 @@ import org.eclipse.jdt.internal.ui.viewsupport.ISelectionListenerWithAST;
 import org.eclipse.jdt.internal.ui.viewsupport.SelectionListenerWithASTManager;
 
 /**
- *
+ * Shows a light bulb at the caret if there are quick assists for the current selection. The
+ * assists are computed in a job that is started with a short delay and canceled when the
+ * selection changes. For empty selections, the result is cached by caret offset for the current
+ * AST, so moving the caret back to an offset that has already been visited costs nothing. The cache
+ * is discarded when the AST changes.
  */
 public class QuickAssistLightBulbUpdater {
 
+	/**
+	 * Delay in milliseconds before the quick assists are computed for a new selection.
+	 */
+	private static final int LIGHT_BULB_DELAY= 100;
+
 	public static class AssistAnnotation extends Annotation implements IAnnotationPresentation {
 
 		//XXX: To be fully correct this should be a non-static fields in QuickAssistLightBulbUpdater
@@ -109,6 +125,15 @@ public class QuickAssistLightBulbUpdater {
 	private ISelectionListenerWithAST fListener;
 	private IPropertyChangeListener fPropertyChangeListener;
 
+	private Job fLightBulbJob;
+	private CompilationUnit fCachedASTRoot;
+	/**
+	 * Maps the offsets of empty selections in {@link #fCachedASTRoot} to whether there are quick
+	 * assists at the offset. The offset is the key rather than the covering node, since assists
+	 * depend on the offset within the node, e.g. whether it is on an operator.
+	 */
+	private final Map<Integer, Boolean> fHasAssistsCache= new HashMap<>();
+
 	public QuickAssistLightBulbUpdater(ITextEditor part, ITextViewer viewer) {
 		fEditor= part;
 		fViewer= viewer;
@@ -136,6 +161,11 @@ public class QuickAssistLightBulbUpdater {
 			SelectionListenerWithASTManager.getDefault().removeListener(fEditor, fListener);
 			fListener= null;
 		}
+		synchronized (this) {
+			cancelLightBulbJob();
+			fCachedASTRoot= null;
+			fHasAssistsCache.clear();
+		}
 		IAnnotationModel model= getAnnotationModel();
 		if (model != null) {
 			removeLightBulb(model);
@@ -212,19 +242,86 @@ public class QuickAssistLightBulbUpdater {
 		context.setASTRoot(astRoot);
 
 		boolean hasQuickFix= hasQuickFixLightBulb(model, context.getSelectionOffset());
-		if (hasQuickFix) {
-			removeLightBulb(model);
-			return; // there is already a quick fix light bulb at the new location
+		synchronized (this) {
+			cancelLightBulbJob();
+			if (hasQuickFix) {
+				removeLightBulb(model);
+				return; // there is already a quick fix light bulb at the new location
+			}
+
+			Boolean hasAssists= getCachedHasAssists(context);
+			if (hasAssists != null) {
+				updateLightBulb(model, context, hasAssists.booleanValue());
+			} else {
+				scheduleLightBulbJob(model, context);
+			}
+		}
+	}
+
+	/*
+	 * Needs to be called synchronized
+	 */
+	private void cancelLightBulbJob() {
+		if (fLightBulbJob != null) {
+			fLightBulbJob.cancel();
+			fLightBulbJob= null;
+		}
+	}
+
+	/*
+	 * Needs to be called synchronized
+	 */
+	private void scheduleLightBulbJob(final IAnnotationModel model, final IInvocationContext context) {
+		fLightBulbJob= new Job(CorrectionMessages.QuickAssistLightBulbUpdater_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				boolean hasAssists= JavaCorrectionProcessor.hasAssists(context, monitor);
+				synchronized (QuickAssistLightBulbUpdater.this) {
+					if (monitor.isCanceled() || fLightBulbJob != this) {
+						return Status.CANCEL_STATUS;
+					}
+					fLightBulbJob= null;
+					putCachedHasAssists(context, hasAssists);
+					updateLightBulb(model, context, hasAssists);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fLightBulbJob.setPriority(Job.DECORATE);
+		fLightBulbJob.setSystem(true);
+		fLightBulbJob.schedule(LIGHT_BULB_DELAY);
+	}
+
+	/*
+	 * Needs to be called synchronized
+	 */
+	private Boolean getCachedHasAssists(IInvocationContext context) {
+		CompilationUnit astRoot= context.getASTRoot();
+		if (astRoot != fCachedASTRoot) {
+			// the shared AST is replaced on every reconcile
+			fCachedASTRoot= astRoot;
+			fHasAssistsCache.clear();
+			return null;
+		}
+		if (context.getSelectionLength() != 0) {
+			return null;
 		}
+		return fHasAssistsCache.get(Integer.valueOf(context.getSelectionOffset()));
+	}
 
-		calculateLightBulb(model, context);
+	/*
+	 * Needs to be called synchronized
+	 */
+	private void putCachedHasAssists(IInvocationContext context, boolean hasAssists) {
+		if (context.getASTRoot() == fCachedASTRoot && context.getSelectionLength() == 0) {
+			fHasAssistsCache.put(Integer.valueOf(context.getSelectionOffset()), Boolean.valueOf(hasAssists));
+		}
 	}
 
 	/*
 	 * Needs to be called synchronized
 	 */
-	private void calculateLightBulb(IAnnotationModel model, IInvocationContext context) {
-		boolean needsAnnotation= JavaCorrectionProcessor.hasAssists(context);
+	private void updateLightBulb(IAnnotationModel model, IInvocationContext context, boolean needsAnnotation) {
 		if (fIsAnnotationShown) {
 			model.removeAnnotation(fAnnotation);
 		}
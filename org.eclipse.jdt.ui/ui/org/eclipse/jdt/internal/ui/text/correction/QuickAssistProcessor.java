@@ -943,7 +943,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 	}
 
 	private static boolean getChangeLambdaBodyToBlockProposal(IInvocationContext context, ASTNode covering, Collection<ICommandAccess> resultingCollections) {
-		LambdaExpression lambda;
+		final LambdaExpression lambda;
 		if (covering instanceof LambdaExpression) {
 			lambda= (LambdaExpression) covering;
 		} else if (covering.getLocationInParent() == LambdaExpression.BODY_PROPERTY) {
@@ -960,15 +960,18 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		if (resultingCollections == null)
 			return true;
 
-		AST ast= lambda.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-
-		changeLambdaBodyToBlock(lambda, ast, rewrite);
-
-		// add proposal
+		// add proposal, the rewrite is only created when the proposal is previewed or applied
 		String label= CorrectionMessages.QuickAssistProcessor_change_lambda_body_to_block;
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.CHANGE_LAMBDA_BODY_TO_BLOCK, image);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.CHANGE_LAMBDA_BODY_TO_BLOCK, image) {
+			@Override
+			protected ASTRewrite getRewrite() throws CoreException {
+				AST ast= lambda.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				changeLambdaBodyToBlock(lambda, ast, rewrite);
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
@@ -2125,7 +2128,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 	}
 
 	private static boolean getAddFinallyProposals(IInvocationContext context, ASTNode node, Collection<ICommandAccess> resultingCollections) {
-		TryStatement tryStatement= ASTResolving.findParentTryStatement(node);
+		final TryStatement tryStatement= ASTResolving.findParentTryStatement(node);
 		if (tryStatement == null || tryStatement.getFinally() != null) {
 			return false;
 		}
@@ -2138,15 +2141,19 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 			return true;
 		}
 
-		AST ast= tryStatement.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-		Block finallyBody= ast.newBlock();
-
-		rewrite.set(tryStatement, TryStatement.FINALLY_PROPERTY, finallyBody, null);
-
 		String label= CorrectionMessages.QuickAssistProcessor_addfinallyblock_description;
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_ADD);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.ADD_FINALLY_BLOCK, image);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.ADD_FINALLY_BLOCK, image) {
+			@Override
+			protected ASTRewrite getRewrite() throws CoreException {
+				AST ast= tryStatement.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				Block finallyBody= ast.newBlock();
+
+				rewrite.set(tryStatement, TryStatement.FINALLY_PROPERTY, finallyBody, null);
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
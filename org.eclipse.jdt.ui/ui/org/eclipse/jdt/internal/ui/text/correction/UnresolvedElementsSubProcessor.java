@@ -1560,11 +1560,11 @@ public class UnresolvedElementsSubProcessor {
 		return '\'' + BasicElementLabels.getJavaElementName(ASTNodes.asString(expr)) + '\'';
 	}
 
-	private static void doMoreArguments(IInvocationContext context, ASTNode invocationNode, List<Expression> arguments, ITypeBinding[] argTypes, IMethodBinding methodRef, Collection<ICommandAccess> proposals) throws CoreException {
+	private static void doMoreArguments(IInvocationContext context, ASTNode invocationNode, final List<Expression> arguments, ITypeBinding[] argTypes, IMethodBinding methodRef, Collection<ICommandAccess> proposals) throws CoreException {
 		ITypeBinding[] paramTypes= methodRef.getParameterTypes();
 		int k= 0, nSkipped= 0;
 		int diff= argTypes.length - paramTypes.length;
-		int[] indexSkipped= new int[diff];
+		final int[] indexSkipped= new int[diff];
 		for (int i= 0; i < argTypes.length; i++) {
 			if (k < paramTypes.length && canAssign(argTypes[i], paramTypes[k])) {
 				k++; // match
@@ -1577,15 +1577,10 @@ public class UnresolvedElementsSubProcessor {
 		}
 
 		ICompilationUnit cu= context.getCompilationUnit();
-		CompilationUnit astRoot= context.getASTRoot();
+		final CompilationUnit astRoot= context.getASTRoot();
 
 		// remove arguments
 		{
-			ASTRewrite rewrite= ASTRewrite.create(astRoot.getAST());
-
-			for (int i= diff - 1; i >= 0; i--) {
-				rewrite.remove(arguments.get(indexSkipped[i]), null);
-			}
 			String[] arg= new String[] { org.eclipse.jdt.internal.ui.text.correction.ASTResolving.getMethodSignature(methodRef) };
 			String label;
 			if (diff == 1) {
@@ -1594,7 +1589,16 @@ public class UnresolvedElementsSubProcessor {
 				label= Messages.format(CorrectionMessages.UnresolvedElementsSubProcessor_removearguments_description, arg);
 			}
 			Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_REMOVE);
-			ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, cu, rewrite, IProposalRelevance.REMOVE_ARGUMENTS, image);
+			ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, cu, null, IProposalRelevance.REMOVE_ARGUMENTS, image) {
+				@Override
+				protected ASTRewrite getRewrite() throws CoreException {
+					ASTRewrite rewrite= ASTRewrite.create(astRoot.getAST());
+					for (int i= indexSkipped.length - 1; i >= 0; i--) {
+						rewrite.remove(arguments.get(indexSkipped[i]), null);
+					}
+					return rewrite;
+				}
+			};
 			proposals.add(proposal);
 		}
 
@@ -1737,17 +1741,21 @@ public class UnresolvedElementsSubProcessor {
 			int idx2= indexOfDiff[1];
 			boolean canSwap= canAssign(argTypes[idx1], paramTypes[idx2]) && canAssign(argTypes[idx2], paramTypes[idx1]);
 			if (canSwap) {
-				Expression arg1= arguments.get(idx1);
-				Expression arg2= arguments.get(idx2);
-
-				ASTRewrite rewrite= ASTRewrite.create(astRoot.getAST());
-				rewrite.replace(arg1, rewrite.createCopyTarget(arg2), null);
-				rewrite.replace(arg2, rewrite.createCopyTarget(arg1), null);
+				final Expression arg1= arguments.get(idx1);
+				final Expression arg2= arguments.get(idx2);
 				{
 					String[] arg= new String[] { getArgumentName(arguments, idx1), getArgumentName(arguments, idx2) };
 					String label= Messages.format(CorrectionMessages.UnresolvedElementsSubProcessor_swaparguments_description, arg);
 					Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_CHANGE);
-					ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.SWAP_ARGUMENTS, image);
+					ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.SWAP_ARGUMENTS, image) {
+						@Override
+						protected ASTRewrite getRewrite() throws CoreException {
+							ASTRewrite rewrite= ASTRewrite.create(arg1.getAST());
+							rewrite.replace(arg1, rewrite.createCopyTarget(arg2), null);
+							rewrite.replace(arg2, rewrite.createCopyTarget(arg1), null);
+							return rewrite;
+						}
+					};
 					proposals.add(proposal);
 				}
 
@@ -63,6 +63,13 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 	 */
 	private CompilationUnit fAST;
 
+	/**
+	 * The dependencies of the last reconciled AST.
+	 *
+	 * @since 3.14
+	 */
+	private volatile ReconcileDependencies fDependencies= ReconcileDependencies.UNKNOWN;
+
 
 	public JavaReconcilingStrategy(ITextEditor editor) {
 		fEditor= editor;
@@ -129,6 +136,7 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 				if (ast != null) {
 					// mark as unmodifiable
 					ASTNodes.setFlagsToAST(ast, ASTNode.PROTECT);
+					fDependencies= ReconcileDependencies.create(ast);
 					return ast;
 				}
 			} else
@@ -194,6 +202,17 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 		fNotify= notify;
 	}
 
+	/**
+	 * Returns the types and packages the reconciled unit depended on during the last reconcile
+	 * that computed an AST.
+	 *
+	 * @return the dependencies, {@link ReconcileDependencies#UNKNOWN} if not known yet
+	 * @since 3.14
+	 */
+	public ReconcileDependencies getDependencies() {
+		return fDependencies;
+	}
+
 	/**
 	 * Called before reconciling is started.
 	 *
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.BreakStatement;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ContinueStatement;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.IPackageBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.LabeledStatement;
+import org.eclipse.jdt.core.dom.PackageDeclaration;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+
+/**
+ * The set of types and packages a reconciled compilation unit depends on, computed from the
+ * bindings of its last reconcile AST.
+ * <p>
+ * Instances are immutable and can be queried from any thread. They are used by the reconciler
+ * to decide whether a Java element delta from elsewhere in the workspace can influence the
+ * problems or bindings of the reconciled unit.
+ * </p>
+ *
+ * @since 3.14
+ */
+public final class ReconcileDependencies {
+
+	/**
+	 * Dependencies that match every delta. Used as long as no AST has been reconciled.
+	 */
+	public static final ReconcileDependencies UNKNOWN= new ReconcileDependencies(null, new HashSet<IJavaElement>(), new HashSet<String>(), true);
+
+	private static final int CLASSPATH_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static final int ROOT_FLAGS= IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_REORDER;
+
+	/**
+	 * Collects the type roots and package names referenced by bindings in an AST.
+	 */
+	private static class DependencyCollector extends ASTVisitor {
+
+		private final Set<IJavaElement> fTypeRoots= new HashSet<>();
+		private final Set<String> fPackageNames= new HashSet<>();
+		private final Set<ITypeBinding> fVisitedTypes= new HashSet<>();
+		private boolean fHasUnresolvedReferences;
+
+		@Override
+		public boolean visit(PackageDeclaration node) {
+			fPackageNames.add(node.getName().getFullyQualifiedName());
+			return false;
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			IBinding binding= node.resolveBinding();
+			if (binding == null) {
+				if (!isLabel(node))
+					fHasUnresolvedReferences= true;
+				return false;
+			}
+			if (binding.isRecovered())
+				fHasUnresolvedReferences= true;
+
+			switch (binding.getKind()) {
+				case IBinding.TYPE:
+					addType((ITypeBinding) binding);
+					break;
+				case IBinding.VARIABLE:
+					IVariableBinding variable= (IVariableBinding) binding;
+					addType(variable.getDeclaringClass());
+					addType(variable.getType());
+					break;
+				case IBinding.METHOD:
+					IMethodBinding method= (IMethodBinding) binding;
+					addType(method.getDeclaringClass());
+					addType(method.getReturnType());
+					ITypeBinding[] parameterTypes= method.getParameterTypes();
+					for (int i= 0; i < parameterTypes.length; i++)
+						addType(parameterTypes[i]);
+					break;
+				case IBinding.PACKAGE:
+					fPackageNames.add(((IPackageBinding) binding).getName());
+					break;
+				default:
+					break;
+			}
+			return false;
+		}
+
+		private static boolean isLabel(SimpleName node) {
+			ASTNode parent= node.getParent();
+			return parent instanceof LabeledStatement || parent instanceof BreakStatement || parent instanceof ContinueStatement;
+		}
+
+		private void addType(ITypeBinding type) {
+			if (type == null)
+				return;
+			if (type.isArray())
+				type= type.getElementType();
+			if (type.isPrimitive() || type.isNullType() || type.isTypeVariable() || type.isWildcardType() || type.isCapture())
+				return;
+			type= type.getTypeDeclaration();
+			while (type.getDeclaringClass() != null)
+				type= type.getDeclaringClass();
+			if (!fVisitedTypes.add(type))
+				return;
+
+			if (type.isRecovered())
+				fHasUnresolvedReferences= true;
+			IPackageBinding pack= type.getPackage();
+			if (pack != null)
+				fPackageNames.add(pack.getName());
+			IJavaElement element= type.getJavaElement();
+			if (element instanceof IType) {
+				ITypeRoot root= ((IType) element).getTypeRoot();
+				if (root instanceof ICompilationUnit)
+					fTypeRoots.add(((ICompilationUnit) root).getPrimary());
+				else if (root != null)
+					fTypeRoots.add(root);
+			}
+
+			// members inherited from super types are visible in the reconciled unit
+			addType(type.getSuperclass());
+			ITypeBinding[] interfaces= type.getInterfaces();
+			for (int i= 0; i < interfaces.length; i++)
+				addType(interfaces[i]);
+		}
+	}
+
+	private final IJavaElement fReconciledElement;
+	private final Set<IJavaElement> fTypeRoots;
+	private final Set<String> fPackageNames;
+	private final boolean fHasUnresolvedReferences;
+
+	private ReconcileDependencies(IJavaElement reconciledElement, Set<IJavaElement> typeRoots, Set<String> packageNames, boolean hasUnresolvedReferences) {
+		fReconciledElement= reconciledElement;
+		fTypeRoots= typeRoots;
+		fPackageNames= packageNames;
+		fHasUnresolvedReferences= hasUnresolvedReferences;
+	}
+
+	/**
+	 * Computes the dependencies of the given AST.
+	 *
+	 * @param ast the reconciled AST, must have bindings
+	 * @return the dependencies of the AST
+	 */
+	public static ReconcileDependencies create(CompilationUnit ast) {
+		IJavaElement element= ast.getJavaElement();
+		if (element instanceof ICompilationUnit)
+			element= ((ICompilationUnit) element).getPrimary();
+		DependencyCollector collector= new DependencyCollector();
+		ast.accept(collector);
+		return new ReconcileDependencies(element, collector.fTypeRoots, collector.fPackageNames, collector.fHasUnresolvedReferences);
+	}
+
+	/**
+	 * Tells whether the given delta touches one of the dependencies.
+	 *
+	 * @param delta the Java element delta
+	 * @return <code>true</code> if the delta may change the reconcile result
+	 */
+	public boolean isAffectedBy(IJavaElementDelta delta) {
+		if (this == UNKNOWN)
+			return true;
+
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CLASSPATH_FLAGS) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ROOT_FLAGS) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return fHasUnresolvedReferences || fPackageNames.contains(element.getElementName());
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				return isAffectedByTypeRoot(delta);
+			default:
+				return false;
+		}
+
+		IJavaElementDelta[] children= delta.getAffectedChildren();
+		for (int i= 0; i < children.length; i++) {
+			if (isAffectedBy(children[i]))
+				return true;
+		}
+		return false;
+	}
+
+	private boolean isAffectedByTypeRoot(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		if (element instanceof ICompilationUnit)
+			element= ((ICompilationUnit) element).getPrimary();
+		if (element.equals(fReconciledElement))
+			return false;
+
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			if (fHasUnresolvedReferences || fTypeRoots.contains(element))
+				return true;
+			IJavaElement pack= element.getParent();
+			return pack != null && fPackageNames.contains(pack.getElementName());
+		}
+
+		if (!fTypeRoots.contains(element)) {
+			// an unresolved reference may be resolved by a type that is declared in any unit
+			return fHasUnresolvedReferences
+					&& (element instanceof IClassFile || (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED)) != 0);
+		}
+		if (element instanceof IClassFile)
+			return true;
+		// ignore changes that don't touch the shape of the unit, e.g. pure working copy state changes
+		return (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED
+				| IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0;
+	}
+}
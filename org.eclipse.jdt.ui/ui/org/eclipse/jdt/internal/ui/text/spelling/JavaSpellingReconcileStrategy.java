@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -24,6 +34,8 @@ import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+import org.eclipse.ui.texteditor.spelling.SpellingEngineDescriptor;
 import org.eclipse.ui.texteditor.spelling.SpellingProblem;
 import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
 import org.eclipse.ui.texteditor.spelling.SpellingService;
@@ -34,6 +46,9 @@ import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.IProblem;
 
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
 
 /**
  * Reconcile strategy for spell checking comments.
@@ -55,26 +70,8 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		@Override
 		public void accept(SpellingProblem problem) {
 			IProblemRequestor requestor= fRequestor;
-			if (requestor != null) {
-				try {
-					int line= getDocument().getLineOfOffset(problem.getOffset()) + 1;
-					String word= getDocument().get(problem.getOffset(), problem.getLength());
-					boolean dictionaryMatch= false;
-					boolean sentenceStart= false;
-					if (problem instanceof JavaSpellingProblem) {
-						dictionaryMatch= ((JavaSpellingProblem)problem).isDictionaryMatch();
-						sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
-					}
-					// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
-					IEditorInput editorInput= fEditor.getEditorInput();
-					if (editorInput != null) {
-						CoreSpellingProblem iProblem= new CoreSpellingProblem(problem.getOffset(), problem.getOffset() + problem.getLength() - 1, line, problem.getMessage(), word, dictionaryMatch, sentenceStart, getDocument(), editorInput.getName());
-						requestor.acceptProblem(iProblem);
-					}
-				} catch (BadLocationException x) {
-					// drop this SpellingProblem
-				}
-			}
+			if (requestor != null)
+				reportProblem(requestor, CheckedProblem.create(problem));
 		}
 
 		/*
@@ -96,6 +93,160 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		}
 	}
 
+	/**
+	 * A spelling problem found by the spelling engine. Its offset is either a document offset or
+	 * relative to the start of the partition that contains it.
+	 *
+	 * @since 3.14
+	 */
+	private static final class CheckedProblem {
+
+		final int fOffset;
+		final int fLength;
+		final String fMessage;
+		final boolean fDictionaryMatch;
+		final boolean fSentenceStart;
+
+		CheckedProblem(int offset, int length, String message, boolean dictionaryMatch, boolean sentenceStart) {
+			fOffset= offset;
+			fLength= length;
+			fMessage= message;
+			fDictionaryMatch= dictionaryMatch;
+			fSentenceStart= sentenceStart;
+		}
+
+		static CheckedProblem create(SpellingProblem problem) {
+			boolean dictionaryMatch= false;
+			boolean sentenceStart= false;
+			if (problem instanceof JavaSpellingProblem) {
+				dictionaryMatch= ((JavaSpellingProblem)problem).isDictionaryMatch();
+				sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
+			}
+			return new CheckedProblem(problem.getOffset(), problem.getLength(), problem.getMessage(), dictionaryMatch, sentenceStart);
+		}
+
+		CheckedProblem move(int delta) {
+			return new CheckedProblem(fOffset + delta, fLength, fMessage, fDictionaryMatch, fSentenceStart);
+		}
+	}
+
+	/**
+	 * A comment or string partition that has been spell checked under the current dictionary
+	 * generation, with the problems found in it.
+	 *
+	 * @since 3.14
+	 */
+	private static final class CheckedPartition {
+
+		final String fType;
+		final List<CheckedProblem> fProblems;
+
+		CheckedPartition(String type, List<CheckedProblem> problems) {
+			fType= type;
+			fProblems= problems;
+		}
+	}
+
+	/**
+	 * Spelling problem collector for incremental spell checking. The problems found in the
+	 * re-checked partitions are merged with the problems remembered for the unchanged partitions
+	 * and then reported in document order.
+	 *
+	 * @since 3.14
+	 */
+	private class IncrementalSpellingProblemCollector implements ISpellingProblemCollector {
+
+		private final ITypedRegion[] fPartitions;
+		private final String[] fContents;
+		private final CheckedPartition[] fUnchanged;
+		private final List<CheckedProblem> fFoundProblems= new ArrayList<>();
+		private List<CheckedProblem> fProblems;
+
+		/**
+		 * Creates a new collector.
+		 *
+		 * @param partitions the spell checked partitions
+		 * @param contents the contents of the partitions
+		 * @param unchanged the remembered state of each partition, or <code>null</code> if it
+		 *            is checked again
+		 */
+		IncrementalSpellingProblemCollector(ITypedRegion[] partitions, String[] contents, CheckedPartition[] unchanged) {
+			fPartitions= partitions;
+			fContents= contents;
+			fUnchanged= unchanged;
+		}
+
+		@Override
+		public void accept(SpellingProblem problem) {
+			fFoundProblems.add(CheckedProblem.create(problem));
+		}
+
+		@Override
+		public void beginCollecting() {
+			fFoundProblems.clear();
+			fProblems= null;
+		}
+
+		@Override
+		public void endCollecting() {
+			List<CheckedProblem> problems= new ArrayList<>(fFoundProblems);
+			for (int i= 0; i < fPartitions.length; i++) {
+				if (fUnchanged[i] == null)
+					continue;
+				for (CheckedProblem problem : fUnchanged[i].fProblems)
+					problems.add(problem.move(fPartitions[i].getOffset()));
+			}
+			Collections.sort(problems, new Comparator<CheckedProblem>() {
+				@Override
+				public int compare(CheckedProblem p1, CheckedProblem p2) {
+					return p1.fOffset - p2.fOffset;
+				}
+			});
+
+			// report what a check of the whole document reports
+			int threshold= PreferenceConstants.getPreferenceStore().getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+			if (problems.size() > threshold)
+				problems= problems.subList(0, threshold);
+			fProblems= problems;
+
+			IProblemRequestor requestor= fRequestor;
+			if (requestor == null)
+				return;
+			requestor.beginReporting();
+			for (CheckedProblem problem : problems)
+				reportProblem(requestor, problem);
+			requestor.endReporting();
+		}
+
+		/**
+		 * Returns the state of the spell checked partitions, or <code>null</code> if not all
+		 * problems are known, e.g. because the problems threshold has been reached.
+		 *
+		 * @return the checked partitions by their contents, or <code>null</code>
+		 */
+		Map<String, CheckedPartition> getCheckedPartitions() {
+			int threshold= PreferenceConstants.getPreferenceStore().getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+			if (fProblems == null || fProblems.size() >= threshold)
+				return null;
+
+			Map<String, CheckedPartition> checked= new HashMap<>();
+			int next= 0;
+			for (int i= 0; i < fPartitions.length; i++) {
+				ITypedRegion partition= fPartitions[i];
+				int offset= partition.getOffset();
+				int end= offset + partition.getLength();
+				List<CheckedProblem> problems= new ArrayList<>();
+				while (next < fProblems.size() && fProblems.get(next).fOffset < end) {
+					CheckedProblem problem= fProblems.get(next++);
+					if (problem.fOffset >= offset)
+						problems.add(problem.move(-offset));
+				}
+				checked.put(fContents[i], new CheckedPartition(partition.getType(), problems));
+			}
+			return checked;
+		}
+	}
+
 
 	/** The id of the problem */
 	public static final int SPELLING_PROBLEM_ID= 0x80000000;
@@ -109,6 +260,25 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	/** The problem requester. */
 	private IProblemRequestor fRequestor;
 
+	/**
+	 * The spell checked partitions by their contents, or <code>null</code> if the next
+	 * reconcile has to check the whole document.
+	 * @since 3.14
+	 */
+	private volatile Map<String, CheckedPartition> fCheckedPartitions;
+
+	/**
+	 * The dictionary generation under which {@link #fCheckedPartitions} have been checked.
+	 * @since 3.14
+	 */
+	private volatile int fCheckedGeneration;
+
+	/**
+	 * The progress monitor of the reconciler, or <code>null</code>.
+	 * @since 3.14
+	 */
+	private volatile IProgressMonitor fIncrementalProgressMonitor;
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -126,8 +296,121 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void reconcile(IRegion region) {
-		if (fRequestor != null && isSpellingEnabled())
-			super.reconcile(region);
+		if (fRequestor != null && isSpellingEnabled()) {
+			if (!reconcileIncrementally(region)) {
+				fCheckedPartitions= null;
+				super.reconcile(region);
+			}
+		}
+	}
+
+	/**
+	 * Spell checks only the comment and string partitions that have changed since the last
+	 * reconcile and reports the remembered problems of the other partitions again, since the
+	 * annotation model replaces all problems at the end of each reconcile.
+	 *
+	 * @param region the region to reconcile
+	 * @return <code>false</code> if incremental spell checking is not possible for the region
+	 * @since 3.14
+	 */
+	private boolean reconcileIncrementally(IRegion region) {
+		IDocument document= getDocument();
+		if (document == null || region.getOffset() != 0 || region.getLength() != document.getLength() || !isJavaSpellingEngineActive())
+			return false;
+
+		int generation= SpellCheckEngine.getDictionaryGeneration();
+		Map<String, CheckedPartition> previous= fCheckedGeneration == generation ? fCheckedPartitions : null;
+
+		ITypedRegion[] partitions;
+		String[] contents;
+		CheckedPartition[] unchanged;
+		List<IRegion> dirtyRegions= new ArrayList<>();
+		try {
+			ITypedRegion[] all= TextUtilities.computePartitioning(document, IJavaPartitions.JAVA_PARTITIONING, 0, document.getLength(), false);
+			List<ITypedRegion> checkable= new ArrayList<>(all.length);
+			for (int i= 0; i < all.length; i++) {
+				String type= all[i].getType();
+				if (!IDocument.DEFAULT_CONTENT_TYPE.equals(type) && !IJavaPartitions.JAVA_CHARACTER.equals(type))
+					checkable.add(all[i]);
+			}
+			partitions= checkable.toArray(new ITypedRegion[checkable.size()]);
+			contents= new String[partitions.length];
+			unchanged= new CheckedPartition[partitions.length];
+			for (int i= 0; i < partitions.length; i++) {
+				ITypedRegion partition= partitions[i];
+				contents[i]= document.get(partition.getOffset(), partition.getLength());
+				CheckedPartition checked= previous != null ? previous.get(contents[i]) : null;
+				if (checked != null && checked.fType.equals(partition.getType()))
+					unchanged[i]= checked;
+				else
+					dirtyRegions.add(partition);
+			}
+		} catch (BadLocationException e) {
+			// the document has been changed in another thread and will be checked again
+			return false;
+		}
+
+		SpellingContext context= new SpellingContext();
+		context.setContentType(getContentType());
+		IncrementalSpellingProblemCollector collector= new IncrementalSpellingProblemCollector(partitions, contents, unchanged);
+		IProgressMonitor monitor= fIncrementalProgressMonitor;
+		EditorsUI.getSpellingService().check(document, dirtyRegions.toArray(new IRegion[dirtyRegions.size()]), context, collector, monitor);
+
+		if (monitor != null && monitor.isCanceled()) {
+			// the dirty partitions have not been checked completely
+			fCheckedPartitions= null;
+		} else {
+			fCheckedPartitions= collector.getCheckedPartitions();
+			fCheckedGeneration= generation;
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the progress monitor that is used to cancel the incremental spell check. The
+	 * progress monitor passed to {@link #setProgressMonitor(IProgressMonitor)} is only
+	 * accessible to the super class.
+	 *
+	 * @param monitor the progress monitor of the reconciler, or <code>null</code>
+	 * @since 3.14
+	 */
+	public void setIncrementalProgressMonitor(IProgressMonitor monitor) {
+		fIncrementalProgressMonitor= monitor;
+	}
+
+	/**
+	 * Tells whether the JDT spelling engine is the active engine. Only its dictionaries and
+	 * preferences are tracked by the dictionary generation.
+	 *
+	 * @return <code>true</code> if the JDT spelling engine checks the document
+	 * @since 3.14
+	 */
+	private static boolean isJavaSpellingEngineActive() {
+		SpellingEngineDescriptor descriptor= EditorsUI.getSpellingService().getActiveSpellingEngineDescriptor(EditorsUI.getPreferenceStore());
+		return descriptor != null && DefaultSpellingEngine.class.getName().equals(descriptor.getId());
+	}
+
+	/**
+	 * Reports a spelling problem to the requestor.
+	 *
+	 * @param requestor the problem requestor
+	 * @param problem the problem with its document offset
+	 * @since 3.14
+	 */
+	private void reportProblem(IProblemRequestor requestor, CheckedProblem problem) {
+		try {
+			IDocument document= getDocument();
+			int line= document.getLineOfOffset(problem.fOffset) + 1;
+			String word= document.get(problem.fOffset, problem.fLength);
+			// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
+			IEditorInput editorInput= fEditor.getEditorInput();
+			if (editorInput != null) {
+				CoreSpellingProblem iProblem= new CoreSpellingProblem(problem.fOffset, problem.fOffset + problem.fLength - 1, line, problem.fMessage, word, problem.fDictionaryMatch, problem.fSentenceStart, document, editorInput.getName());
+				requestor.acceptProblem(iProblem);
+			}
+		} catch (BadLocationException x) {
+			// drop this SpellingProblem
+		}
 	}
 
 	private boolean isSpellingEnabled() {
@@ -159,6 +442,7 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	public void setDocument(IDocument document) {
 		super.setDocument(document);
 		updateProblemRequester();
+		fCheckedPartitions= null;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
@@ -70,6 +71,35 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	private static Set<Locale> fgLocalesWithInstalledDictionaries;
 
+	/**
+	 * The generation of the dictionaries and spelling preferences.
+	 *
+	 * @since 3.14
+	 */
+	private static final AtomicInteger fgDictionaryGeneration= new AtomicInteger();
+
+	/**
+	 * Returns the generation of the dictionaries and spelling preferences. The generation
+	 * changes whenever the result of spell checking the same text may change, e.g. when a
+	 * word is added to the user dictionary or a preference is changed.
+	 *
+	 * @return the current dictionary generation
+	 * @since 3.14
+	 */
+	public static int getDictionaryGeneration() {
+		return fgDictionaryGeneration.get();
+	}
+
+	/**
+	 * Starts a new dictionary generation. Must be called after changing the words that are
+	 * accepted by the spell checker.
+	 *
+	 * @since 3.14
+	 */
+	public static void incrementDictionaryGeneration() {
+		fgDictionaryGeneration.incrementAndGet();
+	}
+
 	/**
 	 * Returns the locales for which this
 	 * spell check engine has dictionaries in certain location.
@@ -368,6 +398,9 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	@Override
 	public final void propertyChange(final PropertyChangeEvent event) {
+		// any of the preferences may influence the spelling problems
+		incrementDictionaryGeneration();
+
 		if (event.getProperty().equals(PreferenceConstants.SPELLING_LOCALE)) {
 			resetSpellChecker();
 			return;
@@ -398,6 +431,8 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 		if (fChecker == null)
 			return;
 
+		incrementDictionaryGeneration();
+
 		// Update user dictionary
 		if (fUserDictionary != null) {
 			fChecker.removeDictionary(fUserDictionary);
@@ -485,6 +520,7 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 
 		fUserDictionary= null;
 		fChecker= null;
+		incrementDictionaryGeneration();
 	}
 
 	private synchronized void resetSpellChecker() {
@@ -494,6 +530,7 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 				dictionary.unload();
 		}
 		fChecker= null;
+		incrementDictionaryGeneration();
 	}
 
 	/*
@@ -13,7 +13,10 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -50,10 +53,55 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Manages a type hierarchy, to keep it refreshed, and to allow it to be shared.
+ * <p>
+ * The hierarchies of the most recent inputs are kept, so that going back to a previous input
+ * does not recompute its hierarchy unless it changed in the meantime. If it changed, the life cycle
+ * of a type hierarchy view part shows the previous state of the hierarchy while the new one is
+ * computed.
+ * </p>
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
+	/**
+	 * Number of hierarchies of previous inputs that are kept for reuse.
+	 *
+	 * @since 3.14
+	 */
+	private static final int HIERARCHY_CACHE_SIZE= 5;
+
+	/**
+	 * A hierarchy of a previous input. Tracks whether the hierarchy changed since it was cached.
+	 *
+	 * @since 3.14
+	 */
+	private static class CachedHierarchy implements ITypeHierarchyChangedListener {
+
+		private final ITypeHierarchy fHierarchy;
+		private volatile boolean fStale;
+
+		public CachedHierarchy(ITypeHierarchy hierarchy, boolean stale) {
+			fHierarchy= hierarchy;
+			fStale= stale;
+			fHierarchy.addTypeHierarchyChangedListener(this);
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			fStale= true;
+		}
+
+		public void dispose() {
+			fHierarchy.removeTypeHierarchyChangedListener(this);
+		}
+	}
+
 	private boolean fHierarchyRefreshNeeded;
+	/**
+	 * Tells whether the current hierarchy changed since it has been computed.
+	 *
+	 * @since 3.14
+	 */
+	private volatile boolean fHierarchyChanged;
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
@@ -81,6 +129,24 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	private boolean fRefreshJobCanceledExplicitly= true;
 
+	/**
+	 * The hierarchies of previous inputs, in access order.
+	 *
+	 * @since 3.14
+	 */
+	private final Map<List<IJavaElement>, CachedHierarchy> fHierarchyCache= new LinkedHashMap<List<IJavaElement>, CachedHierarchy>(HIERARCHY_CACHE_SIZE + 1, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<IJavaElement>, CachedHierarchy> eldest) {
+			if (size() > HIERARCHY_CACHE_SIZE) {
+				eldest.getValue().dispose();
+				return true;
+			}
+			return false;
+		}
+	};
+
 	/**
 	 * Creates the type hierarchy life cycle.
 	 *
@@ -127,6 +193,12 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 				fRefreshHierarchyJob= null;
 			}
 		}
+		synchronized (fHierarchyCache) {
+			for (Iterator<CachedHierarchy> iter= fHierarchyCache.values().iterator(); iter.hasNext();) {
+				iter.next().dispose();
+			}
+			fHierarchyCache.clear();
+		}
 	}
 
 	public void removeChangedListener(ITypeHierarchyLifeCycleListener listener) {
@@ -269,7 +341,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 * @since 3.6
 	 */
 	protected void doHierarchyRefreshBackground(final IJavaElement[] elements, final IProgressMonitor pm) throws JavaModelException {
-		doHierarchyRefresh(elements, pm);
+		boolean showsStaleHierarchy= showStaleCachedHierarchy(elements, pm);
+		// a shown hierarchy must not be refreshed in place
+		doHierarchyRefresh(elements, showsStaleHierarchy, pm);
 		if (!pm.isCanceled()) {
 			Display.getDefault().asyncExec(new Runnable() {
 				/*
@@ -292,6 +366,87 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * If the hierarchy of the given elements is cached but changed since, makes it the current
+	 * hierarchy and shows it, so that the view is not empty while the new hierarchy is computed.
+	 *
+	 * @param elements the java elements on which the hierarchy is computed
+	 * @param pm the progress monitor of the refresh job
+	 * @return <code>true</code> if a stale hierarchy is shown
+	 * @since 3.14
+	 */
+	private boolean showStaleCachedHierarchy(IJavaElement[] elements, final IProgressMonitor pm) {
+		if (fHierarchy != null && Arrays.equals(elements, fInputElements))
+			return false;
+
+		CachedHierarchy cached;
+		synchronized (fHierarchyCache) {
+			cached= fHierarchyCache.get(Arrays.asList(elements));
+			if (cached == null || !cached.fStale)
+				return false;
+		}
+
+		if (fHierarchy != null) {
+			fHierarchy.removeTypeHierarchyChangedListener(this);
+			JavaCore.removeElementChangedListener(this);
+			cacheHierarchy();
+		}
+		fHierarchy= removeCachedHierarchy(elements).fHierarchy;
+		fInputElements= elements;
+		fHierarchyChanged= true;
+		fHierarchyRefreshNeeded= true;
+
+		Display.getDefault().asyncExec(new Runnable() {
+			@Override
+			public void run() {
+				synchronized (TypeHierarchyLifeCycle.this) {
+					if (fRefreshHierarchyJob == null) {
+						return;
+					}
+				}
+				if (pm.isCanceled())
+					return;
+				fTypeHierarchyViewPart.setViewersInput();
+				fTypeHierarchyViewPart.updateViewers();
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Puts the current hierarchy into the cache of previous hierarchies.
+	 *
+	 * @since 3.14
+	 */
+	private void cacheHierarchy() {
+		if (fHierarchy == null || fInputElements == null)
+			return;
+
+		CachedHierarchy cached= new CachedHierarchy(fHierarchy, fHierarchyChanged);
+		synchronized (fHierarchyCache) {
+			CachedHierarchy previous= fHierarchyCache.put(Arrays.asList(fInputElements), cached);
+			if (previous != null && previous != cached)
+				previous.dispose();
+		}
+	}
+
+	/**
+	 * Removes the cached hierarchy of the given elements from the cache.
+	 *
+	 * @param elements the java elements
+	 * @return the cached hierarchy or <code>null</code>
+	 * @since 3.14
+	 */
+	private CachedHierarchy removeCachedHierarchy(IJavaElement[] elements) {
+		CachedHierarchy cached;
+		synchronized (fHierarchyCache) {
+			cached= fHierarchyCache.remove(Arrays.asList(elements));
+		}
+		if (cached != null)
+			cached.dispose();
+		return cached;
+	}
+
 	private ITypeHierarchy createTypeHierarchy(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
 		if (elements.length == 1 && elements[0].getElementType() == IJavaElement.TYPE) {
 			IType type= (IType)elements[0];
@@ -321,7 +476,22 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 
 	public void doHierarchyRefresh(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
-		boolean hierachyCreationNeeded= (fHierarchy == null || !Arrays.equals(elements, fInputElements));
+		doHierarchyRefresh(elements, false, pm);
+	}
+
+	/**
+	 * Refreshes the hierarchy. A hierarchy of a previous input is reused from the cache, and only
+	 * refreshed if it changed since.
+	 *
+	 * @param elements the java elements on which the hierarchy is computed
+	 * @param recreate if set, a new hierarchy is computed instead of refreshing the current one
+	 * @param pm the progress monitor
+	 * @throws JavaModelException if the java element does not exist or if an exception occurs while
+	 *             accessing its corresponding resource
+	 * @since 3.14
+	 */
+	private void doHierarchyRefresh(IJavaElement[] elements, boolean recreate, IProgressMonitor pm) throws JavaModelException {
+		boolean hierachyCreationNeeded= (recreate || fHierarchy == null || !Arrays.equals(elements, fInputElements));
 		// to ensure the order of the two listeners always remove / add listeners on operations
 		// on type hierarchies
 		if (fHierarchy != null) {
@@ -329,7 +499,19 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			JavaCore.removeElementChangedListener(this);
 		}
 		if (hierachyCreationNeeded) {
-			fHierarchy= createTypeHierarchy(elements, pm);
+			CachedHierarchy cached= null;
+			if (!recreate) {
+				cacheHierarchy();
+				cached= removeCachedHierarchy(elements);
+			}
+			if (cached != null) {
+				fHierarchy= cached.fHierarchy;
+				if (cached.fStale) {
+					fHierarchy.refresh(pm);
+				}
+			} else {
+				fHierarchy= createTypeHierarchy(elements, pm);
+			}
 			if (pm != null && pm.isCanceled()) {
 				throw new OperationCanceledException();
 			}
@@ -342,6 +524,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		fHierarchy.addTypeHierarchyChangedListener(this);
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
+		fHierarchyChanged= false;
 	}
 
 	/*
@@ -350,6 +533,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	@Override
 	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
 	 	fHierarchyRefreshNeeded= true;
+	 	fHierarchyChanged= true;
  		fireChange(null);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,10 +10,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.viewsupport;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Display;
@@ -26,10 +24,14 @@ import org.eclipse.ui.PlatformUI;
 
 /**
  * A registry that maps <code>ImageDescriptors</code> to <code>Image</code>.
+ * <p>
+ * Lookups do not lock. Images are handed out to widgets that may keep them until the display
+ * is disposed, hence the registry never evicts an image before it is disposed.
+ * </p>
  */
 public class ImageDescriptorRegistry {
 
-	private Map<ImageDescriptor, Image> fRegistry= Collections.synchronizedMap(new HashMap<ImageDescriptor, Image>(10));
+	private ConcurrentHashMap<ImageDescriptor, Image> fRegistry= new ConcurrentHashMap<>(64);
 	private Display fDisplay;
 
 	/**
@@ -59,8 +61,14 @@ public class ImageDescriptorRegistry {
 			return result;
 
 		result= descriptor.createImage();
-		if (result != null)
-			fRegistry.put(descriptor, result);
+		if (result != null) {
+			Image existing= fRegistry.putIfAbsent(descriptor, result);
+			if (existing != null) {
+				// created concurrently by another thread
+				result.dispose();
+				result= existing;
+			}
+		}
 		return result;
 	}
 
@@ -114,7 +114,7 @@ public class JavaElementImageProvider {
 
 	private ImageDescriptor computeDescriptor(Object element, int flags){
 		if (element instanceof IJavaElement) {
-			return getJavaImageDescriptor((IJavaElement) element, flags);
+			return getCachedJavaImageDescriptor((IJavaElement) element, flags);
 		} else if (element instanceof IFile) {
 			IFile file= (IFile) element;
 			if (JavaCore.isJavaLikeFileName(file.getName())) {
@@ -127,6 +127,20 @@ public class JavaElementImageProvider {
 		return null;
 	}
 
+	private ImageDescriptor getCachedJavaImageDescriptor(IJavaElement element, int flags) {
+		JavaElementLabelCache cache= JavaElementLabelCache.getInstance();
+		if (cache == null)
+			return getJavaImageDescriptor(element, flags);
+
+		ImageDescriptor descriptor= cache.getImageDescriptor(element, flags);
+		if (descriptor == null) {
+			long stamp= cache.getStamp();
+			descriptor= getJavaImageDescriptor(element, flags);
+			cache.putImageDescriptor(element, flags, descriptor, stamp);
+		}
+		return descriptor;
+	}
+
 	private static boolean showOverlayIcons(int flags) {
 		return (flags & OVERLAY_ICONS) != 0;
 	}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2017 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.jface.viewers.StyledString;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Caches the labels and image descriptors of Java elements by element and rendering flags.
+ * <p>
+ * The entries of a compilation unit or class file and its members are dropped when a Java element
+ * delta reports a change of the compilation unit or class file, the entries of other elements when
+ * a delta reports a change of the element. All entries are dropped when an element above the
+ * compilation unit level is added or removed, when a class path changes, and when a Java UI
+ * preference changes, since the preferences configure e.g. the package name compression.
+ * </p>
+ * <p>
+ * Computations that overlap with an invalidation must not be cached. Clients therefore pass the
+ * {@link #getStamp() stamp} taken before the computation to the put methods.
+ * </p>
+ * <p>
+ * Elements of compilation units that are not primary are not cached.
+ * </p>
+ *
+ * @since 3.14
+ */
+public class JavaElementLabelCache implements IElementChangedListener, IPropertyChangeListener {
+
+	private static final int MAX_SIZE= 50000;
+
+	private static final int LABEL= 0;
+	private static final int STYLED_LABEL= 1;
+	private static final int IMAGE= 2;
+
+	private static final int CLEAR_ALL_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED;
+
+	private static final class Key {
+		private final IJavaElement fElement;
+		private final long fFlags;
+		private final int fKind;
+
+		public Key(IJavaElement element, long flags, int kind) {
+			fElement= element;
+			fFlags= flags;
+			fKind= kind;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fFlags == other.fFlags && fKind == other.fKind && fElement.equals(other.fElement);
+		}
+
+		@Override
+		public int hashCode() {
+			return fElement.hashCode() * 31 + (int) (fFlags ^ (fFlags >>> 32)) * 3 + fKind;
+		}
+	}
+
+	/**
+	 * Maps the owner of an element, i.e. the openable containing a member or the element itself,
+	 * to the entries of the owned elements.
+	 */
+	private final Map<IJavaElement, Map<Key, Object>> fEntries= new HashMap<>();
+	private int fSize;
+	private long fStamp;
+
+	private static volatile JavaElementLabelCache fgInstance;
+
+	private IPreferenceStore fPreferenceStore;
+
+	/**
+	 * Returns the installed cache. The label providers look the cache up once per label, so this
+	 * must not take a lock.
+	 *
+	 * @return the installed cache, or <code>null</code> if no cache is installed
+	 */
+	public static JavaElementLabelCache getInstance() {
+		return fgInstance;
+	}
+
+	/**
+	 * Starts listening to Java element deltas and to changes of the given preference store, and
+	 * makes this the {@link #getInstance() installed} cache.
+	 *
+	 * @param store the Java UI preference store
+	 */
+	public void install(IPreferenceStore store) {
+		fPreferenceStore= store;
+		fPreferenceStore.addPropertyChangeListener(this);
+		JavaCore.addElementChangedListener(this);
+		fgInstance= this;
+	}
+
+	public void dispose() {
+		if (fgInstance == this)
+			fgInstance= null;
+		JavaCore.removeElementChangedListener(this);
+		if (fPreferenceStore != null) {
+			fPreferenceStore.removePropertyChangeListener(this);
+			fPreferenceStore= null;
+		}
+		clear();
+	}
+
+	/**
+	 * Returns the stamp of the cache. The stamp changes with each invalidation.
+	 *
+	 * @return the stamp
+	 */
+	public synchronized long getStamp() {
+		return fStamp;
+	}
+
+	/**
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @return the cached label or <code>null</code>
+	 */
+	public String getLabel(IJavaElement element, long flags) {
+		return (String) get(element, flags, LABEL);
+	}
+
+	/**
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @param label the label
+	 * @param stamp the stamp of the cache before the label has been computed
+	 */
+	public void putLabel(IJavaElement element, long flags, String label, long stamp) {
+		put(element, flags, LABEL, label, stamp);
+	}
+
+	/**
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @return a copy of the cached styled label or <code>null</code>
+	 */
+	public StyledString getStyledLabel(IJavaElement element, long flags) {
+		StyledString label= (StyledString) get(element, flags, STYLED_LABEL);
+		return label != null ? new StyledString().append(label) : null;
+	}
+
+	/**
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @param label the styled label, a copy is cached
+	 * @param stamp the stamp of the cache before the label has been computed
+	 */
+	public void putStyledLabel(IJavaElement element, long flags, StyledString label, long stamp) {
+		put(element, flags, STYLED_LABEL, new StyledString().append(label), stamp);
+	}
+
+	/**
+	 * @param element the element
+	 * @param flags the image flags
+	 * @return the cached image descriptor or <code>null</code>
+	 */
+	public ImageDescriptor getImageDescriptor(IJavaElement element, int flags) {
+		return (ImageDescriptor) get(element, flags, IMAGE);
+	}
+
+	/**
+	 * @param element the element
+	 * @param flags the image flags
+	 * @param descriptor the image descriptor, must not be modified afterwards
+	 * @param stamp the stamp of the cache before the descriptor has been computed
+	 */
+	public void putImageDescriptor(IJavaElement element, int flags, ImageDescriptor descriptor, long stamp) {
+		put(element, flags, IMAGE, descriptor, stamp);
+	}
+
+	private synchronized Object get(IJavaElement element, long flags, int kind) {
+		Map<Key, Object> entries= fEntries.get(getOwner(element));
+		return entries != null ? entries.get(new Key(element, flags, kind)) : null;
+	}
+
+	private synchronized void put(IJavaElement element, long flags, int kind, Object value, long stamp) {
+		if (stamp != fStamp || value == null || !isCacheable(element))
+			return;
+
+		if (fSize >= MAX_SIZE)
+			clear();
+
+		IJavaElement owner= getOwner(element);
+		Map<Key, Object> entries= fEntries.get(owner);
+		if (entries == null) {
+			entries= new HashMap<>();
+			fEntries.put(owner, entries);
+		}
+		if (entries.put(new Key(element, flags, kind), value) == null)
+			fSize++;
+	}
+
+	private static IJavaElement getOwner(IJavaElement element) {
+		if (element.getElementType() > IJavaElement.PACKAGE_FRAGMENT) {
+			IOpenable openable= element.getOpenable();
+			if (openable instanceof IJavaElement)
+				return (IJavaElement) openable;
+		}
+		return element;
+	}
+
+	private static boolean isCacheable(IJavaElement element) {
+		ICompilationUnit cu= (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		return cu == null || cu.isPrimary();
+	}
+
+	private synchronized void clear() {
+		fEntries.clear();
+		fSize= 0;
+		fStamp++;
+	}
+
+	private synchronized void remove(IJavaElement owner) {
+		Map<Key, Object> entries= fEntries.remove(owner);
+		if (entries != null)
+			fSize-= entries.size();
+		fStamp++;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (!processDelta(event.getDelta()))
+			clear();
+	}
+
+	/**
+	 * Removes the entries affected by the given delta.
+	 *
+	 * @param delta the delta
+	 * @return <code>false</code> if all entries need to be removed
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int type= element.getElementType();
+		if (type > IJavaElement.PACKAGE_FRAGMENT) {
+			// compilation unit, class file or a member reported by a fine grained delta
+			remove(getOwner(element));
+			return true;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED && type != IJavaElement.JAVA_MODEL)
+			return false;
+		if ((delta.getFlags() & CLEAR_ALL_FLAGS) != 0)
+			return false;
+
+		remove(element);
+		IJavaElementDelta[] children= delta.getAffectedChildren();
+		for (int i= 0; i < children.length; i++) {
+			if (!processDelta(children[i]))
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent event) {
+		clear();
+	}
+}
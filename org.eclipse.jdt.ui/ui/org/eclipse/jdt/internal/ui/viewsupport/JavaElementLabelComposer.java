@@ -142,6 +142,41 @@ public class JavaElementLabelComposer {
 		}
 	}
 
+	public static class FlexibleStringBuilder extends FlexibleBuffer {
+		private final StringBuilder fStringBuilder;
+
+		public FlexibleStringBuilder(StringBuilder stringBuilder) {
+			fStringBuilder= stringBuilder;
+		}
+
+		@Override
+		public FlexibleBuffer append(char ch) {
+			fStringBuilder.append(ch);
+			return this;
+		}
+
+		@Override
+		public FlexibleBuffer append(String string) {
+			fStringBuilder.append(string);
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return fStringBuilder.length();
+		}
+
+		@Override
+		public void setStyle(int offset, int length, Styler styler) {
+			// no style
+		}
+
+		@Override
+		public String toString() {
+			return fStringBuilder.toString();
+		}
+	}
+
 	public static class FlexibleStyledString extends FlexibleBuffer {
 		private final StyledString fStyledString;
 
@@ -251,6 +286,15 @@ public class JavaElementLabelComposer {
 		this(new FlexibleStringBuffer(buffer));
 	}
 
+	/**
+	 * Creates a new java element composer based on the given buffer.
+	 *
+	 * @param buffer the buffer
+	 */
+	public JavaElementLabelComposer(StringBuilder buffer) {
+		this(new FlexibleStringBuilder(buffer));
+	}
+
 	/**
 	 * Appends the label for a Java element with the flags as defined by this class.
 	 *
@@ -633,7 +677,7 @@ public class JavaElementLabelComposer {
 		String[] categories= member.getCategories();
 		if (categories.length > 0) {
 			int offset= fBuffer.length();
-			StringBuffer categoriesBuf= new StringBuffer();
+			StringBuilder categoriesBuf= new StringBuilder();
 			for (int i= 0; i < categories.length; i++) {
 				if (i > 0)
 					categoriesBuf.append(JavaElementLabels.CATEGORY_SEPARATOR_STRING);
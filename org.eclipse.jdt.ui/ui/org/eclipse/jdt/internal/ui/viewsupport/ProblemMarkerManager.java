@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,10 @@
 package org.eclipse.jdt.internal.ui.viewsupport;
 
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
@@ -21,7 +24,9 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IProject;
@@ -30,6 +35,7 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.jface.text.source.AnnotationModelEvent;
 import org.eclipse.jface.text.source.IAnnotationModel;
@@ -47,6 +53,12 @@ import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEven
  * Listens to resource deltas and filters for marker changes of type IMarker.PROBLEM
  * Viewers showing error ticks should register as listener to
  * this type.
+ * <p>
+ * Changes are reported in batches: listeners are notified shortly after a change, and while a
+ * build is running, marker changes are collected until the build has finished. While listeners are
+ * registered, the manager also maintains the maximal problem severity of each container including
+ * its descendants, see {@link #findMaxProblemSeverity(IResource, int)}.
+ * </p>
  */
 public class ProblemMarkerManager implements IResourceChangeListener, IAnnotationModelListener , IAnnotationModelListenerExtension {
 
@@ -104,12 +116,33 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		}
 	}
 
+	/**
+	 * Delay in milliseconds before the listeners are notified, so that the changes of consecutive
+	 * events are reported together.
+	 */
+	private static final long NOTIFICATION_DELAY= 100;
+
+	/**
+	 * Maximal time in milliseconds that marker changes are held back while a build is running.
+	 */
+	private static final long MAX_BUILD_DEFERRAL= 5000;
+
 	private ListenerList<IProblemChangedListener> fListeners;
 
 	private Set<IResource> fResourcesWithMarkerChanges;
 	private Set<IResource> fResourcesWithAnnotationChanges;
 
 	private UIJob fNotifierJob;
+	private long fFirstPendingChange;
+
+	/**
+	 * Maximal severity of the problem markers on a container and its descendants, or -1, grouped by
+	 * project. The entries of changed containers are removed on each resource change event, and the
+	 * entries of a project when it is opened, closed or removed. The severity of a file is not
+	 * cached, since it is directly available from its markers.
+	 */
+	private final Map<IProject, Map<IContainer, Integer>> fSeverities= new HashMap<>();
+	private long fSeverityStamp;
 
 	public ProblemMarkerManager() {
 		fListeners= new ListenerList<>();
@@ -124,17 +157,25 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	public void resourceChanged(IResourceChangeEvent event) {
 		HashSet<IResource> changedElements= new HashSet<>();
 
+		IResourceDelta delta= event.getDelta();
 		try {
-			IResourceDelta delta= event.getDelta();
 			if (delta != null)
 				delta.accept(new ProjectErrorVisitor(changedElements));
 		} catch (CoreException e) {
 			JavaPlugin.log(e.getStatus());
 		}
 
+		if (delta != null) {
+			synchronized (this) {
+				invalidateSeverities(changedElements, delta);
+			}
+		}
+
 		if (!changedElements.isEmpty()) {
 			boolean hasChanges= false;
 			synchronized (this) {
+				if (fResourcesWithMarkerChanges.isEmpty() && fResourcesWithAnnotationChanges.isEmpty())
+					fFirstPendingChange= System.currentTimeMillis();
 				if (fResourcesWithMarkerChanges.isEmpty()) {
 					fResourcesWithMarkerChanges= changedElements;
 					hasChanges= true;
@@ -148,6 +189,88 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		}
 	}
 
+	private void invalidateSeverities(Set<IResource> changedElements, IResourceDelta delta) {
+		fSeverityStamp++;
+		if (fSeverities.isEmpty())
+			return;
+
+		for (Iterator<IResource> iter= changedElements.iterator(); iter.hasNext();) {
+			IResource resource= iter.next();
+			if (resource.getType() == IResource.FILE)
+				continue;
+			if (resource.getType() == IResource.PROJECT) {
+				fSeverities.remove(resource);
+			} else {
+				Map<IContainer, Integer> projectSeverities= fSeverities.get(resource.getProject());
+				if (projectSeverities != null)
+					projectSeverities.remove(resource);
+			}
+		}
+		// projects that are opened or closed are reported without their members
+		IResourceDelta[] projectDeltas= delta.getAffectedChildren();
+		for (int i= 0; i < projectDeltas.length; i++) {
+			if ((projectDeltas[i].getFlags() & IResourceDelta.OPEN) != 0)
+				fSeverities.remove(projectDeltas[i].getResource());
+		}
+	}
+
+	/**
+	 * Returns the maximal severity of the problem markers on the given resource, including
+	 * its descendants up to the given depth.
+	 * <p>
+	 * While listeners are registered, the severities of containers for
+	 * {@link IResource#DEPTH_INFINITE} are cached. The severity of a container is computed from the
+	 * severities of its members, so that after a change only the parents of the changed resources
+	 * need to be recomputed.
+	 * </p>
+	 *
+	 * @param resource the resource
+	 * @param depth the depth
+	 * @return the maximal severity, or -1 if there are no problem markers
+	 * @throws CoreException if the markers could not be accessed
+	 * @see IResource#findMaxProblemSeverity(String, boolean, int)
+	 */
+	public int findMaxProblemSeverity(IResource resource, int depth) throws CoreException {
+		if (fListeners.isEmpty() || (depth != IResource.DEPTH_INFINITE && resource.getType() != IResource.FILE))
+			return resource.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		return getMaxProblemSeverity(resource);
+	}
+
+	private int getMaxProblemSeverity(IResource resource) throws CoreException {
+		int severity= resource.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		if (!(resource instanceof IContainer))
+			return severity;
+
+		IContainer container= (IContainer) resource;
+		IProject project= container.getProject();
+		long stamp;
+		synchronized (this) {
+			Map<IContainer, Integer> projectSeverities= project != null ? fSeverities.get(project) : null;
+			Integer cached= projectSeverities != null ? projectSeverities.get(container) : null;
+			if (cached != null)
+				return cached.intValue();
+			stamp= fSeverityStamp;
+		}
+
+		IResource[] members= container.members(IContainer.INCLUDE_HIDDEN | IContainer.INCLUDE_TEAM_PRIVATE_MEMBERS);
+		for (int i= 0; i < members.length && severity != IMarker.SEVERITY_ERROR; i++) {
+			if (members[i].isAccessible())
+				severity= Math.max(severity, getMaxProblemSeverity(members[i]));
+		}
+
+		synchronized (this) {
+			if (project != null && stamp == fSeverityStamp && !fListeners.isEmpty()) {
+				Map<IContainer, Integer> projectSeverities= fSeverities.get(project);
+				if (projectSeverities == null) {
+					projectSeverities= new HashMap<>();
+					fSeverities.put(project, projectSeverities);
+				}
+				projectSeverities.put(container, Integer.valueOf(severity));
+			}
+		}
+		return severity;
+	}
+
 	@Override
 	public void modelChanged(IAnnotationModel model) {
 		// no action
@@ -160,6 +283,8 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 			if (cuEvent.includesProblemMarkerAnnotationChanges()) {
 				boolean hasChanges= false;
 				synchronized (this) {
+					if (fResourcesWithMarkerChanges.isEmpty() && fResourcesWithAnnotationChanges.isEmpty())
+						fFirstPendingChange= System.currentTimeMillis();
 					IResource changedResource= cuEvent.getUnderlyingResource();
 					hasChanges= fResourcesWithAnnotationChanges.add(changedResource);
 				}
@@ -192,6 +317,11 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
+			synchronized (this) {
+				// no longer tracked
+				fSeverities.clear();
+				fSeverityStamp++;
+			}
 		}
 	}
 
@@ -207,13 +337,43 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 			fNotifierJob= new UIJob(display, JavaUIMessages.ProblemMarkerManager_problem_marker_update_job_description) {
 				@Override
 				public IStatus runInUIThread(IProgressMonitor monitor) {
-					runPendingUpdates();
+					if (shouldDeferUpdates()) {
+						schedule(NOTIFICATION_DELAY);
+					} else {
+						runPendingUpdates();
+					}
 					return Status.OK_STATUS;
 				}
 			};
 			fNotifierJob.setSystem(true);
 		}
-		fNotifierJob.schedule();
+		// don't postpone a notification that is already waiting
+		int state= fNotifierJob.getState();
+		if (state != Job.WAITING && state != Job.SLEEPING)
+			fNotifierJob.schedule(NOTIFICATION_DELAY);
+	}
+
+	/**
+	 * Marker changes are held back while a build is running, such that listeners are notified
+	 * once per build. Annotation changes of open editors are never held back.
+	 *
+	 * @return <code>true</code> if the notification should be deferred
+	 */
+	private boolean shouldDeferUpdates() {
+		synchronized (this) {
+			if (!fResourcesWithAnnotationChanges.isEmpty() || System.currentTimeMillis() - fFirstPendingChange >= MAX_BUILD_DEFERRAL)
+				return false;
+		}
+		return isBuildRunning(ResourcesPlugin.FAMILY_AUTO_BUILD) || isBuildRunning(ResourcesPlugin.FAMILY_MANUAL_BUILD);
+	}
+
+	private static boolean isBuildRunning(Object family) {
+		Job[] jobs= Job.getJobManager().find(family);
+		for (int i= 0; i < jobs.length; i++) {
+			if (jobs[i].getState() == Job.RUNNING)
+				return true;
+		}
+		return false;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -48,6 +48,7 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
 import org.eclipse.jdt.internal.ui.packageview.ClassPathContainer;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelCache;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelComposer;
 
 
@@ -488,9 +489,17 @@ public class JavaElementLabels {
 	 * @return the label of the Java element
 	 */
 	public static String getElementLabel(IJavaElement element, long flags) {
-		StringBuffer result= new StringBuffer();
-		getElementLabel(element, flags, result);
-		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		JavaElementLabelCache cache= JavaElementLabelCache.getInstance();
+		String label= cache != null ? cache.getLabel(element, flags) : null;
+		if (label == null) {
+			long stamp= cache != null ? cache.getStamp() : 0;
+			StringBuilder result= new StringBuilder();
+			new JavaElementLabelComposer(result).appendElementLabel(element, flags);
+			label= org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+			if (cache != null)
+				cache.putLabel(element, flags, label, stamp);
+		}
+		return label;
 	}
 
 	/**
@@ -503,9 +512,17 @@ public class JavaElementLabels {
 	 * @since 3.4
 	 */
 	public static StyledString getStyledElementLabel(IJavaElement element, long flags) {
-		StyledString result= new StyledString();
-		getElementLabel(element, flags, result);
-		return Strings.markJavaElementLabelLTR(result);
+		JavaElementLabelCache cache= JavaElementLabelCache.getInstance();
+		StyledString label= cache != null ? cache.getStyledLabel(element, flags) : null;
+		if (label == null) {
+			long stamp= cache != null ? cache.getStamp() : 0;
+			StyledString result= new StyledString();
+			getElementLabel(element, flags, result);
+			label= Strings.markJavaElementLabelLTR(result);
+			if (cache != null)
+				cache.putStyledLabel(element, flags, label, stamp);
+		}
+		return label;
 	}
 
 	/**
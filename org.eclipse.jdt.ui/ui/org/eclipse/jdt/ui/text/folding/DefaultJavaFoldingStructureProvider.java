@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others.
+ * Copyright (c) 2006, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -125,6 +125,18 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			return fFirstType;
 		}
 
+		/**
+		 * Forgets the structure collected so far, such that the context can be used to compute
+		 * the complete structure.
+		 *
+		 * @since 3.14
+		 */
+		private void reset() {
+			fFirstType= null;
+			fHasHeaderComment= false;
+			fMap.clear();
+		}
+
 		private boolean hasHeaderComment() {
 			return fHasHeaderComment;
 		}
@@ -284,6 +296,93 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * The members of the input element whose folding structure is affected by a fine-grained
+	 * Java element delta.
+	 *
+	 * @since 3.14
+	 */
+	private static final class FoldingDelta {
+		private final IType fFirstType;
+		/** Elements whose folding regions and those of their descendants are recomputed */
+		private final List<IJavaElement> fChangedSubtrees= new ArrayList<>();
+		/** Elements whose own folding regions are recomputed, but not those of their children */
+		private final List<IJavaElement> fChangedElements= new ArrayList<>();
+		/** Removed elements, their annotations and those of their descendants are deleted */
+		private final List<IJavaElement> fRemovedSubtrees= new ArrayList<>();
+
+		FoldingDelta(IType firstType) {
+			fFirstType= firstType;
+		}
+
+		/**
+		 * Collects the affected members from the given deltas.
+		 *
+		 * @param deltas the affected children of the input element's delta
+		 * @return <code>false</code> if the deltas cannot be applied incrementally
+		 */
+		boolean collect(IJavaElementDelta[] deltas) {
+			for (int i= 0; i < deltas.length; i++) {
+				IJavaElementDelta delta= deltas[i];
+				IJavaElement element= delta.getElement();
+				switch (element.getElementType()) {
+					case IJavaElement.IMPORT_CONTAINER:
+						if (delta.getKind() == IJavaElementDelta.REMOVED)
+							fRemovedSubtrees.add(element);
+						else
+							fChangedElements.add(element);
+						break;
+					case IJavaElement.TYPE:
+					case IJavaElement.METHOD:
+					case IJavaElement.FIELD:
+					case IJavaElement.INITIALIZER:
+						// the first type also carries the header comment
+						if (element.equals(fFirstType) && delta.getKind() != IJavaElementDelta.CHANGED)
+							return false;
+						if (delta.getKind() == IJavaElementDelta.REMOVED) {
+							fRemovedSubtrees.add(element);
+						} else if (delta.getKind() == IJavaElementDelta.ADDED) {
+							fChangedSubtrees.add(element);
+						} else if (element.getElementType() == IJavaElement.TYPE && (delta.getFlags() & IJavaElementDelta.F_CHILDREN) != 0) {
+							if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED)) != 0) {
+								if (element.equals(fFirstType))
+									return false;
+								fChangedElements.add(element);
+							}
+							if (!collect(delta.getAffectedChildren()))
+								return false;
+						} else {
+							if (element.equals(fFirstType))
+								return false;
+							fChangedSubtrees.add(element);
+						}
+						break;
+					default:
+						return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Tells whether the existing annotations of the given element are replaced.
+		 *
+		 * @param element the element of an existing annotation
+		 * @return <code>true</code> if the annotations of <code>element</code> are affected
+		 */
+		boolean isAffected(IJavaElement element) {
+			if (fChangedElements.contains(element))
+				return true;
+			for (IJavaElement current= element; current != null; current= current.getParent()) {
+				if (fChangedSubtrees.contains(current) || fRemovedSubtrees.contains(current))
+					return true;
+				if (current.getElementType() <= IJavaElement.CLASS_FILE)
+					break;
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * Filter for annotations.
 	 */
@@ -362,7 +461,9 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					FoldingStructureComputationContext ctx= createContext(false);
+					if (ctx != null && !updateIncrementally(ctx, delta))
+						update(ctx);
 				} finally {
 					fUpdatingCount--;
 				}
@@ -890,13 +991,78 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		if (ctx == null)
 			return;
 
+		computeFoldingStructure(ctx);
+		updateAnnotations(ctx, computeCurrentStructure(ctx, null));
+	}
+
+	/**
+	 * Applies a fine-grained delta of the input element to the existing projection annotations.
+	 * Only the members touched by the delta are rescanned; the annotations and comment positions
+	 * of all other members are kept, since the document already keeps their positions up to date.
+	 *
+	 * @param ctx the computation context
+	 * @param delta the delta of the input element
+	 * @return <code>true</code> if the delta has been applied, <code>false</code> if the delta
+	 *         cannot be applied incrementally and the complete structure has to be computed with
+	 *         the same context
+	 * @since 3.14
+	 */
+	private boolean updateIncrementally(FoldingStructureComputationContext ctx, IJavaElementDelta delta) {
+		if ((delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0 || (delta.getFlags() & IJavaElementDelta.F_CHILDREN) == 0)
+			return false;
+		if (!(fInput instanceof ISourceReference) || !(fInput instanceof IParent))
+			return false;
+
+		FoldingDelta foldingDelta;
+		try {
+			IType firstType= findFirstType(((IParent) fInput).getChildren());
+			foldingDelta= new FoldingDelta(firstType);
+			if (!foldingDelta.collect(delta.getAffectedChildren()))
+				return false;
+
+			String source= ((ISourceReference) fInput).getSource();
+			if (source == null)
+				return false;
+
+			ctx.getScanner().setSource(source.toCharArray());
+			if (firstType != null)
+				ctx.setFirstType(firstType);
+			for (IJavaElement element : foldingDelta.fChangedSubtrees) {
+				computeFoldingStructure(element, ctx);
+				if (element instanceof IParent)
+					computeFoldingStructure(((IParent) element).getChildren(), ctx);
+			}
+			for (IJavaElement element : foldingDelta.fChangedElements)
+				computeFoldingStructure(element, ctx);
+		} catch (JavaModelException x) {
+			ctx.reset();
+			return false;
+		}
+
+		updateAnnotations(ctx, computeCurrentStructure(ctx, foldingDelta));
+		return true;
+	}
+
+	private static IType findFirstType(IJavaElement[] elements) {
+		for (int i= 0; i < elements.length; i++) {
+			if (elements[i] instanceof IType)
+				return (IType) elements[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Updates the projection annotation model with the structure collected in the given context.
+	 *
+	 * @param ctx the computation context containing the new structure
+	 * @param oldStructure the existing annotations that are replaced by the new structure
+	 */
+	private void updateAnnotations(FoldingStructureComputationContext ctx, Map<IJavaElement, List<Tuple>> oldStructure) {
 		Map<JavaProjectionAnnotation, Position> additions= new HashMap<>();
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -964,8 +1130,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		Annotation[] changedArray= updates.toArray(new Annotation[updates.size()]);
 		ctx.getModel().modifyAnnotations(deletedArray, additions, changedArray);
 
-		ctx.fScanner.setSource(null);
-    }
+		ctx.getScanner().setSource(null);
+	}
 
 	private void computeFoldingStructure(FoldingStructureComputationContext ctx) {
 		IParent parent= (IParent) fInput;
@@ -1389,7 +1555,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		return null;
 	}
 
-	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx) {
+	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx, FoldingDelta scope) {
 		Map<IJavaElement, List<Tuple>> map= new HashMap<>();
 		ProjectionAnnotationModel model= ctx.getModel();
 		Iterator<Annotation> e= model.getAnnotationIterator();
@@ -1397,6 +1563,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			Object annotation= e.next();
 			if (annotation instanceof JavaProjectionAnnotation) {
 				JavaProjectionAnnotation java= (JavaProjectionAnnotation) annotation;
+				if (scope != null && !scope.isAffected(java.getElement()))
+					continue;
 				Position position= model.getPosition(java);
 				Assert.isNotNull(position);
 				List<Tuple> list= map.get(java.getElement());